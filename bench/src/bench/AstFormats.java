@@ -0,0 +1,69 @@
+package bench;
+
+import ast.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+// Load time of the XML and the binary AST formats for the same programs. The sizes of both files
+// are printed when a trial starts.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AstFormats {
+    @Param({"BinaryTree", "TreeVisitor", "LinkedList", "QuickSort"})
+    public String example;
+
+    @Param({"1", "16", "128"})
+    public int scale;
+
+    private File xmlFile;
+    private File binaryFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Program program = SourceParser.parse(new StringReader(ProgramGenerator.generate(example, scale)));
+
+        xmlFile = File.createTempFile(example + "-" + scale + "-", ".xml");
+        xmlFile.deleteOnExit();
+        new AstXMLSerializer().serialize(program, xmlFile.getPath());
+        binaryFile = File.createTempFile(example + "-" + scale + "-", ".ast");
+        binaryFile.deleteOnExit();
+        new AstBinarySerializer().serialize(program, binaryFile.getPath());
+
+        System.out.println("xml " + xmlFile.length() + " bytes, binary " + binaryFile.length() + " bytes");
+    }
+
+    @Benchmark
+    public int xmlJaxb() {
+        AstCountVisitor counter = new AstCountVisitor();
+        counter.visit(new AstXMLSerializer().deserialize(xmlFile));
+        return counter.getCount();
+    }
+
+    @Benchmark
+    public int xmlStream() throws Exception {
+        AstCountVisitor counter = new AstCountVisitor();
+        counter.visit(new AstXMLStreamDeserializer().deserializeStrict(xmlFile));
+        return counter.getCount();
+    }
+
+    // every class and method decoded, as a whole program compilation does
+    @Benchmark
+    public int binary() throws Exception {
+        AstCountVisitor counter = new AstCountVisitor();
+        counter.visit(new AstBinarySerializer().deserialize(binaryFile));
+        return counter.getCount();
+    }
+
+    // only the main class decoded
+    @Benchmark
+    public Program binaryLazy() throws Exception {
+        return new AstBinarySerializer().deserialize(binaryFile);
+    }
+}
@@ -0,0 +1,121 @@
+package bench;
+
+import ast.*;
+import org.openjdk.jmh.annotations.*;
+import symbolTable.CompilationContext;
+
+import java.io.File;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+// Times every compiler phase on its own, over the shipped examples scaled up by ProgramGenerator.
+// Each phase gets its inputs from the phases before it, prepared once per trial.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompilerPhases {
+    @Param({"BinaryTree", "TreeVisitor", "LinkedList", "QuickSort"})
+    public String example;
+
+    @Param({"1", "16", "128"})
+    public int scale;
+
+    private String source;
+    private File xmlFile;
+    private Program program;
+    // symbol tables only
+    private CompilationContext analyzedContext;
+    // symbol tables and class layouts
+    private CompilationContext layoutContext;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        source = ProgramGenerator.generate(example, scale);
+        program = SourceParser.parse(new StringReader(source));
+
+        xmlFile = File.createTempFile(example + "-" + scale + "-", ".xml");
+        xmlFile.deleteOnExit();
+        new AstXMLSerializer().serialize(program, xmlFile.getPath());
+
+        analyzedContext = analyze(program);
+        layoutContext = analyze(program);
+        new VtableCreator(layoutContext).createVtableAndObjectsStruct();
+    }
+
+    // builds the symbol tables and makes sure the generated program is semantically valid
+    static CompilationContext analyze(Program program) {
+        CompilationContext context = new CompilationContext();
+        context.getSymbolTableUtils().buildSymbolTables(program);
+        AstTypesVisitor typesVisitor = new AstTypesVisitor(context);
+        typesVisitor.visit(program);
+        AstInitializedVisitor initializedVisitor = new AstInitializedVisitor(context);
+        initializedVisitor.visit(program);
+        if (context.getSymbolTableUtils().isERROR() || typesVisitor.isError() || initializedVisitor.isError()) {
+            throw new IllegalStateException("generated program is not valid");
+        }
+        return context;
+    }
+
+    @Benchmark
+    public Program unmarshal() throws Exception {
+        return new AstXMLStreamDeserializer().deserialize(xmlFile);
+    }
+
+    @Benchmark
+    public Program parse() throws Exception {
+        return SourceParser.parse(new StringReader(source));
+    }
+
+    @Benchmark
+    public CompilationContext buildSymbolTables() {
+        CompilationContext context = new CompilationContext();
+        context.getSymbolTableUtils().buildSymbolTables(program);
+        return context;
+    }
+
+    @Benchmark
+    public boolean typesVisitor() {
+        AstTypesVisitor visitor = new AstTypesVisitor(analyzedContext);
+        visitor.visit(program);
+        return visitor.isError();
+    }
+
+    @Benchmark
+    public boolean initializedVisitor() {
+        AstInitializedVisitor visitor = new AstInitializedVisitor(analyzedContext);
+        visitor.visit(program);
+        return visitor.isError();
+    }
+
+    @Benchmark
+    public String createVtableAndObjectsStruct() {
+        return new VtableCreator(analyzedContext).createVtableAndObjectsStruct();
+    }
+
+    @Benchmark
+    public String llvmPrintVisitor() {
+        AstLlvmPrintVisitor visitor = new AstLlvmPrintVisitor(layoutContext);
+        visitor.visit(program);
+        return visitor.getString();
+    }
+
+    // the same, with every function handed over to a sink as the compiler does
+    @Benchmark
+    public String llvmPrintVisitorStreaming() {
+        AstLlvmPrintVisitor visitor = new AstLlvmPrintVisitor(layoutContext, Writer.nullWriter());
+        visitor.visit(program);
+        return visitor.getString();
+    }
+
+    // the same, with locals in stack slots as --llvm-alloca does
+    @Benchmark
+    public String llvmPrintVisitorAlloca() {
+        AstLlvmPrintVisitor visitor = new AstLlvmPrintVisitor(layoutContext, Writer.nullWriter(), false);
+        visitor.visit(program);
+        return visitor.getString();
+    }
+}
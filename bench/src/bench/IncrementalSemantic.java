@@ -0,0 +1,65 @@
+package bench;
+
+import ast.*;
+import org.openjdk.jmh.annotations.*;
+import symbolTable.CompilationContext;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// The sequential semantic check of a big program without a cache, against the same check answered from a
+// SemanticCache filled by an earlier compilation (hashing every method and loading the class files).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IncrementalSemantic {
+    @Param({"TreeVisitor", "QuickSort"})
+    public String example;
+
+    @Param({"256"})
+    public int scale;
+
+    private Program program;
+    private CompilationContext context;
+    private Path cacheDir;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        program = SourceParser.parse(new StringReader(ProgramGenerator.generate(example, scale)));
+        context = CompilerPhases.analyze(program);
+        cacheDir = Files.createTempDirectory("semantic-cache");
+        SemanticCache cache = new SemanticCache(cacheDir, program);
+        new ParallelSemanticChecker(context, null, cache).check(program);
+        cache.save();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(cacheDir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean uncached() throws Exception {
+        return new ParallelSemanticChecker(context, null).check(program);
+    }
+
+    @Benchmark
+    public boolean cached() throws Exception {
+        SemanticCache cache = new SemanticCache(cacheDir, program);
+        boolean ok = new ParallelSemanticChecker(context, null, cache).check(program);
+        cache.save();
+        return ok;
+    }
+}
@@ -0,0 +1,85 @@
+package bench;
+
+import ast.*;
+import org.openjdk.jmh.annotations.*;
+import symbolTable.CompilationContext;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+// AstInitializedVisitor over one generated method of thousands of statements: assignments, uses, and
+// if/while statements nested a few levels deep, over 64 locals.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InitializationDataflow {
+    private static final int LOCALS = 64;
+
+    @Param({"1000", "10000"})
+    public int statements;
+
+    private Program program;
+    private CompilationContext context;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        program = SourceParser.parse(new StringReader(method(statements)));
+        context = CompilerPhases.analyze(program);
+    }
+
+    static String method(int statements) {
+        StringBuilder source = new StringBuilder();
+        source.append("class Main {\n")
+                .append("    public static void main(String[] a) {\n")
+                .append("        System.out.println(new A().run(1));\n")
+                .append("    }\n")
+                .append("}\n")
+                .append("class A {\n")
+                .append("    public int run(int p) {\n");
+        for (int i = 0; i < LOCALS; i++) {
+            source.append("        int v").append(i).append(";\n");
+        }
+        int count = 0;
+        while (count < statements) {
+            count += statement(source, count, 2, "        ");
+        }
+        source.append("        return p;\n")
+                .append("    }\n")
+                .append("}\n");
+        return source.toString();
+    }
+
+    // appends a statement for the n-th position and returns how many statements it holds; the first
+    // statements assign every local in order, so all later uses read initialized locals
+    private static int statement(StringBuilder source, int n, int depth, String indent) {
+        String target = "v" + (n % LOCALS);
+        String used = n < LOCALS ? "p" : "v" + (n * 7 % LOCALS);
+        if (depth == 0 || n % 5 < 3 || n < LOCALS) {
+            source.append(indent).append(target).append(" = ").append(used).append(" + ").append(n % 97).append(";\n");
+            return 1;
+        }
+        int count = 1;
+        if (n % 5 == 3) {
+            source.append(indent).append("if (").append(used).append(" < p) {\n");
+            count += statement(source, n + 1, depth - 1, indent + "    ");
+            source.append(indent).append("} else {\n");
+            count += statement(source, n + 2, depth - 1, indent + "    ");
+            source.append(indent).append("}\n");
+        } else {
+            source.append(indent).append("while (").append(used).append(" < p) {\n");
+            count += statement(source, n + 1, depth - 1, indent + "    ");
+            source.append(indent).append("}\n");
+        }
+        return count;
+    }
+
+    @Benchmark
+    public boolean initialized() {
+        AstInitializedVisitor visitor = new AstInitializedVisitor(context);
+        visitor.visit(program);
+        return visitor.isError();
+    }
+}
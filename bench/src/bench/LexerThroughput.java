@@ -0,0 +1,67 @@
+package bench;
+
+import java_cup.runtime.Scanner;
+import java_cup.runtime.Symbol;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+// Tokens per second of the lexer over big generated sources, read through a FileReader (the old
+// parse input) and through MappedSourceReader. The tokens counter is the rate to look at.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LexerThroughput {
+    @Param({"TreeVisitor", "QuickSort"})
+    public String example;
+
+    @Param({"16", "512"})
+    public int scale;
+
+    private File sourceFile;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Tokens {
+        public long tokens;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            tokens = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        sourceFile = File.createTempFile(example + "-" + scale + "-", ".java");
+        sourceFile.deleteOnExit();
+        Files.writeString(sourceFile.toPath(), ProgramGenerator.generate(example, scale));
+    }
+
+    private static void lex(Reader reader, Tokens tokens) throws Exception {
+        Scanner lexer = SourceParser.newLexer(reader);
+        long count = 0;
+        for (Symbol token = lexer.next_token(); token.sym != 0; token = lexer.next_token()) {
+            count++;
+        }
+        reader.close();
+        tokens.tokens += count;
+    }
+
+    @Benchmark
+    public void fileReader(Tokens tokens) throws Exception {
+        lex(new FileReader(sourceFile), tokens);
+    }
+
+    @Benchmark
+    public void mappedReader(Tokens tokens) throws Exception {
+        lex(SourceParser.newMappedReader(sourceFile), tokens);
+    }
+}
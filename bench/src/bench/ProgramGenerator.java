@@ -0,0 +1,51 @@
+package bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Builds larger MiniJava programs out of the shipped examples:
+// the main class is kept once and the other classes are repeated `scale` times, copy k renaming class C to C_k.
+// Copy 0 keeps the original names, so the main class still drives a complete program.
+public class ProgramGenerator {
+    private static final Pattern classDecl = Pattern.compile("(?m)^class\\s+(\\w+)");
+
+    public static String examplesDir() {
+        return System.getProperty("mjavac.examples", "examples/ast");
+    }
+
+    public static String generate(String example, int scale) throws IOException {
+        String source = Files.readString(Path.of(examplesDir(), example + ".java"));
+        Matcher matcher = classDecl.matcher(source);
+        List<String> classNames = new ArrayList<>();
+        List<Integer> classStarts = new ArrayList<>();
+        while (matcher.find()) {
+            classNames.add(matcher.group(1));
+            classStarts.add(matcher.start());
+        }
+        if (classNames.size() < 2) {
+            throw new IllegalArgumentException(example + " has no classes besides the main class");
+        }
+        // the first class is the main class
+        String mainPart = source.substring(0, classStarts.get(1));
+        String classesPart = source.substring(classStarts.get(1));
+        List<String> renamed = classNames.subList(1, classNames.size());
+
+        StringBuilder builder = new StringBuilder(mainPart.length() + classesPart.length() * scale);
+        builder.append(mainPart);
+        for (int copy = 0; copy < scale; copy++) {
+            String classes = classesPart;
+            if (copy > 0) {
+                for (String className : renamed) {
+                    classes = classes.replaceAll("\\b" + className + "\\b", className + "_" + copy);
+                }
+            }
+            builder.append(classes).append("\n");
+        }
+        return builder.toString();
+    }
+}
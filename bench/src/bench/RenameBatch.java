@@ -0,0 +1,75 @@
+package bench;
+
+import ast.*;
+import org.openjdk.jmh.annotations.*;
+import symbolTable.CompilationContext;
+import symbolTable.FlowUtils;
+import symbolTable.PositionIndex;
+import symbolTable.Type;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 1000 renames of TreeVisitor.java.xml: one rename action per rename - unmarshal, symbol tables, rename,
+// marshal, as a tool calling mjavac for each one would - against a single rename-batch. The renames go
+// round every declaration of the file, so most declarations are renamed more than once (to the same name).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class RenameBatch {
+    private static final int RENAMES = 1000;
+
+    private File xmlFile;
+    private File outFile;
+    private List<FlowUtils.Rename> renames;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        xmlFile = new File("examples/ast/TreeVisitor.java.xml");
+        outFile = File.createTempFile("renamed-", ".xml");
+        outFile.deleteOnExit();
+
+        CompilationContext context = new CompilationContext();
+        context.getSymbolTableUtils().buildSymbolTables(new AstXMLStreamDeserializer().deserialize(xmlFile));
+        PositionIndex index = context.getFlowUtils().getPositionIndex();
+        List<FlowUtils.Rename> declarations = new ArrayList<>();
+        for (int line = 0; declarations.size() < index.size() && line < 100_000; line++) {
+            for (PositionIndex.Occurrence occurrence : index.onLine(line)) {
+                // the main class's argument is declared by the main class node, which rename cannot change
+                if (occurrence.declaration() && !(occurrence.node() instanceof MainClass)) {
+                    String name = occurrence.symbol().getSymbolName();
+                    declarations.add(new FlowUtils.Rename(occurrence.symbol().getType() == Type.METHOD, name, line, name + "_renamed"));
+                }
+            }
+        }
+        renames = new ArrayList<>();
+        for (int i = 0; i < RENAMES; i++) {
+            renames.add(declarations.get(i % declarations.size()));
+        }
+    }
+
+    @Benchmark
+    public void oneByOne() throws Exception {
+        for (FlowUtils.Rename rename : renames) {
+            Program program = new AstXMLStreamDeserializer().deserialize(xmlFile);
+            CompilationContext context = new CompilationContext();
+            context.getSymbolTableUtils().buildSymbolTables(program);
+            context.getFlowUtils().renameAll(List.of(rename));
+            new AstXMLSerializer().serialize(program, outFile.getPath());
+        }
+    }
+
+    @Benchmark
+    public void batch() throws Exception {
+        Program program = new AstXMLStreamDeserializer().deserialize(xmlFile);
+        CompilationContext context = new CompilationContext();
+        context.getSymbolTableUtils().buildSymbolTables(program);
+        context.getFlowUtils().renameAll(renames);
+        new AstXMLSerializer().serialize(program, outFile.getPath());
+    }
+}
@@ -0,0 +1,58 @@
+package bench;
+
+import ast.*;
+import org.openjdk.jmh.annotations.*;
+import symbolTable.CompilationContext;
+
+import java.io.StringReader;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// The semantic check of a big program on 1 to 8 worker threads, against the sequential visitors
+// (the sequential benchmark does not use the pool, its parallelism parameter is only repeated).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SemanticScaling {
+    @Param({"TreeVisitor", "QuickSort"})
+    public String example;
+
+    @Param({"256"})
+    public int scale;
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    private Program program;
+    private CompilationContext context;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        program = SourceParser.parse(new StringReader(ProgramGenerator.generate(example, scale)));
+        context = CompilerPhases.analyze(program);
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public boolean sequential() {
+        AstTypesVisitor typesVisitor = new AstTypesVisitor(context);
+        typesVisitor.visit(program);
+        AstInitializedVisitor initializedVisitor = new AstInitializedVisitor(context);
+        initializedVisitor.visit(program);
+        return typesVisitor.isError() || initializedVisitor.isError();
+    }
+
+    @Benchmark
+    public boolean parallel() throws Exception {
+        return new ParallelSemanticChecker(context, pool).check(program);
+    }
+}
@@ -0,0 +1,43 @@
+package bench;
+
+import ast.Program;
+import java_cup.runtime.lr_parser;
+
+import java.io.File;
+import java.io.Reader;
+import java.lang.reflect.Constructor;
+
+// The generated Lexer and Parser live in the default package, which JMH benchmarks cannot import,
+// so they are reached through reflection once and then used directly.
+public class SourceParser {
+    private static final Constructor<?> lexerConstructor;
+    private static final Constructor<?> parserConstructor;
+    private static final Constructor<?> mappedReaderConstructor;
+
+    static {
+        try {
+            Class<?> lexerClass = Class.forName("Lexer");
+            // JFlex generates a package private constructor
+            lexerConstructor = lexerClass.getDeclaredConstructor(Reader.class);
+            lexerConstructor.setAccessible(true);
+            parserConstructor = Class.forName("Parser").getConstructor(lexerClass);
+            mappedReaderConstructor = Class.forName("MappedSourceReader").getConstructor(File.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    public static java_cup.runtime.Scanner newLexer(Reader reader) throws ReflectiveOperationException {
+        return (java_cup.runtime.Scanner) lexerConstructor.newInstance(reader);
+    }
+
+    // the reader Main lexes source files with
+    public static Reader newMappedReader(File file) throws ReflectiveOperationException {
+        return (Reader) mappedReaderConstructor.newInstance(file);
+    }
+
+    public static Program parse(Reader reader) throws Exception {
+        lr_parser parser = (lr_parser) parserConstructor.newInstance(newLexer(reader));
+        return (Program) parser.parse().value;
+    }
+}
@@ -0,0 +1,68 @@
+package bench;
+
+import ast.*;
+import org.openjdk.jmh.annotations.*;
+import symbolTable.CompilationContext;
+import symbolTable.FlowUtils;
+import symbolTable.Symbol;
+
+import java.io.File;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Writing a renamed AST XML: marshaling the whole renamed AST with JAXB, as rename did, against the
+// streaming copy of AstXMLStreamRenamer. The renamed symbol is the first field of the program, with all its
+// uses. The file size is printed when a trial starts; the input is read once, in the setup.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class StreamingRename {
+    @Param({"TreeVisitor"})
+    public String example;
+
+    @Param({"16", "256"})
+    public int scale;
+
+    private File xmlFile;
+    private File outFile;
+    private Program program;
+    private Map<Integer, String> newNames;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        xmlFile = File.createTempFile(example + "-" + scale + "-", ".xml");
+        xmlFile.deleteOnExit();
+        new AstXMLSerializer().serialize(SourceParser.parse(new StringReader(ProgramGenerator.generate(example, scale))),
+                xmlFile.getPath());
+        outFile = File.createTempFile(example + "-" + scale + "-renamed-", ".xml");
+        outFile.deleteOnExit();
+        System.out.println("xml " + xmlFile.length() + " bytes");
+
+        program = new AstXMLStreamDeserializer().deserializeStrict(xmlFile);
+        CompilationContext context = new CompilationContext();
+        context.getSymbolTableUtils().buildSymbolTables(program);
+        ClassDecl classDecl = program.classDecls().stream().filter(c -> !c.fields().isEmpty()).findFirst().orElseThrow();
+        Symbol field = context.getSymbolTableUtils().getClassMembers(classDecl.name()).getField(classDecl.fields().get(0).name());
+        newNames = new HashMap<>();
+        for (AstNode astNode : FlowUtils.rename(field.getProperties(), "renamed")) {
+            newNames.put(astNode.xmlElement, "renamed");
+        }
+    }
+
+    @Benchmark
+    public long marshal() throws Exception {
+        new AstXMLSerializer().serialize(program, outFile.getPath());
+        return outFile.length();
+    }
+
+    @Benchmark
+    public long stream() throws Exception {
+        new AstXMLStreamRenamer().rename(xmlFile, outFile, newNames);
+        return outFile.length();
+    }
+}
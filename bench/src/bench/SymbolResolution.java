@@ -0,0 +1,83 @@
+package bench;
+
+import ast.Program;
+import org.openjdk.jmh.annotations.*;
+import symbolTable.ClassHierarchy;
+import symbolTable.CompilationContext;
+import symbolTable.Symbol;
+import symbolTable.SymbolTable;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+// Cost of one symbol resolution from the bottom of an inheritance chain of the given depth. Every
+// class overrides m, so resolving it walks up to the root declaration, and f is a field of the root.
+// subclassOfRoot is the subtype check of an assignment from the leaf class to the root class.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SymbolResolution {
+    @Param({"1", "8", "64"})
+    public int depth;
+
+    private SymbolTable leaf;
+    private ClassHierarchy classHierarchy;
+    private String leafClass;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Program program = SourceParser.parse(new StringReader(chain(depth)));
+        CompilationContext context = CompilerPhases.analyze(program);
+        leafClass = "C" + (depth - 1);
+        leaf = context.getSymbolTableUtils().getSymbolTableClassMap_real().get(leafClass);
+        classHierarchy = context.getSymbolTableUtils().getClassHierarchy();
+    }
+
+    static String chain(int depth) {
+        StringBuilder source = new StringBuilder();
+        source.append("class Main {\n")
+                .append("    public static void main(String[] a) {\n")
+                .append("        System.out.println(new C").append(depth - 1).append("().m(1));\n")
+                .append("    }\n")
+                .append("}\n");
+        for (int i = 0; i < depth; i++) {
+            source.append("class C").append(i);
+            if (i > 0) {
+                source.append(" extends C").append(i - 1);
+            }
+            source.append(" {\n");
+            source.append("    int ").append(i == 0 ? "f" : "g" + i).append(";\n");
+            source.append("    public int m(int x) {\n")
+                    .append("        int y;\n")
+                    .append("        y = x + ").append(i).append(";\n")
+                    .append("        return y;\n")
+                    .append("    }\n")
+                    .append("}\n");
+        }
+        return source.toString();
+    }
+
+    @Benchmark
+    public Symbol overriddenMethod() {
+        return leaf.lookupMethod("m");
+    }
+
+    @Benchmark
+    public Symbol inheritedField() {
+        return leaf.lookupVariable("f");
+    }
+
+    @Benchmark
+    public boolean subclassOfRoot() {
+        return classHierarchy.isSubclassOf(leafClass, "C0");
+    }
+
+    // a name of the program that no class declares as a field, so every table is searched
+    @Benchmark
+    public Symbol missingField() {
+        return leaf.lookupVariable("y");
+    }
+}
@@ -0,0 +1,65 @@
+package bench;
+
+import ast.VtableCreator;
+import org.openjdk.jmh.annotations.*;
+import symbolTable.CompilationContext;
+
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+// Class layout and vtable construction for 1000 classes, as one inheritance chain and as a tree with
+// 8 subclasses per class. Every class has a field, overrides m of the root and adds a method of its own,
+// so the vtables grow with the depth of the class. The vtables are written to a null writer.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VtableScaling {
+    @Param({"chain", "tree"})
+    public String shape;
+
+    @Param({"1000"})
+    public int classes;
+
+    private CompilationContext context;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = CompilerPhases.analyze(SourceParser.parse(new StringReader(hierarchy(shape, classes))));
+    }
+
+    // class Ci extends the class of index parent(i)
+    static String hierarchy(String shape, int classes) {
+        StringBuilder source = new StringBuilder();
+        source.append("class Main {\n")
+                .append("    public static void main(String[] a) {\n")
+                .append("        System.out.println(new C").append(classes - 1).append("().m(1));\n")
+                .append("    }\n")
+                .append("}\n");
+        for (int i = 0; i < classes; i++) {
+            source.append("class C").append(i);
+            if (i > 0) {
+                source.append(" extends C").append(shape.equals("chain") ? i - 1 : (i - 1) / 8);
+            }
+            source.append(" {\n");
+            source.append("    int f").append(i).append(";\n");
+            source.append("    public int m(int x) {\n")
+                    .append("        return x + ").append(i).append(";\n")
+                    .append("    }\n");
+            source.append("    public boolean n").append(i).append("(int x, boolean b) {\n")
+                    .append("        return b;\n")
+                    .append("    }\n")
+                    .append("}\n");
+        }
+        return source.toString();
+    }
+
+    @Benchmark
+    public CompilationContext createVtableAndObjectsStruct() {
+        new VtableCreator(context).createVtableAndObjectsStruct(Writer.nullWriter());
+        return context;
+    }
+}
@@ -0,0 +1,55 @@
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+// Compiles many files in parallel, each with its own CompilationContext:
+//     batch <parse|unmarshal|unmarshal-jaxb|unmarshal-bin> <semantic|semantic-parallel|compile|print|marshal|marshal-bin> <out-dir> <file>...
+// The output of <file> is written to <out-dir>/<file name><extension of the action>.
+public class BatchCompiler {
+    private static final Map<String, String> actionExtension = Map.of(
+            "semantic", ".res",
+            "semantic-parallel", ".res",
+            "compile", ".ll",
+            "print", ".java",
+            "marshal", ".xml",
+            "marshal-bin", ".ast");
+
+    public static void compileAll(String[] args) throws Exception {
+        var inputMethod = args[1];
+        var action = args[2];
+        var outDir = Path.of(args[3]);
+        List<String> inputs = Arrays.asList(args).subList(4, args.length);
+        if (!actionExtension.containsKey(action)) {
+            throw new IllegalArgumentException("unsupported batch action " + action);
+        }
+        Files.createDirectories(outDir);
+
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try {
+            // an ordered stream, so the report lists the files in the order they were given
+            List<String> report = pool.submit(() -> inputs.parallelStream()
+                    .map(input -> compileOne(inputMethod, action, input, outDir))
+                    .collect(Collectors.toList())).get();
+            long failed = report.stream().filter(line -> line.startsWith("ERROR")).count();
+            report.forEach(System.out::println);
+            System.out.println(inputs.size() - failed + "/" + inputs.size() + " compiled");
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static String compileOne(String inputMethod, String action, String input, Path outDir) {
+        String output = outDir.resolve(new File(input).getName() + actionExtension.get(action)).toString();
+        try {
+            Main.run(new String[]{inputMethod, action, input, output});
+            return "OK " + input;
+        } catch (Exception e) {
+            return "ERROR " + input + " " + e;
+        }
+    }
+}
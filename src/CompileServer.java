@@ -0,0 +1,123 @@
+import java.io.*;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Keeps one JVM (JIT, JAXBContext) alive and runs many compilations in it.
+// Protocol - one request per line, holding the same arguments as the command line, e.g.
+//     unmarshal semantic tests/ex3/9Valid/9Valid.xml out.res
+// and one response line per request, tagged with the request number because requests run concurrently:
+//     3 OK 4.117ms
+//     4 ERROR 0.503ms java.io.FileNotFoundException: ...
+// A "shutdown" line stops the server after the requests in flight are answered.
+public class CompileServer {
+    private static final AtomicInteger requestCounter = new AtomicInteger();
+    private static volatile boolean shutdown = false;
+
+    public static void serve(String socketPath) throws Exception {
+        ExecutorService executor = newExecutor();
+        try {
+            if (socketPath == null) {
+                var in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+                var out = new PrintWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+                handleConnection(in, out, executor);
+            } else {
+                listen(Path.of(socketPath), executor);
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    private static ExecutorService newExecutor() {
+        try {
+            // virtual threads when the JVM has them (21+), the build itself only requires 17
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    private static void listen(Path socketPath, ExecutorService executor) throws IOException {
+        Files.deleteIfExists(socketPath);
+        try (ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            server.bind(UnixDomainSocketAddress.of(socketPath));
+            System.out.println("listening on " + socketPath);
+            while (true) {
+                SocketChannel client = server.accept();
+                if (shutdown) {
+                    client.close();
+                    break;
+                }
+                executor.submit(() -> {
+                    try (client) {
+                        var in = new BufferedReader(Channels.newReader(client, StandardCharsets.UTF_8));
+                        var out = new PrintWriter(Channels.newWriter(client, StandardCharsets.UTF_8));
+                        handleConnection(in, out, executor);
+                    }
+                    if (shutdown) {
+                        // wake up the accept loop, which sees the flag and stops
+                        SocketChannel.open(UnixDomainSocketAddress.of(socketPath)).close();
+                    }
+                    return null;
+                });
+            }
+        } finally {
+            Files.deleteIfExists(socketPath);
+        }
+    }
+
+    private static void handleConnection(BufferedReader in, PrintWriter out, ExecutorService executor) throws Exception {
+        List<Future<?>> pending = new ArrayList<>();
+        String line;
+        while ((line = in.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+            if (line.equals("shutdown")) {
+                shutdown = true;
+                break;
+            }
+            String[] args = line.split("\\s+");
+            int requestId = requestCounter.incrementAndGet();
+            pending.add(executor.submit(() -> respond(out, requestId, args)));
+        }
+        // answer everything that was asked on this connection before closing it
+        for (var request : pending) {
+            request.get();
+        }
+    }
+
+    private static void respond(PrintWriter out, int requestId, String[] args) {
+        String result;
+        long start = 0;
+        try {
+            start = System.nanoTime();
+            Main.run(args);
+            result = "OK " + formatLatency(start);
+        } catch (Throwable e) {
+            // whatever a request does wrong, it gets its ERROR line and the server keeps serving
+            result = "ERROR " + formatLatency(start) + " " + e;
+        }
+        synchronized (out) {
+            out.println(requestId + " " + result);
+            out.flush();
+        }
+    }
+
+    private static String formatLatency(long start) {
+        long elapsed = start == 0 ? 0 : System.nanoTime() - start;
+        return String.format("%.3fms", elapsed / 1_000_000.0);
+    }
+}
@@ -1,117 +1,308 @@
 import ast.*;
-import symbolTable.Symbol;
+import symbolTable.CompilationContext;
 import symbolTable.FlowUtils;
+import symbolTable.Symbol;
 import symbolTable.SymbolTableUtils;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 public class Main {
     public static void main(String[] args) {
         try {
-            var inputMethod = args[0];
-            var action = args[1];
-            var filename = args[args.length - 2];
-            var outfilename = args[args.length - 1];
-
-            Program prog;
-
-            if (inputMethod.equals("parse")) {
-                FileReader fileReader = new FileReader(new File(filename));
-                Parser p = new Parser(new Lexer(fileReader));
-                prog = (Program) p.parse().value;
-            } else if (inputMethod.equals("unmarshal")) {
-                AstXMLSerializer xmlSerializer = new AstXMLSerializer();
-                prog = xmlSerializer.deserialize(new File(filename));
-            } else {
-                throw new UnsupportedOperationException("unknown input method " + inputMethod);
+            if (args[0].equals("serve")) {
+                // serve [socket-path] - keep one warm JVM and read requests from a unix socket or stdin
+                CompileServer.serve(args.length > 1 ? args[1] : null);
+                return;
             }
-            var outFile = new PrintWriter(outfilename);
+            if (args[0].equals("batch")) {
+                // batch <input-method> <action> <out-dir> <file>... - compile many files on all cores
+                BatchCompiler.compileAll(args);
+                return;
+            }
+            run(args);
+        } catch (SyntaxError e) {
+            System.err.print(e.getMessage() + "\n");
+            System.exit(1);
+        } catch (FileNotFoundException e) {
+            System.out.println("Error reading file: " + e);
+            e.printStackTrace();
+        } catch (Exception e) {
+            System.out.println("General error: " + e);
+            e.printStackTrace();
+        }
+    }
+
+    // Writes a renamed program. When the input XML was read by AstXMLStreamDeserializer, it is copied to the
+    // output with only the renamed names replaced; otherwise the whole AST is marshaled.
+    private static void writeRenamed(String inputMethod, Program prog, String filename, String outfilename,
+                                     Map<AstNode, String> renamed) throws Exception {
+        Map<Integer, String> newNames = new HashMap<>();
+        boolean streamable = inputMethod.equals("unmarshal") && prog.xmlElement >= 0
+                // the output file has already been truncated
+                && !new File(filename).getCanonicalFile().equals(new File(outfilename).getCanonicalFile());
+        for (var entry : renamed.entrySet()) {
+            streamable &= entry.getKey().xmlElement >= 0;
+            newNames.put(entry.getKey().xmlElement, entry.getValue());
+        }
+        if (streamable) {
             try {
-                boolean validToContinue = true;
-                SymbolTableUtils.buildSymbolTables(prog);
+                new AstXMLStreamRenamer().rename(new File(filename), new File(outfilename), newNames);
+                return;
+            } catch (UnsupportedEncodingException e) {
+                // not UTF-8, marshaled below over what was written
+            }
+        }
+        new AstXMLSerializer().serialize(prog, outfilename);
+    }
+
+    // A single compiler invocation, shared by the command line and the compile server
+    public static void run(String[] commandLine) throws Exception {
+        // options may appear anywhere, everything else is positional
+        String timingsFormat = null;
+        String semanticCacheDir = null;
+        // locals and formals in alloca'd stack slots rather than SSA values
+        boolean llvmAlloca = false;
+        // every method call through the vtable, even where only one method can be called
+        boolean noDevirtualize = false;
+        int inlineSize = AstLlvmPrintVisitor.DEFAULT_INLINE_SIZE;
+        int inlineDepth = AstLlvmPrintVisitor.DEFAULT_INLINE_DEPTH;
+        boolean inlineReport = false;
+        boolean layoutReport = false;
+        // every new calloc'd by itself
+        boolean noArena = false;
+        boolean arenaStats = false;
+        List<String> positional = new ArrayList<>();
+        for (String arg : commandLine) {
+            if (arg.equals("--timings")) {
+                timingsFormat = "text";
+            } else if (arg.equals("--timings=json")) {
+                timingsFormat = "json";
+            } else if (arg.startsWith("--semantic-cache=")) {
+                semanticCacheDir = arg.substring("--semantic-cache=".length());
+            } else if (arg.equals("--llvm-alloca")) {
+                llvmAlloca = true;
+            } else if (arg.equals("--no-devirtualize")) {
+                noDevirtualize = true;
+            } else if (arg.startsWith("--inline-size=")) {
+                inlineSize = Integer.parseInt(arg.substring("--inline-size=".length()));
+            } else if (arg.startsWith("--inline-depth=")) {
+                inlineDepth = Integer.parseInt(arg.substring("--inline-depth=".length()));
+            } else if (arg.equals("--inline-report")) {
+                inlineReport = true;
+            } else if (arg.equals("--layout-report")) {
+                layoutReport = true;
+            } else if (arg.equals("--no-arena")) {
+                noArena = true;
+            } else if (arg.equals("--arena-stats")) {
+                arenaStats = true;
+            } else {
+                positional.add(arg);
+            }
+        }
+        String[] args = positional.toArray(new String[0]);
+        PhaseTimings timings = new PhaseTimings(timingsFormat != null);
 
+        var inputMethod = args[0];
+        var action = args[1];
+        var filename = args[args.length - 2];
+        var outfilename = args[args.length - 1];
 
-                if (action.equals("marshal")) {
-                    AstXMLSerializer xmlSerializer = new AstXMLSerializer();
-                    xmlSerializer.serialize(prog, outfilename);
-                } else if (action.equals("print")) {
-                    AstPrintVisitor astPrinter = new AstPrintVisitor();
-                    astPrinter.visit(prog);
-                    outFile.write(astPrinter.getString());
+        Program prog;
 
-                } else if (action.equals("semantic")) {
-                    if (SymbolTableUtils.isERROR()) {
-//                    System.out.println(SymbolTableUtils.getERRORReasons());
+        timings.start(inputMethod);
+        if (inputMethod.equals("parse")) {
+            MappedSourceReader sourceReader = new MappedSourceReader(new File(filename));
+            Parser p = new Parser(new Lexer(sourceReader));
+            prog = (Program) p.parse().value;
+        } else if (inputMethod.equals("unmarshal")) {
+            AstXMLStreamDeserializer xmlDeserializer = new AstXMLStreamDeserializer();
+            prog = xmlDeserializer.deserialize(new File(filename));
+        } else if (inputMethod.equals("unmarshal-jaxb")) {
+            // the reference reader, unmarshal falls back to it for documents outside the schema
+            AstXMLSerializer xmlSerializer = new AstXMLSerializer();
+            prog = xmlSerializer.deserialize(new File(filename));
+        } else if (inputMethod.equals("unmarshal-bin")) {
+            AstBinarySerializer binarySerializer = new AstBinarySerializer();
+            prog = binarySerializer.deserialize(new File(filename));
+        } else {
+            throw new UnsupportedOperationException("unknown input method " + inputMethod);
+        }
+        var outFile = new PrintWriter(outfilename);
+        CompilationContext context = new CompilationContext();
+        SymbolTableUtils symbolTableUtils = context.getSymbolTableUtils();
+        boolean compiled = false;
+        try {
+            boolean validToContinue = true;
+            timings.start("buildSymbolTables");
+            symbolTableUtils.buildSymbolTables(prog);
+            timings.end();
+
+
+            if (action.equals("marshal")) {
+                timings.start("marshal");
+                AstXMLSerializer xmlSerializer = new AstXMLSerializer();
+                xmlSerializer.serialize(prog, outfilename);
+            } else if (action.equals("marshal-bin")) {
+                timings.start("marshal-bin");
+                AstBinarySerializer binarySerializer = new AstBinarySerializer();
+                binarySerializer.serialize(prog, outfilename);
+            } else if (action.equals("print")) {
+                timings.start("AstPrintVisitor");
+                AstPrintVisitor astPrinter = new AstPrintVisitor();
+                astPrinter.visit(prog);
+                outFile.write(astPrinter.getString());
+
+            } else if (action.equals("semantic") || action.equals("semantic-parallel")) {
+                if (symbolTableUtils.isERROR()) {
+//                    System.out.println(symbolTableUtils.getERRORReasons());
+                    outFile.write("ERROR\n");
+                } else if (semanticCacheDir != null) {
+                    // only the methods whose cached result is outdated are checked
+                    timings.start("SemanticCache");
+                    SemanticCache cache = new SemanticCache(Path.of(semanticCacheDir), prog);
+                    ForkJoinPool pool = action.equals("semantic-parallel") ? ForkJoinPool.commonPool() : null;
+                    timings.start("ParallelSemanticChecker");
+                    ParallelSemanticChecker checker = new ParallelSemanticChecker(context, pool, cache);
+                    outFile.write(checker.check(prog) ? "OK\n" : "ERROR\n");
+                    timings.start("SemanticCache.save");
+                    cache.save();
+                } else if (action.equals("semantic-parallel")) {
+                    // both visitors per method, on all cores
+                    timings.start("ParallelSemanticChecker");
+                    ParallelSemanticChecker checker = new ParallelSemanticChecker(context, ForkJoinPool.commonPool());
+                    outFile.write(checker.check(prog) ? "OK\n" : "ERROR\n");
+                } else {
+                    timings.start("AstTypesVisitor");
+                    AstTypesVisitor astTypeVisitor = new AstTypesVisitor(context);
+                    astTypeVisitor.visit(prog);
+                    if (astTypeVisitor.isError()) {
+//                            System.out.println(astTypeVisitor.getErrorMsg());
                         outFile.write("ERROR\n");
                     } else {
-                        AstTypesVisitor astTypeVisitor = new AstTypesVisitor();
-                        astTypeVisitor.visit(prog);
-                        if (astTypeVisitor.isError()) {
-//                            System.out.println(astTypeVisitor.getErrorMsg());
+                        timings.start("AstInitializedVisitor");
+                        AstInitializedVisitor astInitVisitor = new AstInitializedVisitor(context);
+                        astInitVisitor.visit(prog);
+                        if (astInitVisitor.isError()) {
+//                                System.out.println(astInitVisitor.getErrorMsg());
                             outFile.write("ERROR\n");
                         } else {
-                            AstInitializedVisitor astInitVisitor = new AstInitializedVisitor();
-                            astInitVisitor.visit(prog);
-                            if (astInitVisitor.isError()) {
-//                                System.out.println(astInitVisitor.getErrorMsg());
-                                outFile.write("ERROR\n");
-                            } else {
-                                outFile.write("OK\n");
-                            }
+                            outFile.write("OK\n");
                         }
                     }
-                } else if (action.equals("compile")) {
-                    // VtableCreator - create vtables + Class->data-structure(vtable-method/field -> offset) and probably more...
-                    VtableCreator v = new VtableCreator();
-                    String llvmVtables = v.createVtableAndObjectsStruct();
-                    // LLVM Print Visitor
-                    AstLlvmPrintVisitor astLlvmPrintVisitor = new AstLlvmPrintVisitor();
-                    astLlvmPrintVisitor.visit(prog);
-                    // Concat v tables and visitor's result
-                    String llvmOutput = astLlvmPrintVisitor.getString();
-                    outFile.write(llvmVtables + "\n" + llvmOutput);
-                } else if (action.equals("rename")) {
-                    var type = args[2];
-                    var originalName = args[3];
-                    var originalLine = args[4];
-                    var newName = args[5];
-
-                    boolean isMethod;
-                    if (type.equals("var")) {
-                        isMethod = false;
-                    } else if (type.equals("method")) {
-                        isMethod = true;
-                    } else {
-                        throw new IllegalArgumentException("unknown rename type " + type);
+                }
+            } else if (action.equals("compile")) {
+                // VtableCreator - create vtables + Class->data-structure(vtable-method/field -> offset) and probably more...
+                // Both write straight to the output file: the v tables first, then every function once it is done
+                timings.start("VtableCreator");
+                VtableCreator v = new VtableCreator(context);
+                v.createVtableAndObjectsStruct(outFile);
+                outFile.write("\n");
+                if (layoutReport) {
+                    for (String className : symbolTableUtils.getClassHierarchy().getPreorder()) {
+                        System.err.print(context.getObjectStructMap().get(className).describeLayout(className));
+                    }
+                }
+                // LLVM Print Visitor
+                timings.start("AstLlvmPrintVisitor");
+                AstLlvmPrintVisitor astLlvmPrintVisitor = new AstLlvmPrintVisitor(context, outFile, !llvmAlloca, !noDevirtualize);
+                astLlvmPrintVisitor.setInlining(inlineSize, inlineDepth);
+                astLlvmPrintVisitor.setArena(!noArena, arenaStats);
+                astLlvmPrintVisitor.visit(prog);
+                outFile.write(astLlvmPrintVisitor.getString());
+                timings.count("calls", astLlvmPrintVisitor.getCallCount());
+                timings.count("devirtualizedCalls", astLlvmPrintVisitor.getDevirtualizedCallCount());
+                timings.count("inlinedCalls", astLlvmPrintVisitor.getInlineReport().size());
+                if (inlineReport) {
+                    for (String line : astLlvmPrintVisitor.getInlineReport()) {
+                        System.err.println(line);
                     }
+                }
+                compiled = true;
+            } else if (action.equals("rename")) {
+                var type = args[2];
+                var originalName = args[3];
+                var originalLine = args[4];
+                var newName = args[5];
 
-                    try {
-                        Symbol symbol = FlowUtils.findSymbolToRename(Integer.parseInt(originalLine), originalName, isMethod);
-                        FlowUtils.rename(symbol.getProperties(), newName);
-                        AstXMLSerializer xmlSerializer = new AstXMLSerializer();
-                        xmlSerializer.serialize(prog, outfilename);
-                    } catch (UnsupportedOperationException e) {
-                        throw new UnsupportedOperationException(e.getMessage());
-                    } catch (Exception e) {
-                        // error handling
-                        throw new UnsupportedOperationException(e.getMessage());
+                boolean isMethod;
+                if (type.equals("var")) {
+                    isMethod = false;
+                } else if (type.equals("method")) {
+                    isMethod = true;
+                } else {
+                    throw new IllegalArgumentException("unknown rename type " + type);
+                }
+
+                timings.start("rename");
+                try {
+                    Symbol symbol = context.getFlowUtils().findSymbolToRename(Integer.parseInt(originalLine), originalName, isMethod);
+                    Map<AstNode, String> renamed = new IdentityHashMap<>();
+                    for (AstNode astNode : FlowUtils.rename(symbol.getProperties(), newName)) {
+                        renamed.put(astNode, newName);
                     }
+                    writeRenamed(inputMethod, prog, filename, outfilename, renamed);
+                } catch (UnsupportedOperationException e) {
+                    throw new UnsupportedOperationException(e.getMessage());
+                } catch (Exception e) {
+                    // error handling
+                    throw new UnsupportedOperationException(e.getMessage());
+                }
 
 
-                } else {
-                    throw new IllegalArgumentException("unknown command line action " + action);
+            } else if (action.equals("rename-batch")) {
+                // rename-batch <renames-file>: one "var|method name line newName" per line, applied together
+                List<FlowUtils.Rename> renames = new ArrayList<>();
+                for (String line : Files.readAllLines(Path.of(args[2]))) {
+                    String[] fields = line.trim().split("\\s+");
+                    if (fields[0].isEmpty() || fields[0].startsWith("#")) {
+                        continue;
+                    }
+                    if (fields.length != 4 || !(fields[0].equals("var") || fields[0].equals("method"))) {
+                        throw new IllegalArgumentException("bad rename " + line);
+                    }
+                    renames.add(new FlowUtils.Rename(fields[0].equals("method"), fields[1], Integer.parseInt(fields[2]), fields[3]));
                 }
-            } finally {
-                outFile.flush();
-                outFile.close();
+
+                timings.start("rename");
+                writeRenamed(inputMethod, prog, filename, outfilename, context.getFlowUtils().renameAll(renames));
+            } else {
+                throw new IllegalArgumentException("unknown command line action " + action);
             }
+        } finally {
+            outFile.flush();
+            outFile.close();
+            timings.end();
+        }
 
-        } catch (FileNotFoundException e) {
-            System.out.println("Error reading file: " + e);
-            e.printStackTrace();
-        } catch (Exception e) {
-            System.out.println("General error: " + e);
-            e.printStackTrace();
+        // PrintWriter swallows write errors, which matters now that the module is streamed into it
+        if (outFile.checkError()) {
+            throw new IOException("error writing " + outfilename);
+        }
+
+        if (timings.isEnabled()) {
+            AstCountVisitor astCounter = new AstCountVisitor();
+            astCounter.visit(prog);
+            timings.count("astNodes", astCounter.getCount());
+            timings.count("symbols", symbolTableUtils.getSymbolCount());
+            timings.count("classes", symbolTableUtils.getSymbolTableClassMap_real().size());
+            if (compiled) {
+                try (var lines = Files.lines(Path.of(outfilename))) {
+                    timings.count("irLines", lines.count());
+                }
+            }
+            if (timingsFormat.equals("json")) {
+                timings.printJson(System.err);
+            } else {
+                timings.printText(System.err);
+            }
         }
     }
 }
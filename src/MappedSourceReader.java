@@ -0,0 +1,84 @@
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+// Lexer input straight from a memory-mapped source file. ASCII bytes are widened into the lexer's
+// buffer as they are; from the first non-ASCII byte on the rest of the file is decoded as UTF-8.
+public class MappedSourceReader extends Reader {
+    private final ByteBuffer bytes;
+    // set once a non-ASCII byte is seen
+    private CharsetDecoder decoder;
+    private CharBuffer decoded;
+    private boolean flushed = false;
+    private byte[] chunk = new byte[0];
+
+    public MappedSourceReader(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // the mapping stays valid after the channel is closed
+            bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) {
+        if (len == 0) {
+            return 0;
+        }
+        if (decoder == null) {
+            int start = bytes.position();
+            int n = Math.min(bytes.remaining(), len);
+            if (chunk.length < n) {
+                chunk = new byte[n];
+            }
+            // one bulk copy out of the mapping, then widen until the first non-ASCII byte
+            bytes.get(start, chunk, 0, n);
+            int i = 0;
+            while (i < n && chunk[i] >= 0) {
+                cbuf[off + i] = (char) chunk[i];
+                i++;
+            }
+            bytes.position(start + i);
+            if (i > 0) {
+                return i;
+            }
+            if (!bytes.hasRemaining()) {
+                return -1;
+            }
+            decoder = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            decoded = CharBuffer.allocate(8192);
+            decoded.flip();
+        }
+        // decoding goes through a buffer of our own, which has room for a surrogate pair even when len is 1
+        if (!decoded.hasRemaining()) {
+            if (flushed) {
+                return -1;
+            }
+            decoded.clear();
+            decoder.decode(bytes, decoded, true);
+            if (!bytes.hasRemaining()) {
+                decoder.flush(decoded);
+                flushed = true;
+            }
+            decoded.flip();
+            if (!decoded.hasRemaining()) {
+                return -1;
+            }
+        }
+        int n = Math.min(len, decoded.remaining());
+        decoded.get(cbuf, off, n);
+        return n;
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,1108 @@
+
+//----------------------------------------------------
+// The following code was generated by CUP v0.11b 20160615 (GIT 4ac7450)
+//----------------------------------------------------
+
+import java_cup.runtime.*;
+import ast.*;
+import java.util.List;
+import java.util.LinkedList;
+import java_cup.runtime.XMLElement;
+
+/** CUP v0.11b 20160615 (GIT 4ac7450) generated parser.
+  */
+@SuppressWarnings({"rawtypes"})
+public class Parser extends java_cup.runtime.lr_parser {
+
+ public final Class getSymbolContainer() {
+    return sym.class;
+}
+
+  /** Default constructor. */
+  @Deprecated
+  public Parser() {super();}
+
+  /** Constructor which sets the default scanner. */
+  @Deprecated
+  public Parser(java_cup.runtime.Scanner s) {super(s);}
+
+  /** Constructor which sets the default scanner. */
+  public Parser(java_cup.runtime.Scanner s, java_cup.runtime.SymbolFactory sf) {super(s,sf);}
+
+  /** Production table. */
+  protected static final short _production_table[][] = 
+    unpackFromStrings(new String[] {
+    "\000\064\000\002\002\004\000\002\002\004\000\002\004" +
+    "\021\000\002\006\004\000\002\006\002\000\002\005\010" +
+    "\000\002\005\012\000\002\003\005\000\002\003\005\000" +
+    "\002\003\005\000\002\003\005\000\002\003\005\000\002" +
+    "\003\006\000\002\003\004\000\002\003\010\000\002\003" +
+    "\003\000\002\003\003\000\002\003\003\000\002\003\003" +
+    "\000\002\003\003\000\002\003\007\000\002\003\006\000" +
+    "\002\003\004\000\002\003\005\000\002\012\004\000\002" +
+    "\012\002\000\002\013\017\000\002\014\004\000\002\014" +
+    "\002\000\002\015\005\000\002\017\004\000\002\017\002" +
+    "\000\002\016\005\000\002\016\002\000\002\020\004\000" +
+    "\002\022\004\000\002\022\002\000\002\021\005\000\002" +
+    "\021\002\000\002\007\003\000\002\007\003\000\002\007" +
+    "\003\000\002\007\003\000\002\010\004\000\002\010\002" +
+    "\000\002\011\007\000\002\011\011\000\002\011\007\000" +
+    "\002\011\006\000\002\011\011\000\002\011\005\000\002" +
+    "\023\003" });
+
+  /** Access to production table. */
+  public short[][] production_table() {return _production_table;}
+
+  /** Parse-action table. */
+  protected static final short[][] _action_table = 
+    unpackFromStrings(new String[] {
+    "\000\210\000\004\006\005\001\002\000\006\002\ufffd\006" +
+    "\ufffd\001\002\000\004\047\010\001\002\000\004\002\007" +
+    "\001\002\000\004\002\001\001\002\000\044\007\uffce\010" +
+    "\uffce\011\uffce\012\uffce\013\uffce\022\uffce\023\uffce\025\uffce" +
+    "\026\uffce\027\uffce\030\uffce\032\uffce\033\uffce\034\uffce\035" +
+    "\uffce\045\uffce\047\uffce\001\002\000\004\030\012\001\002" +
+    "\000\004\004\013\001\002\000\004\005\014\001\002\000" +
+    "\004\047\010\001\002\000\004\047\010\001\002\000\004" +
+    "\026\017\001\002\000\004\037\020\001\002\000\004\047" +
+    "\010\001\002\000\004\027\022\001\002\000\004\030\023" +
+    "\001\002\000\014\015\027\016\031\030\030\040\025\047" +
+    "\010\001\002\000\006\013\127\032\130\001\002\000\004" +
+    "\026\123\001\002\000\004\031\121\001\002\000\004\026" +
+    "\115\001\002\000\016\015\027\016\031\030\030\031\uffd5" +
+    "\040\025\047\010\001\002\000\004\026\032\001\002\000" +
+    "\022\014\041\020\035\021\036\024\040\026\043\041\033" +
+    "\046\034\047\010\001\002\000\006\042\102\047\010\001" +
+    "\002\000\032\010\ufff2\011\ufff2\012\ufff2\022\ufff2\023\ufff2" +
+    "\025\ufff2\027\ufff2\032\ufff2\033\ufff2\034\ufff2\035\ufff2\045" +
+    "\ufff2\001\002\000\032\010\ufff1\011\ufff1\012\ufff1\022\ufff1" +
+    "\023\ufff1\025\ufff1\027\ufff1\032\ufff1\033\ufff1\034\ufff1\035" +
+    "\ufff1\045\ufff1\001\002\000\032\010\ufff0\011\ufff0\012\ufff0" +
+    "\022\ufff0\023\ufff0\025\ufff0\027\ufff0\032\ufff0\033\ufff0\034" +
+    "\ufff0\035\ufff0\045\ufff0\001\002\000\032\010\uffef\011\uffef" +
+    "\012\uffef\022\uffef\023\uffef\025\uffef\027\uffef\032\uffef\033" +
+    "\uffef\034\uffef\035\uffef\045\uffef\001\002\000\032\010\uffee" +
+    "\011\uffee\012\uffee\022\uffee\023\uffee\025\uffee\027\uffee\032" +
+    "\uffee\033\uffee\034\uffee\035\uffee\045\uffee\001\002\000\022" +
+    "\014\041\020\035\021\036\024\040\026\043\041\033\046" +
+    "\034\047\010\001\002\000\024\010\051\011\045\012\050" +
+    "\022\055\023\046\027\075\032\054\035\052\045\047\001" +
+    "\002\000\022\014\041\020\035\021\036\024\040\026\043" +
+    "\041\033\046\034\047\010\001\002\000\024\010\051\011" +
+    "\045\012\050\022\055\023\046\027\053\032\054\035\052" +
+    "\045\047\001\002\000\022\014\041\020\035\021\036\024" +
+    "\040\026\043\041\033\046\034\047\010\001\002\000\022" +
+    "\014\041\020\035\021\036\024\040\026\043\041\033\046" +
+    "\034\047\010\001\002\000\032\010\ufff4\011\ufff4\012\ufff4" +
+    "\022\ufff4\023\ufff4\025\ufff4\027\ufff4\032\ufff4\033\ufff4\034" +
+    "\ufff4\035\ufff4\045\ufff4\001\002\000\022\014\041\020\035" +
+    "\021\036\024\040\026\043\041\033\046\034\047\010\001" +
+    "\002\000\022\014\041\020\035\021\036\024\040\026\043" +
+    "\041\033\046\034\047\010\001\002\000\004\047\010\001" +
+    "\002\000\032\010\uffea\011\uffea\012\uffea\022\uffea\023\uffea" +
+    "\025\uffea\027\uffea\032\uffea\033\uffea\034\uffea\035\uffea\045" +
+    "\uffea\001\002\000\022\014\041\020\035\021\036\024\040" +
+    "\026\043\041\033\046\034\047\010\001\002\000\022\014" +
+    "\041\020\035\021\036\024\040\026\043\041\033\046\034" +
+    "\047\010\001\002\000\032\010\051\011\045\012\050\022" +
+    "\ufff9\023\ufff9\025\ufff9\027\ufff9\032\ufff9\033\ufff9\034\ufff9" +
+    "\035\052\045\ufff9\001\002\000\024\010\051\011\045\012" +
+    "\050\022\055\023\046\032\054\033\060\035\052\045\047" +
+    "\001\002\000\032\010\ufff5\011\ufff5\012\ufff5\022\ufff5\023" +
+    "\ufff5\025\ufff5\027\ufff5\032\ufff5\033\ufff5\034\ufff5\035\ufff5" +
+    "\045\ufff5\001\002\000\004\026\062\001\002\000\024\014" +
+    "\041\020\035\021\036\024\040\026\043\027\uffdd\041\033" +
+    "\046\034\047\010\001\002\000\004\027\070\001\002\000" +
+    "\026\010\051\011\045\012\050\022\055\023\046\025\uffdb" +
+    "\027\uffdb\032\054\035\052\045\047\001\002\000\006\025" +
+    "\066\027\uffde\001\002\000\022\014\041\020\035\021\036" +
+    "\024\040\026\043\041\033\046\034\047\010\001\002\000" +
+    "\026\010\051\011\045\012\050\022\055\023\046\025\uffdc" +
+    "\027\uffdc\032\054\035\052\045\047\001\002\000\032\010" +
+    "\ufff3\011\ufff3\012\ufff3\022\ufff3\023\ufff3\025\ufff3\027\ufff3" +
+    "\032\ufff3\033\ufff3\034\ufff3\035\ufff3\045\ufff3\001\002\000" +
+    "\032\010\ufff8\011\ufff8\012\050\022\ufff8\023\ufff8\025\ufff8" +
+    "\027\ufff8\032\ufff8\033\ufff8\034\ufff8\035\ufff8\045\ufff8\001" +
+    "\002\000\032\010\ufff6\011\ufff6\012\ufff6\022\ufff6\023\ufff6" +
+    "\025\ufff6\027\ufff6\032\ufff6\033\ufff6\034\ufff6\035\ufff6\045" +
+    "\ufff6\001\002\000\030\010\051\011\045\012\050\022\055" +
+    "\025\ufffa\027\ufffa\032\ufffa\033\ufffa\034\ufffa\035\052\045" +
+    "\ufffa\001\002\000\032\010\ufff7\011\ufff7\012\050\022\ufff7" +
+    "\023\ufff7\025\ufff7\027\ufff7\032\ufff7\033\ufff7\034\ufff7\035" +
+    "\ufff7\045\ufff7\001\002\000\014\015\027\016\031\030\030" +
+    "\040\025\047\010\001\002\000\004\017\077\001\002\000" +
+    "\014\015\027\016\031\030\030\040\025\047\010\001\002" +
+    "\000\022\015\uffd3\016\uffd3\017\uffd3\030\uffd3\031\uffd3\036" +
+    "\uffd3\040\uffd3\047\uffd3\001\002\000\032\010\051\011\045" +
+    "\012\050\022\uffeb\023\uffeb\025\uffeb\027\uffeb\032\uffeb\033" +
+    "\uffeb\034\uffeb\035\052\045\uffeb\001\002\000\004\032\106" +
+    "\001\002\000\004\026\104\001\002\000\004\027\105\001" +
+    "\002\000\032\010\uffec\011\uffec\012\uffec\022\uffec\023\uffec" +
+    "\025\uffec\027\uffec\032\uffec\033\uffec\034\uffec\035\uffec\045" +
+    "\uffec\001\002\000\022\014\041\020\035\021\036\024\040" +
+    "\026\043\041\033\046\034\047\010\001\002\000\024\010" +
+    "\051\011\045\012\050\022\055\023\046\032\054\033\110" +
+    "\035\052\045\047\001\002\000\032\010\uffed\011\uffed\012" +
+    "\uffed\022\uffed\023\uffed\025\uffed\027\uffed\032\uffed\033\uffed" +
+    "\034\uffed\035\uffed\045\uffed\001\002\000\004\031\114\001" +
+    "\002\000\020\015\027\016\031\030\030\031\uffd5\036\uffd5" +
+    "\040\025\047\010\001\002\000\006\031\uffd6\036\uffd6\001" +
+    "\002\000\022\015\uffcf\016\uffcf\017\uffcf\030\uffcf\031\uffcf" +
+    "\036\uffcf\040\uffcf\047\uffcf\001\002\000\022\014\041\020" +
+    "\035\021\036\024\040\026\043\041\033\046\034\047\010" +
+    "\001\002\000\024\010\051\011\045\012\050\022\055\023" +
+    "\046\027\117\032\054\035\052\045\047\001\002\000\014" +
+    "\015\027\016\031\030\030\040\025\047\010\001\002\000" +
+    "\022\015\uffd2\016\uffd2\017\uffd2\030\uffd2\031\uffd2\036\uffd2" +
+    "\040\uffd2\047\uffd2\001\002\000\004\031\122\001\002\000" +
+    "\006\002\uffff\006\uffff\001\002\000\022\014\041\020\035" +
+    "\021\036\024\040\026\043\041\033\046\034\047\010\001" +
+    "\002\000\024\010\051\011\045\012\050\022\055\023\046" +
+    "\027\125\032\054\035\052\045\047\001\002\000\004\034" +
+    "\126\001\002\000\022\015\uffd4\016\uffd4\017\uffd4\030\uffd4" +
+    "\031\uffd4\036\uffd4\040\uffd4\047\uffd4\001\002\000\022\014" +
+    "\041\020\035\021\036\024\040\026\043\041\033\046\034" +
+    "\047\010\001\002\000\022\014\041\020\035\021\036\024" +
+    "\040\026\043\041\033\046\034\047\010\001\002\000\024" +
+    "\010\051\011\045\012\050\022\055\023\046\032\054\033" +
+    "\132\035\052\045\047\001\002\000\004\013\133\001\002" +
+    "\000\022\014\041\020\035\021\036\024\040\026\043\041" +
+    "\033\046\034\047\010\001\002\000\024\010\051\011\045" +
+    "\012\050\022\055\023\046\032\054\034\135\035\052\045" +
+    "\047\001\002\000\022\015\uffd0\016\uffd0\017\uffd0\030\uffd0" +
+    "\031\uffd0\036\uffd0\040\uffd0\047\uffd0\001\002\000\024\010" +
+    "\051\011\045\012\050\022\055\023\046\032\054\034\137" +
+    "\035\052\045\047\001\002\000\022\015\uffd1\016\uffd1\017" +
+    "\uffd1\030\uffd1\031\uffd1\036\uffd1\040\uffd1\047\uffd1\001\002" +
+    "\000\006\002\000\006\142\001\002\000\006\002\ufffe\006" +
+    "\ufffe\001\002\000\004\047\010\001\002\000\006\007\144" +
+    "\030\145\001\002\000\004\047\010\001\002\000\016\004" +
+    "\uffe5\031\uffe5\042\uffe5\043\uffe5\044\uffe5\047\uffe5\001\002" +
+    "\000\016\004\uffe8\031\uffe8\042\151\043\155\044\147\047" +
+    "\010\001\002\000\004\047\uffd8\001\002\000\004\047\uffd7" +
+    "\001\002\000\004\047\uffd9\001\002\000\006\004\162\031" +
+    "\161\001\002\000\004\047\010\001\002\000\030\004\uffe6" +
+    "\015\uffe6\016\uffe6\030\uffe6\031\uffe6\036\uffe6\040\uffe6\042" +
+    "\uffe6\043\uffe6\044\uffe6\047\uffe6\001\002\000\004\047\uffda" +
+    "\001\002\000\004\034\157\001\002\000\030\004\uffe4\015" +
+    "\uffe4\016\uffe4\030\uffe4\031\uffe4\036\uffe4\040\uffe4\042\uffe4" +
+    "\043\uffe4\044\uffe4\047\uffe4\001\002\000\006\004\uffe9\031" +
+    "\uffe9\001\002\000\006\002\ufffc\006\ufffc\001\002\000\012" +
+    "\042\151\043\155\044\147\047\010\001\002\000\004\047" +
+    "\010\001\002\000\004\026\165\001\002\000\014\027\uffe2" +
+    "\042\151\043\155\044\147\047\010\001\002\000\004\027" +
+    "\175\001\002\000\006\025\uffe0\027\uffe0\001\002\000\004" +
+    "\047\010\001\002\000\006\025\uffdf\027\uffdf\001\002\000" +
+    "\006\025\173\027\uffe3\001\002\000\012\042\151\043\155" +
+    "\044\147\047\010\001\002\000\006\025\uffe1\027\uffe1\001" +
+    "\002\000\004\030\176\001\002\000\024\015\uffe5\016\uffe5" +
+    "\030\uffe5\036\uffe5\040\uffe5\042\uffe5\043\uffe5\044\uffe5\047" +
+    "\uffe5\001\002\000\024\015\027\016\031\030\030\036\uffd5" +
+    "\040\025\042\151\043\155\044\147\047\010\001\002\000" +
+    "\004\036\202\001\002\000\010\013\127\032\130\047\uffd7" +
+    "\001\002\000\022\014\041\020\035\021\036\024\040\026" +
+    "\043\041\033\046\034\047\010\001\002\000\024\010\051" +
+    "\011\045\012\050\022\055\023\046\032\054\034\204\035" +
+    "\052\045\047\001\002\000\004\031\205\001\002\000\006" +
+    "\004\uffe7\031\uffe7\001\002\000\004\030\207\001\002\000" +
+    "\016\004\uffe5\031\uffe5\042\uffe5\043\uffe5\044\uffe5\047\uffe5" +
+    "\001\002\000\016\004\uffe8\031\uffe8\042\151\043\155\044" +
+    "\147\047\010\001\002\000\006\004\162\031\212\001\002" +
+    "\000\006\002\ufffb\006\ufffb\001\002" });
+
+  /** Access to parse-action table. */
+  public short[][] action_table() {return _action_table;}
+
+  /** <code>reduce_goto</code> table. */
+  protected static final short[][] _reduce_table = 
+    unpackFromStrings(new String[] {
+    "\000\210\000\006\002\005\004\003\001\001\000\004\006" +
+    "\137\001\001\000\004\023\010\001\001\000\002\001\001" +
+    "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
+    "\002\001\001\000\002\001\001\000\004\023\014\001\001" +
+    "\000\004\023\015\001\001\000\002\001\001\000\002\001" +
+    "\001\000\004\023\020\001\001\000\002\001\001\000\002" +
+    "\001\001\000\006\011\025\023\023\001\001\000\002\001" +
+    "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
+    "\000\010\010\110\011\111\023\023\001\001\000\002\001" +
+    "\001\000\006\003\041\023\036\001\001\000\004\023\102" +
+    "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
+    "\001\000\002\001\001\000\002\001\001\000\006\003\100" +
+    "\023\036\001\001\000\002\001\001\000\006\003\043\023" +
+    "\036\001\001\000\002\001\001\000\006\003\073\023\036" +
+    "\001\001\000\006\003\072\023\036\001\001\000\002\001" +
+    "\001\000\006\003\071\023\036\001\001\000\006\003\070" +
+    "\023\036\001\001\000\004\023\060\001\001\000\002\001" +
+    "\001\000\006\003\056\023\036\001\001\000\006\003\055" +
+    "\023\036\001\001\000\002\001\001\000\002\001\001\000" +
+    "\002\001\001\000\002\001\001\000\010\003\063\022\062" +
+    "\023\036\001\001\000\002\001\001\000\004\021\064\001" +
+    "\001\000\002\001\001\000\006\003\066\023\036\001\001" +
+    "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
+    "\002\001\001\000\002\001\001\000\002\001\001\000\006" +
+    "\011\075\023\023\001\001\000\002\001\001\000\006\011" +
+    "\077\023\023\001\001\000\002\001\001\000\002\001\001" +
+    "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
+    "\002\001\001\000\006\003\106\023\036\001\001\000\002" +
+    "\001\001\000\002\001\001\000\002\001\001\000\010\010" +
+    "\112\011\111\023\023\001\001\000\002\001\001\000\002" +
+    "\001\001\000\006\003\115\023\036\001\001\000\002\001" +
+    "\001\000\006\011\117\023\023\001\001\000\002\001\001" +
+    "\000\002\001\001\000\002\001\001\000\006\003\123\023" +
+    "\036\001\001\000\002\001\001\000\002\001\001\000\002" +
+    "\001\001\000\006\003\135\023\036\001\001\000\006\003" +
+    "\130\023\036\001\001\000\002\001\001\000\002\001\001" +
+    "\000\006\003\133\023\036\001\001\000\002\001\001\000" +
+    "\002\001\001\000\002\001\001\000\002\001\001\000\004" +
+    "\005\140\001\001\000\002\001\001\000\004\023\142\001" +
+    "\001\000\002\001\001\000\004\023\205\001\001\000\004" +
+    "\014\145\001\001\000\012\007\152\012\151\015\153\023" +
+    "\147\001\001\000\002\001\001\000\002\001\001\000\002" +
+    "\001\001\000\004\013\157\001\001\000\004\023\155\001" +
+    "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
+    "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
+    "\006\007\162\023\147\001\001\000\004\023\163\001\001" +
+    "\000\002\001\001\000\012\007\167\017\165\020\166\023" +
+    "\147\001\001\000\002\001\001\000\004\016\171\001\001" +
+    "\000\004\023\170\001\001\000\002\001\001\000\002\001" +
+    "\001\000\010\007\167\020\173\023\147\001\001\000\002" +
+    "\001\001\000\002\001\001\000\004\014\176\001\001\000" +
+    "\014\007\152\010\177\011\111\015\153\023\200\001\001" +
+    "\000\002\001\001\000\002\001\001\000\006\003\202\023" +
+    "\036\001\001\000\002\001\001\000\002\001\001\000\002" +
+    "\001\001\000\002\001\001\000\004\014\207\001\001\000" +
+    "\012\007\152\012\210\015\153\023\147\001\001\000\004" +
+    "\013\157\001\001\000\002\001\001" });
+
+  /** Access to <code>reduce_goto</code> table. */
+  public short[][] reduce_table() {return _reduce_table;}
+
+  /** Instance of action encapsulation class. */
+  protected CUP$Parser$actions action_obj;
+
+  /** Action encapsulation object initializer. */
+  protected void init_actions()
+    {
+      action_obj = new CUP$Parser$actions(this);
+    }
+
+  /** Invoke a user supplied parse action. */
+  public java_cup.runtime.Symbol do_action(
+    int                        act_num,
+    java_cup.runtime.lr_parser parser,
+    java.util.Stack            stack,
+    int                        top)
+    throws java.lang.Exception
+  {
+    /* call code in generated class */
+    return action_obj.CUP$Parser$do_action(act_num, parser, stack, top);
+  }
+
+  /** Indicates start state. */
+  public int start_state() {return 0;}
+  /** Indicates start production. */
+  public int start_production() {return 0;}
+
+  /** <code>EOF</code> Symbol index. */
+  public int EOF_sym() {return 0;}
+
+  /** <code>error</code> Symbol index. */
+  public int error_sym() {return 1;}
+
+
+  /** Scan to get the next Symbol. */
+  public java_cup.runtime.Symbol scan()
+    throws java.lang.Exception
+    {
+
+	Symbol s;
+    try {
+	s = lexer.next_token();
+	// System.out.print(s.sym);
+	// System.out.print("[");
+	// System.out.print(lexer.getLine());
+	// System.out.print(":");
+	// System.out.print(lexer.getCharPos());
+	// System.out.print("] ");
+	// System.out.print(sym.terminalNames[s.sym]);
+	// if (s.value != null)
+	// {
+	    // System.out.print("( ");
+	    // System.out.print(s.value);
+	    // System.out.print(" )");
+	// }
+	// System.out.print("\n");
+	return s;
+     } catch (java.lang.Error e) {
+         throw new SyntaxError("Syntax error at line " + lexer.getLine() + " of input. Lexer");
+     }
+
+    }
+
+
+	public Lexer lexer;
+
+	public Parser(Lexer lexer)
+	{
+		super(lexer);
+		this.lexer = lexer;
+	}
+
+	// Override default error reporting in parser
+	public void report_error(String message, Object info)
+	{
+		// thrown rather than exiting, a server or batch keeps going with its other inputs
+		throw new SyntaxError("Syntax error at line " + lexer.getLine() + " of input. Parser");
+	}
+
+
+/** Cup generated class to encapsulate user supplied action code.*/
+@SuppressWarnings({"rawtypes", "unchecked", "unused"})
+class CUP$Parser$actions {
+  private final Parser parser;
+
+  /** Constructor */
+  CUP$Parser$actions(Parser parser) {
+    this.parser = parser;
+  }
+
+  /** Method 0 with the actual generated action code for actions 0 to 300. */
+  public final java_cup.runtime.Symbol CUP$Parser$do_action_part00000000(
+    int                        CUP$Parser$act_num,
+    java_cup.runtime.lr_parser CUP$Parser$parser,
+    java.util.Stack            CUP$Parser$stack,
+    int                        CUP$Parser$top)
+    throws java.lang.Exception
+    {
+      /* Symbol object for return from actions */
+      java_cup.runtime.Symbol CUP$Parser$result;
+
+      /* select the action based on the action number */
+      switch (CUP$Parser$act_num)
+        {
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 0: // $START ::= prog EOF 
+            {
+              Object RESULT =null;
+		int start_valleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int start_valright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Program start_val = (Program)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		RESULT = start_val;
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("$START",0, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          /* ACCEPT */
+          CUP$Parser$parser.done_parsing();
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 1: // prog ::= mainClass classDecls 
+            {
+              Program RESULT =null;
+		int mainClassleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int mainClassright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		MainClass mainClass = (MainClass)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		int classDeclsleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int classDeclsright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		LinkedList<ClassDecl> classDecls = (LinkedList<ClassDecl>)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = new Program(mainClass, classDecls); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("prog",0, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 2: // mainClass ::= CLASS identifier LBR PUBLIC STATIC identifier identifier LPAREN STRINGARGS identifier RPAREN LBR stmt RBR RBR 
+            {
+              MainClass RESULT =null;
+		int mainClassleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-13)).left;
+		int mainClassright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-13)).right;
+		String mainClass = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-13)).value;
+		int typeleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-9)).left;
+		int typeright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-9)).right;
+		String type = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-9)).value;
+		int nameleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-8)).left;
+		int nameright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-8)).right;
+		String name = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-8)).value;
+		int argsNameleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)).left;
+		int argsNameright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)).right;
+		String argsName = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-5)).value;
+		int mainStatementleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int mainStatementright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		Statement mainStatement = (Statement)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		 RESULT = new MainClass(mainClass, argsName, mainStatement); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("mainClass",2, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-14)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 3: // classDecls ::= classDecls classDecl 
+            {
+              LinkedList<ClassDecl> RESULT =null;
+		int classDeclsleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int classDeclsright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		LinkedList<ClassDecl> classDecls = (LinkedList<ClassDecl>)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		int classDeclleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int classDeclright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		ClassDecl classDecl = (ClassDecl)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 classDecls.add(classDecl); RESULT = classDecls; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("classDecls",4, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 4: // classDecls ::= 
+            {
+              LinkedList<ClassDecl> RESULT =null;
+		 RESULT = new LinkedList<ClassDecl>(); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("classDecls",4, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 5: // classDecl ::= CLASS identifier LBR varDecs methodDecs RBR 
+            {
+              ClassDecl RESULT =null;
+		int classNameleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).left;
+		int classNameright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).right;
+		String className = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
+		int varDecsleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int varDecsright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		LinkedList<VarDecl> varDecs = (LinkedList<VarDecl>)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		int methodDecsleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int methodDecsright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		LinkedList<MethodDecl> methodDecs = (LinkedList<MethodDecl>)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		 RESULT = new ClassDecl(className, null, varDecs, methodDecs); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("classDecl",3, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 6: // classDecl ::= CLASS identifier EXTENDS identifier LBR varDecs methodDecs RBR 
+            {
+              ClassDecl RESULT =null;
+		int classNameleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-6)).left;
+		int classNameright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-6)).right;
+		String className = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-6)).value;
+		int superClassleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).left;
+		int superClassright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).right;
+		String superClass = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
+		int varDecsleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int varDecsright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		LinkedList<VarDecl> varDecs = (LinkedList<VarDecl>)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		int methodDecsleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int methodDecsright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		LinkedList<MethodDecl> methodDecs = (LinkedList<MethodDecl>)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		 RESULT = new ClassDecl(className, superClass, varDecs, methodDecs); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("classDecl",3, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-7)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 7: // expr ::= expr AND expr 
+            {
+              Expr RESULT =null;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		int e2left = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int e2right = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Expr e2 = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = new AndExpr(e, e2); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",1, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 8: // expr ::= expr LT expr 
+            {
+              Expr RESULT =null;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		int e2left = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int e2right = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Expr e2 = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = new LtExpr(e, e2); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",1, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 9: // expr ::= expr PLUS expr 
+            {
+              Expr RESULT =null;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		int e2left = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int e2right = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Expr e2 = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = new AddExpr(e, e2); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",1, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 10: // expr ::= expr MINUS expr 
+            {
+              Expr RESULT =null;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		int e2left = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int e2right = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Expr e2 = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = new SubtractExpr(e, e2); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",1, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 11: // expr ::= expr MULT expr 
+            {
+              Expr RESULT =null;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		int e2left = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int e2right = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Expr e2 = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = new MultExpr(e, e2); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",1, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 12: // expr ::= expr LSQBR expr RSQBR 
+            {
+              Expr RESULT =null;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).right;
+		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
+		int e2left = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int e2right = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Expr e2 = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		 RESULT = new ArrayAccessExpr(e, e2); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",1, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 13: // expr ::= expr LENGTH 
+            {
+              Expr RESULT =null;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		 RESULT = new ArrayLengthExpr(e); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",1, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 14: // expr ::= expr DOT identifier LPAREN actualArgsWrapper RPAREN 
+            {
+              Expr RESULT =null;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)).right;
+		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-5)).value;
+		int idleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).left;
+		int idright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).right;
+		String id = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
+		int actualArgsleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int actualArgsright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		LinkedList<Expr> actualArgs = (LinkedList<Expr>)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		 RESULT = new MethodCallExpr(e, id, actualArgs); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",1, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 15: // expr ::= NUMBER 
+            {
+              Expr RESULT =null;
+		int numleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int numright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		int num = (int)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = new IntegerLiteralExpr(num); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",1, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 16: // expr ::= TRUE 
+            {
+              Expr RESULT =null;
+		 RESULT = new TrueExpr(); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",1, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 17: // expr ::= FALSE 
+            {
+              Expr RESULT =null;
+		 RESULT = new FalseExpr(); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",1, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 18: // expr ::= identifier 
+            {
+              Expr RESULT =null;
+		int idleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int idright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		String id = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = new IdentifierExpr(id); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",1, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 19: // expr ::= THIS 
+            {
+              Expr RESULT =null;
+		 RESULT = new ThisExpr(); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",1, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 20: // expr ::= NEW TYPEINT LSQBR expr RSQBR 
+            {
+              Expr RESULT =null;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		 RESULT = new NewIntArrayExpr(e); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",1, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 21: // expr ::= NEW identifier LPAREN RPAREN 
+            {
+              Expr RESULT =null;
+		int idleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int idright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		String id = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		 RESULT = new NewObjectExpr(id); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",1, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 22: // expr ::= NOT expr 
+            {
+              Expr RESULT =null;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = new NotExpr(e); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",1, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 23: // expr ::= LPAREN expr RPAREN 
+            {
+              Expr RESULT =null;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		 RESULT = e; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("expr",1, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 24: // methodDecs ::= methodDecs methodDec 
+            {
+              LinkedList<MethodDecl> RESULT =null;
+		int methodDecsleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int methodDecsright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		LinkedList<MethodDecl> methodDecs = (LinkedList<MethodDecl>)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		int methodDecleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int methodDecright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		MethodDecl methodDec = (MethodDecl)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 methodDecs.add(methodDec); RESULT = methodDecs; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("methodDecs",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 25: // methodDecs ::= 
+            {
+              LinkedList<MethodDecl> RESULT =null;
+		 RESULT = new LinkedList<MethodDecl>(); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("methodDecs",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 26: // methodDec ::= PUBLIC type identifier LPAREN formalArgsWrapper RPAREN LBR varDecs stmts RET expr SEMICOLON RBR 
+            {
+              MethodDecl RESULT =null;
+		int typeleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-11)).left;
+		int typeright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-11)).right;
+		AstType type = (AstType)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-11)).value;
+		int idleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-10)).left;
+		int idright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-10)).right;
+		String id = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-10)).value;
+		int formalArgsleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-8)).left;
+		int formalArgsright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-8)).right;
+		LinkedList<FormalArg> formalArgs = (LinkedList<FormalArg>)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-8)).value;
+		int varDecsleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)).left;
+		int varDecsright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)).right;
+		LinkedList<VarDecl> varDecs = (LinkedList<VarDecl>)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-5)).value;
+		int bodyleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).left;
+		int bodyright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).right;
+		LinkedList<Statement> body = (LinkedList<Statement>)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		 RESULT = new MethodDecl(type, id, formalArgs, varDecs, body, e, 17); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("methodDec",9, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-12)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 27: // varDecs ::= varDecs varDec 
+            {
+              LinkedList<VarDecl> RESULT =null;
+		int varDecsleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int varDecsright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		LinkedList<VarDecl> varDecs = (LinkedList<VarDecl>)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		int varDecleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int varDecright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		VarDecl varDec = (VarDecl)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 varDecs.add(varDec); RESULT = varDecs; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("varDecs",10, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 28: // varDecs ::= 
+            {
+              LinkedList<VarDecl> RESULT =null;
+		 RESULT = new LinkedList<VarDecl>(); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("varDecs",10, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 29: // varDec ::= type identifier SEMICOLON 
+            {
+              VarDecl RESULT =null;
+		int typeleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int typeright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		AstType type = (AstType)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		int idleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int idright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		String id = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		 RESULT = new VarDecl(type, id, 17); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("varDec",11, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 30: // formalArgsWrapper ::= formalArg formalArgs 
+            {
+              LinkedList<FormalArg> RESULT =null;
+		int formalArgleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int formalArgright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		FormalArg formalArg = (FormalArg)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		int formalArgsleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int formalArgsright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		LinkedList<FormalArg> formalArgs = (LinkedList<FormalArg>)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 formalArgs.addFirst(formalArg); RESULT = formalArgs; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("formalArgsWrapper",13, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 31: // formalArgsWrapper ::= 
+            {
+              LinkedList<FormalArg> RESULT =null;
+		 RESULT = new LinkedList<FormalArg>(); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("formalArgsWrapper",13, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 32: // formalArgs ::= formalArgs COMMA formalArg 
+            {
+              LinkedList<FormalArg> RESULT =null;
+		int formalArgsleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int formalArgsright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		LinkedList<FormalArg> formalArgs = (LinkedList<FormalArg>)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		int formalArgleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int formalArgright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		FormalArg formalArg = (FormalArg)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 formalArgs.add(formalArg); RESULT = formalArgs; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("formalArgs",12, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 33: // formalArgs ::= 
+            {
+              LinkedList<FormalArg> RESULT =null;
+		 RESULT = new LinkedList<FormalArg>(); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("formalArgs",12, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 34: // formalArg ::= type identifier 
+            {
+              FormalArg RESULT =null;
+		int typeleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int typeright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		AstType type = (AstType)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		int idleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int idright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		String id = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = new FormalArg(type, id, 17); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("formalArg",14, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 35: // actualArgsWrapper ::= expr actualArgs 
+            {
+              LinkedList<Expr> RESULT =null;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		int actualArgsleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int actualArgsright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		LinkedList<Expr> actualArgs = (LinkedList<Expr>)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 actualArgs.addFirst(e); RESULT = actualArgs; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("actualArgsWrapper",16, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 36: // actualArgsWrapper ::= 
+            {
+              LinkedList<Expr> RESULT =null;
+		 RESULT = new LinkedList<Expr>(); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("actualArgsWrapper",16, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 37: // actualArgs ::= actualArgs COMMA expr 
+            {
+              LinkedList<Expr> RESULT =null;
+		int actualArgsleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int actualArgsright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		LinkedList<Expr> actualArgs = (LinkedList<Expr>)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 actualArgs.add(e); RESULT = actualArgs; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("actualArgs",15, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 38: // actualArgs ::= 
+            {
+              LinkedList<Expr> RESULT =null;
+		 RESULT = new LinkedList<Expr>(); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("actualArgs",15, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 39: // type ::= TYPEINTARRAY 
+            {
+              AstType RESULT =null;
+		 RESULT = new IntArrayAstType(); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("type",5, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 40: // type ::= TYPEINT 
+            {
+              AstType RESULT =null;
+		 RESULT = new IntAstType(); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("type",5, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 41: // type ::= TYPEBOOL 
+            {
+              AstType RESULT =null;
+		 RESULT = new BoolAstType(); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("type",5, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 42: // type ::= identifier 
+            {
+              AstType RESULT =null;
+		int idleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int idright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		String id = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = new RefType(id); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("type",5, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 43: // stmts ::= stmt stmts 
+            {
+              LinkedList<Statement> RESULT =null;
+		int stmtleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int stmtright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Statement stmt = (Statement)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		int stmtsleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int stmtsright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		LinkedList<Statement> stmts = (LinkedList<Statement>)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 stmts.addFirst(stmt); RESULT = stmts; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("stmts",6, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 44: // stmts ::= 
+            {
+              LinkedList<Statement> RESULT =null;
+		 RESULT = new LinkedList<Statement>(); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("stmts",6, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 45: // stmt ::= SYSTEM LPAREN expr RPAREN SEMICOLON 
+            {
+              Statement RESULT =null;
+		int exprleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int exprright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		Expr expr = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		 RESULT = new SysoutStatement(expr); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("stmt",7, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 46: // stmt ::= IF LPAREN expr RPAREN stmt ELSE stmt 
+            {
+              Statement RESULT =null;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).right;
+		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
+		int thenStmtleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int thenStmtright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		Statement thenStmt = (Statement)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		int elseStmtleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int elseStmtright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Statement elseStmt = (Statement)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = new IfStatement(e, thenStmt, elseStmt); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("stmt",7, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-6)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 47: // stmt ::= WHILE LPAREN expr RPAREN stmt 
+            {
+              Statement RESULT =null;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		int whileStmtleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int whileStmtright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Statement whileStmt = (Statement)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = new WhileStatement(e, whileStmt); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("stmt",7, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 48: // stmt ::= identifier ASS expr SEMICOLON 
+            {
+              Statement RESULT =null;
+		int idleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).left;
+		int idright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).right;
+		String id = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-3)).value;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Expr e = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		 RESULT = new AssignStatement(id, e); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("stmt",7, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 49: // stmt ::= identifier LSQBR expr RSQBR ASS expr SEMICOLON 
+            {
+              Statement RESULT =null;
+		int idleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-6)).left;
+		int idright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-6)).right;
+		String id = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-6)).value;
+		int indexleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).left;
+		int indexright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).right;
+		Expr index = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
+		int rvleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int rvright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Expr rv = (Expr)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		 RESULT = new AssignArrayStatement(id, index, rv); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("stmt",7, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-6)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 50: // stmt ::= LBR stmts RBR 
+            {
+              Statement RESULT =null;
+		int blockStmtsleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int blockStmtsright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		LinkedList<Statement> blockStmts = (LinkedList<Statement>)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		 RESULT = new BlockStatement(blockStmts); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("stmt",7, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 51: // identifier ::= ID 
+            {
+              String RESULT =null;
+		int idleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int idright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		String id = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = id; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("identifier",17, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /* . . . . . .*/
+          default:
+            throw new Exception(
+               "Invalid action number "+CUP$Parser$act_num+"found in internal parse table");
+
+        }
+    } /* end of method */
+
+  /** Method splitting the generated action code into several parts. */
+  public final java_cup.runtime.Symbol CUP$Parser$do_action(
+    int                        CUP$Parser$act_num,
+    java_cup.runtime.lr_parser CUP$Parser$parser,
+    java.util.Stack            CUP$Parser$stack,
+    int                        CUP$Parser$top)
+    throws java.lang.Exception
+    {
+              return CUP$Parser$do_action_part00000000(
+                               CUP$Parser$act_num,
+                               CUP$Parser$parser,
+                               CUP$Parser$stack,
+                               CUP$Parser$top);
+    }
+}
+
+}
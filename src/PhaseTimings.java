@@ -0,0 +1,111 @@
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Wall time, CPU time and allocated bytes of every compiler phase in one run, plus sizes of the program
+// (the --timings / --timings=json options of Main). All numbers are for the calling thread.
+public class PhaseTimings {
+    private static final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static class Phase {
+        String name;
+        long wallNanos;
+        long cpuNanos;
+        long allocatedBytes;
+    }
+
+    private final boolean enabled;
+    private final List<Phase> phases = new ArrayList<>();
+    private final Map<String, Long> counts = new LinkedHashMap<>();
+    private Phase current;
+    private long wallStart;
+    private long cpuStart;
+    private long allocatedStart;
+
+    public PhaseTimings(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void start(String phaseName) {
+        if (!enabled) {
+            return;
+        }
+        end();
+        current = new Phase();
+        current.name = phaseName;
+        allocatedStart = threads.getCurrentThreadAllocatedBytes();
+        cpuStart = threads.getCurrentThreadCpuTime();
+        wallStart = System.nanoTime();
+    }
+
+    // closes the running phase, if any
+    public void end() {
+        if (!enabled || current == null) {
+            return;
+        }
+        current.wallNanos = System.nanoTime() - wallStart;
+        current.cpuNanos = threads.getCurrentThreadCpuTime() - cpuStart;
+        current.allocatedBytes = threads.getCurrentThreadAllocatedBytes() - allocatedStart;
+        phases.add(current);
+        current = null;
+    }
+
+    public void count(String name, long value) {
+        if (enabled) {
+            counts.put(name, value);
+        }
+    }
+
+    public void printText(PrintStream out) {
+        end();
+        long wall = 0, cpu = 0, allocated = 0;
+        out.println(String.format("%-20s %12s %12s %14s", "phase", "wall ms", "cpu ms", "allocated KB"));
+        for (Phase phase : phases) {
+            printTextRow(out, phase.name, phase.wallNanos, phase.cpuNanos, phase.allocatedBytes);
+            wall += phase.wallNanos;
+            cpu += phase.cpuNanos;
+            allocated += phase.allocatedBytes;
+        }
+        printTextRow(out, "total", wall, cpu, allocated);
+        for (var count : counts.entrySet()) {
+            out.println(String.format("%-20s %12d", count.getKey(), count.getValue()));
+        }
+    }
+
+    private void printTextRow(PrintStream out, String name, long wallNanos, long cpuNanos, long allocatedBytes) {
+        out.println(String.format("%-20s %12.3f %12.3f %14.1f",
+                name, wallNanos / 1_000_000.0, cpuNanos / 1_000_000.0, allocatedBytes / 1024.0));
+    }
+
+    public void printJson(PrintStream out) {
+        end();
+        StringBuilder builder = new StringBuilder();
+        builder.append("{\"phases\":[");
+        String delim = "";
+        for (Phase phase : phases) {
+            builder.append(delim);
+            builder.append("{\"name\":\"").append(phase.name).append("\"");
+            builder.append(",\"wallNanos\":").append(phase.wallNanos);
+            builder.append(",\"cpuNanos\":").append(phase.cpuNanos);
+            builder.append(",\"allocatedBytes\":").append(phase.allocatedBytes);
+            builder.append("}");
+            delim = ",";
+        }
+        builder.append("],\"counts\":{");
+        delim = "";
+        for (var count : counts.entrySet()) {
+            builder.append(delim).append("\"").append(count.getKey()).append("\":").append(count.getValue());
+            delim = ",";
+        }
+        builder.append("}}");
+        out.println(builder);
+    }
+}
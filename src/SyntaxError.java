@@ -0,0 +1,8 @@
+// A lexing or parsing error in the input program. The message is what the command line prints.
+public class SyntaxError extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public SyntaxError(String message) {
+        super(message);
+    }
+}
@@ -1,15 +1,24 @@
 package ast;
 
 import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlTransient;
 
 public class AssignArrayStatement extends Statement {
     @XmlElement(required = true)
     private String lv;
+
+    // id of lv in the program's NameTable, -1 until the symbol tables are built
+    @XmlTransient
+    private int nameId = -1;
     @XmlElement(required = true)
     private ExprWrapper index;
     @XmlElement(required = true)
     private ExprWrapper rv;
 
+    // slot of the local or formal this refers to in its method, -1 for a field
+    @XmlTransient
+    private int slot = -1;
+
     // for deserialization only!
     public AssignArrayStatement() {
     }
@@ -31,6 +40,16 @@ public class AssignArrayStatement extends Statement {
 
     public void setLv(String lv) {
         this.lv = lv;
+        // the old id no longer names it
+        this.nameId = -1;
+    }
+
+    public int nameId() {
+        return nameId;
+    }
+
+    public void setNameId(int nameId) {
+        this.nameId = nameId;
     }
 
     public Expr index() {
@@ -40,4 +59,12 @@ public class AssignArrayStatement extends Statement {
     public Expr rv() {
         return rv.e;
     }
+
+    public int slot() {
+        return slot;
+    }
+
+    public void setSlot(int slot) {
+        this.slot = slot;
+    }
 }
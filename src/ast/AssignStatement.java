@@ -1,13 +1,22 @@
 package ast;
 
 import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlTransient;
 
 public class AssignStatement extends Statement {
     @XmlElement(required = true)
     private String lv;
+
+    // id of lv in the program's NameTable, -1 until the symbol tables are built
+    @XmlTransient
+    private int nameId = -1;
     @XmlElement(required = true)
     private ExprWrapper rv;
 
+    // slot of the local or formal this refers to in its method, -1 for a field
+    @XmlTransient
+    private int slot = -1;
+
     // for deserialization only!
     public AssignStatement() {
     }
@@ -28,9 +37,27 @@ public class AssignStatement extends Statement {
 
     public void setLv(String lv) {
         this.lv = lv;
+        // the old id no longer names it
+        this.nameId = -1;
+    }
+
+    public int nameId() {
+        return nameId;
+    }
+
+    public void setNameId(int nameId) {
+        this.nameId = nameId;
     }
 
     public Expr rv() {
         return rv.e;
     }
+
+    public int slot() {
+        return slot;
+    }
+
+    public void setSlot(int slot) {
+        this.slot = slot;
+    }
 }
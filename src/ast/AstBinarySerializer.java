@@ -0,0 +1,721 @@
+package ast;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.IntFunction;
+
+// A compact binary alternative to AstXMLSerializer (the marshal-bin action / unmarshal-bin input method).
+//
+// Layout, all fixed size ints are big endian, "varint" is an unsigned LEB128:
+//     header:    int magic, int version, int offset of the string table
+//     program:   line, main class, varint #classes, int[#classes] class offsets, classes
+//     class:     line, string name, string superName, varint #fields, var decls,
+//                varint #methods, int[#methods] method offsets, methods
+//     method:    line, type returnType, string name, varint #formals, formals, varint #vardecls, vardecls,
+//                varint #statements, statements, expr ret
+//     statement, expr, type: byte tag, line, children in the order of the constructor arguments
+//     line:      varint, 0 when the node has no line number and lineNumber + 1 otherwise
+//     string:    varint index into the string table + 1, 0 for null
+//     strings:   varint #strings, every string as varint #bytes followed by its UTF-8 bytes
+// Offsets are from the start of the file. The reader maps the file and decodes a class or a method
+// only when it is taken out of its list, so a compilation touching a few classes never decodes the rest.
+public class AstBinarySerializer {
+    private static final int MAGIC = 0x4D4A4153; // "MJAS"
+    private static final int VERSION = 1;
+
+    // a missing statement, expression or type
+    private static final byte NULL = 0;
+    // statement tags
+    private static final byte BLOCK = 1;
+    private static final byte IF = 2;
+    private static final byte WHILE = 3;
+    private static final byte SYSOUT = 4;
+    private static final byte ASSIGN = 5;
+    private static final byte ASSIGN_ARRAY = 6;
+    // expression tags
+    private static final byte AND = 20;
+    private static final byte LT = 21;
+    private static final byte ADD = 22;
+    private static final byte SUBTRACT = 23;
+    private static final byte MULT = 24;
+    private static final byte ARRAY_ACCESS = 25;
+    private static final byte ARRAY_LENGTH = 26;
+    private static final byte CALL = 27;
+    private static final byte INT_LITERAL = 28;
+    private static final byte TRUE = 29;
+    private static final byte FALSE = 30;
+    private static final byte REF_ID = 31;
+    private static final byte THIS = 32;
+    private static final byte NEW_INT_ARRAY = 33;
+    private static final byte NEW_OBJECT = 34;
+    private static final byte NOT = 35;
+    // type tags
+    private static final byte INT_TYPE = 40;
+    private static final byte BOOL_TYPE = 41;
+    private static final byte INT_ARRAY_TYPE = 42;
+    private static final byte REF_TYPE = 43;
+
+    public void serialize(Program ast, String outfilename) throws IOException {
+        Encoder encoder = new Encoder();
+        encoder.writeProgram(ast);
+        try (var out = new FileOutputStream(new File(outfilename))) {
+            out.write(encoder.buf, 0, encoder.size);
+        }
+    }
+
+    public Program deserialize(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // the mapping stays valid after the channel is closed
+            ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (data.remaining() < 12 || data.getInt(0) != MAGIC) {
+                throw new IOException(file + " is not a binary AST file");
+            }
+            if (data.getInt(4) != VERSION) {
+                throw new IOException(file + " has binary AST version " + data.getInt(4) + ", expected " + VERSION);
+            }
+            return new Decoder(data).readProgram();
+        }
+    }
+
+    private static class Encoder implements Visitor {
+        private byte[] buf = new byte[4096];
+        private int size = 0;
+        private final Map<String, Integer> strings = new LinkedHashMap<>();
+
+        void writeProgram(Program program) {
+            writeInt(MAGIC);
+            writeInt(VERSION);
+            int stringTableOffset = reserveInts(1);
+            program.accept(this);
+
+            patchInt(stringTableOffset, size);
+            writeVarInt(strings.size());
+            for (String s : strings.keySet()) {
+                byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+                writeVarInt(bytes.length);
+                ensure(bytes.length);
+                System.arraycopy(bytes, 0, buf, size, bytes.length);
+                size += bytes.length;
+            }
+        }
+
+        private void ensure(int n) {
+            if (size + n > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, size + n));
+            }
+        }
+
+        private void writeByte(int b) {
+            ensure(1);
+            buf[size++] = (byte) b;
+        }
+
+        private void writeInt(int v) {
+            ensure(4);
+            patchInt(size, v);
+            size += 4;
+        }
+
+        private void patchInt(int position, int v) {
+            buf[position] = (byte) (v >>> 24);
+            buf[position + 1] = (byte) (v >>> 16);
+            buf[position + 2] = (byte) (v >>> 8);
+            buf[position + 3] = (byte) v;
+        }
+
+        // room for n offsets that are filled in once the records they point to are written
+        private int reserveInts(int n) {
+            int position = size;
+            ensure(4 * n);
+            size += 4 * n;
+            return position;
+        }
+
+        private void writeVarInt(int v) {
+            while ((v & ~0x7F) != 0) {
+                writeByte((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            writeByte(v);
+        }
+
+        private void writeLine(AstNode node) {
+            writeVarInt(node.lineNumber == null ? 0 : node.lineNumber + 1);
+        }
+
+        private void writeString(String s) {
+            if (s == null) {
+                writeVarInt(0);
+                return;
+            }
+            Integer index = strings.get(s);
+            if (index == null) {
+                index = strings.size();
+                strings.put(s, index);
+            }
+            writeVarInt(index + 1);
+        }
+
+        // children that are missing in an invalid AST are written as tag 0
+        private void writeNode(AstNode node) {
+            if (node == null) {
+                writeByte(NULL);
+            } else {
+                node.accept(this);
+            }
+        }
+
+        private void writeTagged(int tag, AstNode node) {
+            writeByte(tag);
+            writeLine(node);
+        }
+
+        private void writeStatements(List<Statement> statements) {
+            writeVarInt(statements.size());
+            for (var s : statements) {
+                writeNode(s);
+            }
+        }
+
+        private void visitBinaryExpr(int tag, BinaryExpr e) {
+            writeTagged(tag, e);
+            writeNode(e.e1());
+            writeNode(e.e2());
+        }
+
+        @Override
+        public void visit(Program program) {
+            writeLine(program);
+            program.mainClass().accept(this);
+            int count = program.classDecls().size();
+            writeVarInt(count);
+            int offsets = reserveInts(count);
+            for (int i = 0; i < count; i++) {
+                patchInt(offsets + 4 * i, size);
+                program.classDecls().get(i).accept(this);
+            }
+        }
+
+        @Override
+        public void visit(ClassDecl classDecl) {
+            writeLine(classDecl);
+            writeString(classDecl.name());
+            writeString(classDecl.superName());
+            writeVarInt(classDecl.fields().size());
+            for (var fieldDecl : classDecl.fields()) {
+                fieldDecl.accept(this);
+            }
+            int count = classDecl.methoddecls().size();
+            writeVarInt(count);
+            int offsets = reserveInts(count);
+            for (int i = 0; i < count; i++) {
+                patchInt(offsets + 4 * i, size);
+                classDecl.methoddecls().get(i).accept(this);
+            }
+        }
+
+        @Override
+        public void visit(MainClass mainClass) {
+            writeLine(mainClass);
+            writeString(mainClass.name());
+            writeString(mainClass.argsName());
+            writeNode(mainClass.mainStatement());
+        }
+
+        @Override
+        public void visit(MethodDecl methodDecl) {
+            writeLine(methodDecl);
+            writeNode(methodDecl.returnType());
+            writeString(methodDecl.name());
+            writeVarInt(methodDecl.formals().size());
+            for (var formal : methodDecl.formals()) {
+                formal.accept(this);
+            }
+            writeVarInt(methodDecl.vardecls().size());
+            for (var varDecl : methodDecl.vardecls()) {
+                varDecl.accept(this);
+            }
+            writeStatements(methodDecl.body());
+            writeNode(methodDecl.ret());
+        }
+
+        @Override
+        public void visit(FormalArg formalArg) {
+            writeLine(formalArg);
+            writeNode(formalArg.type());
+            writeString(formalArg.name());
+        }
+
+        @Override
+        public void visit(VarDecl varDecl) {
+            writeLine(varDecl);
+            writeNode(varDecl.type());
+            writeString(varDecl.name());
+        }
+
+        @Override
+        public void visit(BlockStatement blockStatement) {
+            writeTagged(BLOCK, blockStatement);
+            writeStatements(blockStatement.statements());
+        }
+
+        @Override
+        public void visit(IfStatement ifStatement) {
+            writeTagged(IF, ifStatement);
+            writeNode(ifStatement.cond());
+            writeNode(ifStatement.thencase());
+            writeNode(ifStatement.elsecase());
+        }
+
+        @Override
+        public void visit(WhileStatement whileStatement) {
+            writeTagged(WHILE, whileStatement);
+            writeNode(whileStatement.cond());
+            writeNode(whileStatement.body());
+        }
+
+        @Override
+        public void visit(SysoutStatement sysoutStatement) {
+            writeTagged(SYSOUT, sysoutStatement);
+            writeNode(sysoutStatement.arg());
+        }
+
+        @Override
+        public void visit(AssignStatement assignStatement) {
+            writeTagged(ASSIGN, assignStatement);
+            writeString(assignStatement.lv());
+            writeNode(assignStatement.rv());
+        }
+
+        @Override
+        public void visit(AssignArrayStatement assignArrayStatement) {
+            writeTagged(ASSIGN_ARRAY, assignArrayStatement);
+            writeString(assignArrayStatement.lv());
+            writeNode(assignArrayStatement.index());
+            writeNode(assignArrayStatement.rv());
+        }
+
+        @Override
+        public void visit(AndExpr e) {
+            visitBinaryExpr(AND, e);
+        }
+
+        @Override
+        public void visit(LtExpr e) {
+            visitBinaryExpr(LT, e);
+        }
+
+        @Override
+        public void visit(AddExpr e) {
+            visitBinaryExpr(ADD, e);
+        }
+
+        @Override
+        public void visit(SubtractExpr e) {
+            visitBinaryExpr(SUBTRACT, e);
+        }
+
+        @Override
+        public void visit(MultExpr e) {
+            visitBinaryExpr(MULT, e);
+        }
+
+        @Override
+        public void visit(ArrayAccessExpr e) {
+            writeTagged(ARRAY_ACCESS, e);
+            writeNode(e.arrayExpr());
+            writeNode(e.indexExpr());
+        }
+
+        @Override
+        public void visit(ArrayLengthExpr e) {
+            writeTagged(ARRAY_LENGTH, e);
+            writeNode(e.arrayExpr());
+        }
+
+        @Override
+        public void visit(MethodCallExpr e) {
+            writeTagged(CALL, e);
+            writeNode(e.ownerExpr());
+            writeString(e.methodId());
+            List<Expr> actuals = e.actuals();
+            writeVarInt(actuals.size());
+            for (Expr arg : actuals) {
+                writeNode(arg);
+            }
+        }
+
+        @Override
+        public void visit(IntegerLiteralExpr e) {
+            writeTagged(INT_LITERAL, e);
+            writeInt(e.num());
+        }
+
+        @Override
+        public void visit(TrueExpr e) {
+            writeTagged(TRUE, e);
+        }
+
+        @Override
+        public void visit(FalseExpr e) {
+            writeTagged(FALSE, e);
+        }
+
+        @Override
+        public void visit(IdentifierExpr e) {
+            writeTagged(REF_ID, e);
+            writeString(e.id());
+        }
+
+        @Override
+        public void visit(ThisExpr e) {
+            writeTagged(THIS, e);
+        }
+
+        @Override
+        public void visit(NewIntArrayExpr e) {
+            writeTagged(NEW_INT_ARRAY, e);
+            writeNode(e.lengthExpr());
+        }
+
+        @Override
+        public void visit(NewObjectExpr e) {
+            writeTagged(NEW_OBJECT, e);
+            writeString(e.classId());
+        }
+
+        @Override
+        public void visit(NotExpr e) {
+            writeTagged(NOT, e);
+            writeNode(e.e());
+        }
+
+        @Override
+        public void visit(IntAstType t) {
+            writeTagged(INT_TYPE, t);
+        }
+
+        @Override
+        public void visit(BoolAstType t) {
+            writeTagged(BOOL_TYPE, t);
+        }
+
+        @Override
+        public void visit(IntArrayAstType t) {
+            writeTagged(INT_ARRAY_TYPE, t);
+        }
+
+        @Override
+        public void visit(RefType t) {
+            writeTagged(REF_TYPE, t);
+            writeString(t.id());
+        }
+    }
+
+    // Every read goes through its own duplicate of the mapped buffer, so lazy lists can be
+    // materialized from any thread
+    private static class Decoder {
+        private final ByteBuffer data;
+        private final String[] strings;
+
+        Decoder(ByteBuffer data) {
+            this.data = data;
+            ByteBuffer in = at(data.getInt(8));
+            strings = new String[readVarInt(in)];
+            for (int i = 0; i < strings.length; i++) {
+                byte[] bytes = new byte[readVarInt(in)];
+                in.get(bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+        }
+
+        private ByteBuffer at(int offset) {
+            return data.duplicate().position(offset);
+        }
+
+        private static int readVarInt(ByteBuffer in) {
+            int v = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = in.get();
+                v |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return v;
+        }
+
+        private static Integer readLine(ByteBuffer in) {
+            int line = readVarInt(in);
+            return line == 0 ? null : line - 1;
+        }
+
+        private String readString(ByteBuffer in) {
+            int index = readVarInt(in);
+            return index == 0 ? null : strings[index - 1];
+        }
+
+        private static <T extends AstNode> T withLine(T node, Integer line) {
+            node.lineNumber = line;
+            return node;
+        }
+
+        private static int[] readOffsets(ByteBuffer in, int count) {
+            int[] offsets = new int[count];
+            for (int i = 0; i < count; i++) {
+                offsets[i] = in.getInt();
+            }
+            return offsets;
+        }
+
+        Program readProgram() {
+            ByteBuffer in = at(12);
+            Integer line = readLine(in);
+            MainClass mainClass = readMainClass(in);
+            int[] offsets = readOffsets(in, readVarInt(in));
+            return withLine(new Program(mainClass, new LazyList<>(offsets, this::readClassDecl)), line);
+        }
+
+        private MainClass readMainClass(ByteBuffer in) {
+            Integer line = readLine(in);
+            String name = readString(in);
+            String argsName = readString(in);
+            return withLine(new MainClass(name, argsName, readStatement(in)), line);
+        }
+
+        private ClassDecl readClassDecl(int offset) {
+            ByteBuffer in = at(offset);
+            Integer line = readLine(in);
+            String name = readString(in);
+            String superName = readString(in);
+            int fieldCount = readVarInt(in);
+            List<VarDecl> fields = new ArrayList<>(fieldCount);
+            for (int i = 0; i < fieldCount; i++) {
+                fields.add(readVarDecl(in));
+            }
+            int[] offsets = readOffsets(in, readVarInt(in));
+            return withLine(new ClassDecl(name, superName, fields, new LazyList<>(offsets, this::readMethodDecl)), line);
+        }
+
+        private MethodDecl readMethodDecl(int offset) {
+            ByteBuffer in = at(offset);
+            Integer line = readLine(in);
+            AstType returnType = readType(in);
+            String name = readString(in);
+            int formalCount = readVarInt(in);
+            List<FormalArg> formals = new ArrayList<>(formalCount);
+            for (int i = 0; i < formalCount; i++) {
+                Integer formalLine = readLine(in);
+                AstType type = readType(in);
+                formals.add(withLine(new FormalArg(type, readString(in), 0), formalLine));
+            }
+            int varDeclCount = readVarInt(in);
+            List<VarDecl> vardecls = new ArrayList<>(varDeclCount);
+            for (int i = 0; i < varDeclCount; i++) {
+                vardecls.add(readVarDecl(in));
+            }
+            List<Statement> body = readStatements(in);
+            Expr ret = readExpr(in);
+            return withLine(new MethodDecl(returnType, name, formals, vardecls, body, ret, 0), line);
+        }
+
+        private VarDecl readVarDecl(ByteBuffer in) {
+            Integer line = readLine(in);
+            AstType type = readType(in);
+            return withLine(new VarDecl(type, readString(in), 0), line);
+        }
+
+        private List<Statement> readStatements(ByteBuffer in) {
+            int count = readVarInt(in);
+            List<Statement> statements = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                statements.add(readStatement(in));
+            }
+            return statements;
+        }
+
+        private Statement readStatement(ByteBuffer in) {
+            byte tag = in.get();
+            if (tag == NULL) {
+                return null;
+            }
+            Integer line = readLine(in);
+            Statement statement;
+            switch (tag) {
+                case BLOCK:
+                    statement = new BlockStatement(readStatements(in));
+                    break;
+                case IF: {
+                    Expr cond = readExpr(in);
+                    Statement thencase = readStatement(in);
+                    statement = new IfStatement(cond, thencase, readStatement(in));
+                    break;
+                }
+                case WHILE: {
+                    Expr cond = readExpr(in);
+                    statement = new WhileStatement(cond, readStatement(in));
+                    break;
+                }
+                case SYSOUT:
+                    statement = new SysoutStatement(readExpr(in));
+                    break;
+                case ASSIGN: {
+                    String lv = readString(in);
+                    statement = new AssignStatement(lv, readExpr(in));
+                    break;
+                }
+                case ASSIGN_ARRAY: {
+                    String lv = readString(in);
+                    Expr index = readExpr(in);
+                    statement = new AssignArrayStatement(lv, index, readExpr(in));
+                    break;
+                }
+                default:
+                    throw new IllegalStateException("bad statement tag " + tag + " at " + (in.position() - 1));
+            }
+            return withLine(statement, line);
+        }
+
+        private Expr readExpr(ByteBuffer in) {
+            byte tag = in.get();
+            if (tag == NULL) {
+                return null;
+            }
+            Integer line = readLine(in);
+            Expr expr;
+            switch (tag) {
+                case AND: {
+                    Expr e1 = readExpr(in);
+                    expr = new AndExpr(e1, readExpr(in));
+                    break;
+                }
+                case LT: {
+                    Expr e1 = readExpr(in);
+                    expr = new LtExpr(e1, readExpr(in));
+                    break;
+                }
+                case ADD: {
+                    Expr e1 = readExpr(in);
+                    expr = new AddExpr(e1, readExpr(in));
+                    break;
+                }
+                case SUBTRACT: {
+                    Expr e1 = readExpr(in);
+                    expr = new SubtractExpr(e1, readExpr(in));
+                    break;
+                }
+                case MULT: {
+                    Expr e1 = readExpr(in);
+                    expr = new MultExpr(e1, readExpr(in));
+                    break;
+                }
+                case ARRAY_ACCESS: {
+                    Expr arrayExpr = readExpr(in);
+                    expr = new ArrayAccessExpr(arrayExpr, readExpr(in));
+                    break;
+                }
+                case ARRAY_LENGTH:
+                    expr = new ArrayLengthExpr(readExpr(in));
+                    break;
+                case CALL: {
+                    Expr ownerExpr = readExpr(in);
+                    String methodId = readString(in);
+                    int count = readVarInt(in);
+                    List<Expr> actuals = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        actuals.add(readExpr(in));
+                    }
+                    expr = new MethodCallExpr(ownerExpr, methodId, actuals);
+                    break;
+                }
+                case INT_LITERAL:
+                    expr = new IntegerLiteralExpr(in.getInt());
+                    break;
+                case TRUE:
+                    expr = new TrueExpr();
+                    break;
+                case FALSE:
+                    expr = new FalseExpr();
+                    break;
+                case REF_ID:
+                    expr = new IdentifierExpr(readString(in));
+                    break;
+                case THIS:
+                    expr = new ThisExpr();
+                    break;
+                case NEW_INT_ARRAY:
+                    expr = new NewIntArrayExpr(readExpr(in));
+                    break;
+                case NEW_OBJECT:
+                    expr = new NewObjectExpr(readString(in));
+                    break;
+                case NOT:
+                    expr = new NotExpr(readExpr(in));
+                    break;
+                default:
+                    throw new IllegalStateException("bad expression tag " + tag + " at " + (in.position() - 1));
+            }
+            return withLine(expr, line);
+        }
+
+        private AstType readType(ByteBuffer in) {
+            byte tag = in.get();
+            if (tag == NULL) {
+                return null;
+            }
+            Integer line = readLine(in);
+            AstType type;
+            switch (tag) {
+                case INT_TYPE:
+                    type = new IntAstType();
+                    break;
+                case BOOL_TYPE:
+                    type = new BoolAstType();
+                    break;
+                case INT_ARRAY_TYPE:
+                    type = new IntArrayAstType();
+                    break;
+                case REF_TYPE:
+                    type = new RefType(readString(in));
+                    break;
+                default:
+                    throw new IllegalStateException("bad type tag " + tag + " at " + (in.position() - 1));
+            }
+            return withLine(type, line);
+        }
+    }
+
+    // A list of records of the file, each decoded the first time it is asked for and kept from then on
+    // (so changes made to a node, e.g. by rename, stay visible)
+    private static class LazyList<T> extends AbstractList<T> {
+        private final int[] offsets;
+        private final Object[] nodes;
+        private final IntFunction<T> decode;
+
+        LazyList(int[] offsets, IntFunction<T> decode) {
+            this.offsets = offsets;
+            this.nodes = new Object[offsets.length];
+            this.decode = decode;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public synchronized T get(int index) {
+            if (nodes[index] == null) {
+                nodes[index] = decode.apply(offsets[index]);
+            }
+            return (T) nodes[index];
+        }
+
+        @Override
+        public int size() {
+            return offsets.length;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package ast;
+
+// Counts the nodes of an AST (types included) - used for the --timings report
+public class AstCountVisitor implements Visitor {
+    private int count = 0;
+
+    public int getCount() {
+        return count;
+    }
+
+    private void visitBinaryExpr(BinaryExpr e) {
+        count++;
+        e.e1().accept(this);
+        e.e2().accept(this);
+    }
+
+    @Override
+    public void visit(Program program) {
+        count++;
+        program.mainClass().accept(this);
+        for (ClassDecl classdecl : program.classDecls()) {
+            classdecl.accept(this);
+        }
+    }
+
+    @Override
+    public void visit(ClassDecl classDecl) {
+        count++;
+        for (var fieldDecl : classDecl.fields()) {
+            fieldDecl.accept(this);
+        }
+        for (var methodDecl : classDecl.methoddecls()) {
+            methodDecl.accept(this);
+        }
+    }
+
+    @Override
+    public void visit(MainClass mainClass) {
+        count++;
+        mainClass.mainStatement().accept(this);
+    }
+
+    @Override
+    public void visit(MethodDecl methodDecl) {
+        count++;
+        methodDecl.returnType().accept(this);
+        for (var formal : methodDecl.formals()) {
+            formal.accept(this);
+        }
+        for (var varDecl : methodDecl.vardecls()) {
+            varDecl.accept(this);
+        }
+        for (var stmt : methodDecl.body()) {
+            stmt.accept(this);
+        }
+        methodDecl.ret().accept(this);
+    }
+
+    @Override
+    public void visit(FormalArg formalArg) {
+        count++;
+        formalArg.type().accept(this);
+    }
+
+    @Override
+    public void visit(VarDecl varDecl) {
+        count++;
+        varDecl.type().accept(this);
+    }
+
+    @Override
+    public void visit(BlockStatement blockStatement) {
+        count++;
+        for (var s : blockStatement.statements()) {
+            s.accept(this);
+        }
+    }
+
+    @Override
+    public void visit(IfStatement ifStatement) {
+        count++;
+        ifStatement.cond().accept(this);
+        ifStatement.thencase().accept(this);
+        ifStatement.elsecase().accept(this);
+    }
+
+    @Override
+    public void visit(WhileStatement whileStatement) {
+        count++;
+        whileStatement.cond().accept(this);
+        whileStatement.body().accept(this);
+    }
+
+    @Override
+    public void visit(SysoutStatement sysoutStatement) {
+        count++;
+        sysoutStatement.arg().accept(this);
+    }
+
+    @Override
+    public void visit(AssignStatement assignStatement) {
+        count++;
+        assignStatement.rv().accept(this);
+    }
+
+    @Override
+    public void visit(AssignArrayStatement assignArrayStatement) {
+        count++;
+        assignArrayStatement.index().accept(this);
+        assignArrayStatement.rv().accept(this);
+    }
+
+    @Override
+    public void visit(AndExpr e) {
+        visitBinaryExpr(e);
+    }
+
+    @Override
+    public void visit(LtExpr e) {
+        visitBinaryExpr(e);
+    }
+
+    @Override
+    public void visit(AddExpr e) {
+        visitBinaryExpr(e);
+    }
+
+    @Override
+    public void visit(SubtractExpr e) {
+        visitBinaryExpr(e);
+    }
+
+    @Override
+    public void visit(MultExpr e) {
+        visitBinaryExpr(e);
+    }
+
+    @Override
+    public void visit(ArrayAccessExpr e) {
+        count++;
+        e.arrayExpr().accept(this);
+        e.indexExpr().accept(this);
+    }
+
+    @Override
+    public void visit(ArrayLengthExpr e) {
+        count++;
+        e.arrayExpr().accept(this);
+    }
+
+    @Override
+    public void visit(MethodCallExpr e) {
+        count++;
+        e.ownerExpr().accept(this);
+        for (Expr arg : e.actuals()) {
+            arg.accept(this);
+        }
+    }
+
+    @Override
+    public void visit(IntegerLiteralExpr e) {
+        count++;
+    }
+
+    @Override
+    public void visit(TrueExpr e) {
+        count++;
+    }
+
+    @Override
+    public void visit(FalseExpr e) {
+        count++;
+    }
+
+    @Override
+    public void visit(IdentifierExpr e) {
+        count++;
+    }
+
+    @Override
+    public void visit(ThisExpr e) {
+        count++;
+    }
+
+    @Override
+    public void visit(NewIntArrayExpr e) {
+        count++;
+        e.lengthExpr().accept(this);
+    }
+
+    @Override
+    public void visit(NewObjectExpr e) {
+        count++;
+    }
+
+    @Override
+    public void visit(NotExpr e) {
+        count++;
+        e.e().accept(this);
+    }
+
+    @Override
+    public void visit(IntAstType t) {
+        count++;
+    }
+
+    @Override
+    public void visit(BoolAstType t) {
+        count++;
+    }
+
+    @Override
+    public void visit(IntArrayAstType t) {
+        count++;
+    }
+
+    @Override
+    public void visit(RefType t) {
+        count++;
+    }
+}
@@ -0,0 +1,301 @@
+package ast;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+// SHA-256 of the structure of a subtree - node kinds, names and literals, but not line numbers, so
+// moving code around does not change it. Also collects the class names the subtree mentions as a
+// type or in a new expression. Used as a cache key by SemanticCache.
+public class AstHashVisitor implements Visitor {
+    // the encoding of the subtree, hashed at once - one digest update per node field is far slower
+    private byte[] bytes = new byte[256];
+    private int length;
+    private final Set<String> referencedClasses = new HashSet<>();
+
+    // the hash of everything visited so far
+    public byte[] digest() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(bytes, 0, length);
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public Set<String> getReferencedClasses() {
+        return referencedClasses;
+    }
+
+    private void ensure(int extra) {
+        if (length + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+        }
+    }
+
+    private void tag(int tag) {
+        ensure(1);
+        bytes[length++] = (byte) tag;
+    }
+
+    // UTF-16 code units, no need for a proper encoding
+    private void text(String text) {
+        if (text == null) {
+            number(-1);
+            return;
+        }
+        number(text.length());
+        ensure(2 * text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            bytes[length++] = (byte) (c >>> 8);
+            bytes[length++] = (byte) c;
+        }
+    }
+
+    private void number(int number) {
+        ensure(4);
+        bytes[length++] = (byte) (number >>> 24);
+        bytes[length++] = (byte) (number >>> 16);
+        bytes[length++] = (byte) (number >>> 8);
+        bytes[length++] = (byte) number;
+    }
+
+    private void visitBinaryExpr(int tag, BinaryExpr e) {
+        tag(tag);
+        e.e1().accept(this);
+        e.e2().accept(this);
+    }
+
+    @Override
+    public void visit(Program program) {
+        tag(1);
+        program.mainClass().accept(this);
+        number(program.classDecls().size());
+        for (ClassDecl classdecl : program.classDecls()) {
+            classdecl.accept(this);
+        }
+    }
+
+    @Override
+    public void visit(ClassDecl classDecl) {
+        tag(2);
+        text(classDecl.name());
+        text(classDecl.superName());
+        number(classDecl.fields().size());
+        for (var fieldDecl : classDecl.fields()) {
+            fieldDecl.accept(this);
+        }
+        number(classDecl.methoddecls().size());
+        for (var methodDecl : classDecl.methoddecls()) {
+            methodDecl.accept(this);
+        }
+    }
+
+    @Override
+    public void visit(MainClass mainClass) {
+        tag(3);
+        text(mainClass.name());
+        text(mainClass.argsName());
+        mainClass.mainStatement().accept(this);
+    }
+
+    @Override
+    public void visit(MethodDecl methodDecl) {
+        tag(4);
+        methodDecl.returnType().accept(this);
+        text(methodDecl.name());
+        number(methodDecl.formals().size());
+        for (var formal : methodDecl.formals()) {
+            formal.accept(this);
+        }
+        number(methodDecl.vardecls().size());
+        for (var varDecl : methodDecl.vardecls()) {
+            varDecl.accept(this);
+        }
+        number(methodDecl.body().size());
+        for (var stmt : methodDecl.body()) {
+            stmt.accept(this);
+        }
+        methodDecl.ret().accept(this);
+    }
+
+    @Override
+    public void visit(FormalArg formalArg) {
+        tag(5);
+        formalArg.type().accept(this);
+        text(formalArg.name());
+    }
+
+    @Override
+    public void visit(VarDecl varDecl) {
+        tag(6);
+        varDecl.type().accept(this);
+        text(varDecl.name());
+    }
+
+    @Override
+    public void visit(BlockStatement blockStatement) {
+        tag(7);
+        number(blockStatement.statements().size());
+        for (var statement : blockStatement.statements()) {
+            statement.accept(this);
+        }
+    }
+
+    @Override
+    public void visit(IfStatement ifStatement) {
+        tag(8);
+        ifStatement.cond().accept(this);
+        ifStatement.thencase().accept(this);
+        ifStatement.elsecase().accept(this);
+    }
+
+    @Override
+    public void visit(WhileStatement whileStatement) {
+        tag(9);
+        whileStatement.cond().accept(this);
+        whileStatement.body().accept(this);
+    }
+
+    @Override
+    public void visit(SysoutStatement sysoutStatement) {
+        tag(10);
+        sysoutStatement.arg().accept(this);
+    }
+
+    @Override
+    public void visit(AssignStatement assignStatement) {
+        tag(11);
+        text(assignStatement.lv());
+        assignStatement.rv().accept(this);
+    }
+
+    @Override
+    public void visit(AssignArrayStatement assignArrayStatement) {
+        tag(12);
+        text(assignArrayStatement.lv());
+        assignArrayStatement.index().accept(this);
+        assignArrayStatement.rv().accept(this);
+    }
+
+    @Override
+    public void visit(AndExpr e) {
+        visitBinaryExpr(13, e);
+    }
+
+    @Override
+    public void visit(LtExpr e) {
+        visitBinaryExpr(14, e);
+    }
+
+    @Override
+    public void visit(AddExpr e) {
+        visitBinaryExpr(15, e);
+    }
+
+    @Override
+    public void visit(SubtractExpr e) {
+        visitBinaryExpr(16, e);
+    }
+
+    @Override
+    public void visit(MultExpr e) {
+        visitBinaryExpr(17, e);
+    }
+
+    @Override
+    public void visit(ArrayAccessExpr e) {
+        tag(18);
+        e.arrayExpr().accept(this);
+        e.indexExpr().accept(this);
+    }
+
+    @Override
+    public void visit(ArrayLengthExpr e) {
+        tag(19);
+        e.arrayExpr().accept(this);
+    }
+
+    @Override
+    public void visit(MethodCallExpr e) {
+        tag(20);
+        e.ownerExpr().accept(this);
+        text(e.methodId());
+        number(e.actuals().size());
+        for (Expr arg : e.actuals()) {
+            arg.accept(this);
+        }
+    }
+
+    @Override
+    public void visit(IntegerLiteralExpr e) {
+        tag(21);
+        number(e.num());
+    }
+
+    @Override
+    public void visit(TrueExpr e) {
+        tag(22);
+    }
+
+    @Override
+    public void visit(FalseExpr e) {
+        tag(23);
+    }
+
+    @Override
+    public void visit(IdentifierExpr e) {
+        tag(24);
+        text(e.id());
+    }
+
+    @Override
+    public void visit(ThisExpr e) {
+        tag(25);
+    }
+
+    @Override
+    public void visit(NewIntArrayExpr e) {
+        tag(26);
+        e.lengthExpr().accept(this);
+    }
+
+    @Override
+    public void visit(NewObjectExpr e) {
+        tag(27);
+        text(e.classId());
+        referencedClasses.add(e.classId());
+    }
+
+    @Override
+    public void visit(NotExpr e) {
+        tag(28);
+        e.e().accept(this);
+    }
+
+    @Override
+    public void visit(IntAstType t) {
+        tag(29);
+    }
+
+    @Override
+    public void visit(BoolAstType t) {
+        tag(30);
+    }
+
+    @Override
+    public void visit(IntArrayAstType t) {
+        tag(31);
+    }
+
+    @Override
+    public void visit(RefType t) {
+        tag(32);
+        text(t.id());
+        referencedClasses.add(t.id());
+    }
+}
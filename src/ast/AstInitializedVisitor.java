@@ -1,5 +1,6 @@
 package ast;
 
+import symbolTable.CompilationContext;
 import symbolTable.Symbol;
 import symbolTable.SymbolTable;
 import symbolTable.SymbolTableUtils;
@@ -9,68 +10,43 @@ import java.util.*;
 
 public class AstInitializedVisitor implements Visitor {
 
+    private final SymbolTableUtils symbolTableUtils;
     private String errorMsg = "";
     private boolean error = false;
     private String currentMethod;
     private String currentClass;
-    private Map<String, Set<String>> classFields = new HashMap<>();
 
-    private Stack<Set<String>> initVars = new Stack<>();
+    // Definite initialization of the current method's locals and formals, one bit per slot. Assignments
+    // only add bits, the meet where paths join keeps the bits set on all of them.
+    private long[] initialized = new long[0];
 
-    private Set<String> removeTop() {
-        return initVars.pop();
+    private static long[] newState(int slots) {
+        return new long[(slots + 63) >>> 6];
     }
 
-    private void pushScope() {
-        Set<String> set = new HashSet<>();
-        if (!initVars.isEmpty()) {
-            Set<String> prev = initVars.peek();
-            set.addAll(prev);
-        }
-        initVars.push(set);
-    }
-
-    private void pushVar(String varName) {
-        Set<String> set = initVars.peek();
-        set.add(varName);
-    }
-
-    private void pushVarSet(Set<String> varSet) {
-        Set<String> set = initVars.peek();
-        set.addAll(varSet);
+    private void setInitialized(int slot) {
+        initialized[slot >>> 6] |= 1L << slot;
     }
 
-    private boolean isInit(String varName) {
-        Set<String> set = initVars.peek();
-        if (set.contains(varName)) {
-            return true;
-        } else if (classFields.get(currentClass).contains(varName) && !SymbolTableUtils.getSymbolTableClassWithMethodMap().get(currentMethod + currentClass).getEntries().containsKey(SymbolTable.createKey(varName, Type.VARIABLE))) {
-            return true;
+    private static void meet(long[] into, long[] other) {
+        for (int i = 0; i < into.length; i++) {
+            into[i] &= other[i];
         }
-        return false;
     }
 
-    private void addClassesFields() {
-        for (Map.Entry<String, SymbolTable> classEntry : SymbolTableUtils.getSymbolTableClassMap_real().entrySet()) {
-            addClassField(classEntry.getKey(), classEntry.getValue());
+    // slot is the local's or formal's slot in the current method, -1 for a field
+    private boolean isInit(String varName, int slot) {
+        if (slot >= 0) {
+            return (initialized[slot >>> 6] & (1L << slot)) != 0;
         }
+        // fields are always initialized
+        return symbolTableUtils.getClassMembers(currentClass).getField(varName) != null;
     }
 
-    private void addClassField(String classId, SymbolTable classSymbolTable) {
-        Set<String> setFields = new HashSet<>();
-        while (classSymbolTable != null) {
-            for (Map.Entry<String, Symbol> entry : classSymbolTable.getEntries().entrySet()) {
-                Symbol symbol = entry.getValue();
-                if (symbol.getType() == Type.VARIABLE) {
-                    setFields.add(symbol.getSymbolName());
-                }
-            }
-            classSymbolTable = classSymbolTable.getParentSymbolTable();
-        }
-        classFields.put(classId, setFields);
+    public AstInitializedVisitor(CompilationContext context) {
+        this.symbolTableUtils = context.getSymbolTableUtils();
     }
 
-
     // sets error
     private void setError(String errorString) {
         error = true;
@@ -86,18 +62,12 @@ public class AstInitializedVisitor implements Visitor {
     }
 
     private Symbol getSymbol(String methodName, SymbolTable currentSymbolTable) {
-        for (Map.Entry<String, Symbol> entry : currentSymbolTable.getEntries().entrySet()) {
-            if (entry.getValue().getSymbolName().equals(methodName)) {
-                return entry.getValue();
-            }
-        }
-        return null;
+        return currentSymbolTable.findSymbolNamed(methodName);
     }
 
 
     @Override
     public void visit(Program program) {
-        addClassesFields();
         program.mainClass().accept(this);
         for (ClassDecl classdecl : program.classDecls()) {
             classdecl.accept(this);
@@ -108,21 +78,27 @@ public class AstInitializedVisitor implements Visitor {
     public void visit(ClassDecl classDecl) {
         currentClass = classDecl.name();
         for (var methodDecl : classDecl.methoddecls()) {
-            currentMethod = methodDecl.name();
-            methodDecl.accept(this);
+            checkMethod(classDecl.name(), methodDecl);
         }
     }
 
+    // Checks a single method of class classId - the unit of work of ParallelSemanticChecker
+    public void checkMethod(String classId, MethodDecl methodDecl) {
+        currentClass = classId;
+        currentMethod = methodDecl.name();
+        methodDecl.accept(this);
+    }
+
     @Override
     public void visit(MainClass mainClass) {
-        pushScope();
+        // the main class has no locals
+        initialized = newState(0);
         mainClass.mainStatement().accept(this);
-        removeTop();
     }
 
     @Override
     public void visit(MethodDecl methodDecl) {
-        pushScope();
+        initialized = newState(methodDecl.formals().size() + methodDecl.vardecls().size());
         // Formals are always initialized
         for (FormalArg formal : methodDecl.formals()) {
             formal.accept(this);
@@ -139,12 +115,11 @@ public class AstInitializedVisitor implements Visitor {
 
         // make sure return type is initialized
         methodDecl.ret().accept(this);
-        removeTop();
     }
 
     @Override
     public void visit(FormalArg formalArg) {
-        pushVar(formalArg.name());
+        setInitialized(formalArg.slot());
     }
 
     @Override
@@ -161,37 +136,37 @@ public class AstInitializedVisitor implements Visitor {
     @Override
     public void visit(IfStatement ifStatement) {
         ifStatement.cond().accept(this);
+        long[] beforeBranches = initialized.clone();
 
         // then statements
-        // push then scope
-        pushScope();
         ifStatement.thencase().accept(this);
-        // remove scope
-        Set<String> thenCaseVars = removeTop();
+        long[] afterThen = initialized;
 
-        // else statements
-        // push then scope
-        pushScope();
+        // else statements, from the state before the branches
+        initialized = beforeBranches;
         ifStatement.elsecase().accept(this);
-        // remove scope
-        Set<String> elseCaseVars = removeTop();
-        elseCaseVars.retainAll(thenCaseVars);
 
-        // push intersection vars to current scope
-        pushVarSet(elseCaseVars);
+        // initialized after the if statement if it is on both branches
+        meet(initialized, afterThen);
     }
 
     @Override
     public void visit(WhileStatement whileStatement) {
-        // accept cond
-        whileStatement.cond().accept(this);
-
-        // while statements
-        // push then scope
-        pushScope();
-        whileStatement.body().accept(this);
-        // remove scope
-        removeTop();
+        // the state at the loop head is the meet of entering the loop and of coming back from the body;
+        // iterate cond and body until it is stable (assignments only add bits, so this takes one round)
+        long[] head = initialized;
+        while (true) {
+            initialized = head.clone();
+            whileStatement.cond().accept(this);
+            whileStatement.body().accept(this);
+            meet(initialized, head);
+            if (Arrays.equals(initialized, head)) {
+                break;
+            }
+            head = initialized;
+        }
+        // the loop is left from its head, after cond
+        initialized = head;
     }
 
     @Override
@@ -204,7 +179,10 @@ public class AstInitializedVisitor implements Visitor {
     public void visit(AssignStatement assignStatement) {
         // check if rv is initialized is inside
         assignStatement.rv().accept(this);
-        pushVar(assignStatement.lv());
+        // fields are initialized already
+        if (assignStatement.slot() >= 0) {
+            setInitialized(assignStatement.slot());
+        }
     }
 
     @Override
@@ -216,7 +194,7 @@ public class AstInitializedVisitor implements Visitor {
         assignArrayStatement.rv().accept(this);
 
         // push lv to init vars
-        if(!isInit(assignArrayStatement.lv())) {
+        if(!isInit(assignArrayStatement.lv(), assignArrayStatement.slot())) {
             setError("UnInitialized variable: " + assignArrayStatement.lv());
         }
 
@@ -292,7 +270,7 @@ public class AstInitializedVisitor implements Visitor {
 
     @Override
     public void visit(IdentifierExpr e) {
-        if (!isInit(e.id())) {
+        if (!isInit(e.id(), e.slot())) {
             setError("UnInitialized variable: " + e.id());
         }
     }
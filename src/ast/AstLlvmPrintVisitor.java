@@ -1,21 +1,156 @@
 package ast;
 
+import symbolTable.CompilationContext;
 import symbolTable.Symbol;
 import symbolTable.SymbolTable;
-import symbolTable.SymbolTableUtils;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
+// Prints a program as LLVM IR. Fields live in the object, locals and formals are SSA values: the visitor
+// tracks the current value of every slot while it goes through a method and joins the values of the two
+// branches of an if, and of the way into a loop and around it, with phi nodes. With ssa off, every local
+// and formal is an alloca'd stack slot that is loaded on each use and stored on each assignment instead.
 public class AstLlvmPrintVisitor implements Visitor {
+    private final CompilationContext context;
     private StringBuilder builder = new StringBuilder();
+    // where finished functions go, null keeps them in module
+    private final Writer out;
+    private final StringBuilder module = new StringBuilder();
     private int ifCnt = 0;
     private int regCnt = 0;
     private String regType;
+    // the result of an inlined call, which need not be in a register of its own, until the next register
+    private String lastValue;
     private String currentClass;
     private String currentMethod;
+    private SymbolTable currentMethodSymbolTable;
     private String currentRegisterToAssign;
     private String currentRegisterToStoreTo;
     private String currentCallocRegister;
+    private final boolean ssa;
+    // calls that can only reach one method are direct calls
+    private final boolean devirtualize;
+    private int callCount;
+    private int devirtualizedCallCount;
+    // the register holding this, the receiver while an inlined body is printed
+    private String thisRegister = "%this";
+    // direct calls to methods of at most maxInlineSize AST nodes are replaced by their body,
+    // down to maxInlineDepth nested bodies
+    private int maxInlineSize = DEFAULT_INLINE_SIZE;
+    private int maxInlineDepth = DEFAULT_INLINE_DEPTH;
+    // every method by "Class.method"
+    private final Map<String, MethodDecl> methodDecls = new HashMap<>();
+    // the method being printed ("main" for main), then the methods whose bodies are inlined into it, as "Class.method"
+    private final List<String> inlineStack = new ArrayList<>();
+    private final List<String> inlineReport = new ArrayList<>();
+    // objects and arrays are bump allocated from zeroed chunks rather than calloc'd one by one
+    private boolean arena = true;
+    // the program prints the arena's chunk, large block and byte counts to stderr when it exits
+    private boolean arenaStats = false;
+
+    public static final int DEFAULT_INLINE_SIZE = 8;
+    public static final int DEFAULT_INLINE_DEPTH = 2;
+    // with ssa, the current value of each local and formal by slot, null while it is undefined
+    private String[] definitions;
+    // the block instructions are appended to
+    private String currentBlock;
+
+    public AstLlvmPrintVisitor(CompilationContext context) {
+        this(context, null);
+    }
+
+    public AstLlvmPrintVisitor(CompilationContext context, Writer out) {
+        this(context, out, true);
+    }
+
+    public AstLlvmPrintVisitor(CompilationContext context, Writer out, boolean ssa) {
+        this(context, out, ssa, true);
+    }
+
+    public AstLlvmPrintVisitor(CompilationContext context, Writer out, boolean ssa, boolean devirtualize) {
+        this.context = context;
+        this.out = out;
+        this.ssa = ssa;
+        this.devirtualize = devirtualize;
+    }
+
+    public int getCallCount() {
+        return callCount;
+    }
+
+    public int getDevirtualizedCallCount() {
+        return devirtualizedCallCount;
+    }
+
+    // 0 for either turns inlining off
+    public void setInlining(int maxSize, int maxDepth) {
+        this.maxInlineSize = maxSize;
+        this.maxInlineDepth = maxDepth;
+    }
+
+    public void setArena(boolean arena, boolean arenaStats) {
+        this.arena = arena;
+        this.arenaStats = arena && arenaStats;
+    }
+
+    // one "Caller.method: inlined Callee.method" line per inlined call, in the order they were printed
+    public List<String> getInlineReport() {
+        return inlineReport;
+    }
+
+    // starts block ifN
+    private void label(int label) {
+        builder.append("if").append(label).append(":\n");
+        currentBlock = "%if" + label;
+    }
+
+    // starts a function body; with ssa the first block gets a name, phi nodes may refer to it
+    private void entry(int slots) {
+        if (ssa) {
+            builder.append("entry:\n");
+            currentBlock = "%entry";
+            definitions = new String[slots];
+        }
+    }
+
+    private String slotType(int slot) {
+        return VtableCreator.convertAstTypeToLLVMRepresention(currentMethodSymbolTable.getSymbol(slot).getDecl().get(0));
+    }
+
+    // %_N = phi T [a, %fromA], [b, %fromB]
+    private void phi(StringBuilder phis, int register, int slot, String a, String fromA, String b, String fromB) {
+        String type = slotType(slot);
+        phis.append("%_").append(register).append(" = phi ").append(type)
+                .append(" [").append(a == null ? "undef" : a).append(", ").append(fromA)
+                .append("], [").append(b == null ? "undef" : b).append(", ").append(fromB).append("]\n");
+    }
+
+    // the slots of the locals and formals a statement assigns to
+    private static void assignedSlots(Statement statement, BitSet slots) {
+        if (statement instanceof AssignStatement) {
+            int slot = ((AssignStatement) statement).slot();
+            if (slot >= 0) {
+                slots.set(slot);
+            }
+        } else if (statement instanceof BlockStatement) {
+            for (Statement inner : ((BlockStatement) statement).statements()) {
+                assignedSlots(inner, slots);
+            }
+        } else if (statement instanceof IfStatement) {
+            assignedSlots(((IfStatement) statement).thencase(), slots);
+            assignedSlots(((IfStatement) statement).elsecase(), slots);
+        } else if (statement instanceof WhileStatement) {
+            assignedSlots(((WhileStatement) statement).body(), slots);
+        }
+    }
 
     private String printIsOutOfBoundary(AstNode astNode, int labelLegal, int labelIllegal, int lengthRegister, String indexRegister) {
         // %_8 = icmp sle i32 %_7, 0
@@ -33,8 +168,7 @@ public class AstLlvmPrintVisitor implements Visitor {
         if (exp instanceof IntegerLiteralExpr) {
             index = "" + ((IntegerLiteralExpr) exp).num();
         } else if (exp instanceof IdentifierExpr) {
-            resolveVariable(((IdentifierExpr) exp).id(), currentMethod, true);
-            index = "%_" + getLastRegisterCount();
+            index = resolveVariable((IdentifierExpr) exp, true);
         } else {
 //            exp.accept(this);
             index = indexRegister;
@@ -56,9 +190,7 @@ public class AstLlvmPrintVisitor implements Visitor {
         builder.append(", label %if");
         builder.append(labelLegal);
         builder.append("\n");
-        builder.append("if");
-        builder.append(labelIllegal);
-        builder.append(":\n");
+        label(labelIllegal);
         builder.append("call void @throw_oob()\n");
         builder.append("br label %if");
         builder.append(labelLegal);
@@ -84,11 +216,10 @@ public class AstLlvmPrintVisitor implements Visitor {
         if (exp instanceof IntegerLiteralExpr) {
             lengthValue = "" + ((IntegerLiteralExpr) exp).num();
         } else if (exp instanceof IdentifierExpr) {
-            resolveVariable(((IdentifierExpr) exp).id(), currentMethod, true);
-            lengthValue = "%_" + getLastRegisterCount();
+            lengthValue = resolveVariable((IdentifierExpr) exp, true);
         } else {
             exp.accept(this);
-            lengthValue = "%_" + getLastRegisterCount();
+            lengthValue = getLastValue();
         }
         // %_0 = icmp slt i32 %_2, 0
         int resultRegister = invokeRegisterCount("i1");
@@ -106,9 +237,7 @@ public class AstLlvmPrintVisitor implements Visitor {
         builder.append(", label %if");
         builder.append(labelLegal);
         builder.append("\n");
-        builder.append("if");
-        builder.append(labelIllegal);
-        builder.append(":\n");
+        label(labelIllegal);
         builder.append("call void @throw_oob()\n");
         builder.append("br label %if");
         builder.append(labelLegal);
@@ -117,34 +246,27 @@ public class AstLlvmPrintVisitor implements Visitor {
         return lengthValue;
     }
 
-    private String resolveMethodCallVariable(String variableName) {
-        SymbolTable currentSymbolTable = SymbolTableUtils.getSymbolTableClassWithMethodMap().get(currentMethod + currentClass);
-        return commonResolveVariable(currentSymbolTable, variableName, true, true);
+    private String resolveMethodCallVariable(IdentifierExpr e) {
+        return commonResolveVariable(e.id(), e.slot(), true, true);
     }
 
 
-    private String commonResolveVariable(SymbolTable currentSymbolTable, String variableName, boolean methodFlag, boolean doLoad) {
-        String type;
-        type = isVariableInSymbolTable(variableName, currentSymbolTable);
+    // slot is the local's or formal's slot in the current method, -1 for a field
+    private String commonResolveVariable(String variableName, int slot, boolean methodFlag, boolean doLoad) {
+        String type = null;
+        if (slot >= 0) {
+            type = currentMethodSymbolTable.getSymbol(slot).getDecl().get(0);
+        }
         boolean isField = type == null;
         String classId = "";
-        SymbolTable symbolTable = null;
         if (isField) {
-            SymbolTable parentSymbolTable = currentSymbolTable.getParentSymbolTable();
-            SymbolTable realParentSymbolTable = currentSymbolTable.getParentSymbolTable();
-            boolean foundField = false;
-            while (parentSymbolTable != null && !foundField) {
-                type = isVariableInSymbolTable(variableName, parentSymbolTable);
-                foundField = type != null;
-                symbolTable = parentSymbolTable;
-                parentSymbolTable = parentSymbolTable.getParentSymbolTable();
-            }
-
-            if (foundField) {
+            Symbol member = context.getSymbolTableUtils().getClassMembers(currentClass).getMember(variableName);
+            if (member != null) {
+                type = member.getDecl().get(0);
                 if (methodFlag) {
-                    classId = VtableCreator.getSymbolTableClassesMap().get(symbolTable);
+                    classId = context.getSymbolTableClassesMap().get(member.getEnclosingSymbolTable());
                 } else {
-                    classId = VtableCreator.getSymbolTableClassesMap().get(realParentSymbolTable);
+                    classId = currentClass;
                 }
             } else {
                 System.out.println("ERRORRRRRRRR");
@@ -159,7 +281,12 @@ public class AstLlvmPrintVisitor implements Visitor {
             currentRegisterToStoreTo = "%" + variableName;
             type = VtableCreator.convertAstTypeToLLVMRepresention(type);
             regType = type;
-            if (doLoad) {
+            if (ssa) {
+                // nothing to load, and nothing to store to
+                if (doLoad) {
+                    currentRegisterToAssign = definitions[slot] == null ? "undef" : definitions[slot];
+                }
+            } else if (doLoad) {
                 int register = invokeRegisterCount(type);
                 builder.append("%_");
                 builder.append(register);
@@ -176,30 +303,26 @@ public class AstLlvmPrintVisitor implements Visitor {
         return classId;
     }
 
-    private String resolveVariable(String variableName, String methodName, boolean doLoad) {
-        SymbolTable currentSymbolTable = SymbolTableUtils.getSymbolTableClassWithMethodMap().get(methodName + currentClass);
-        commonResolveVariable(currentSymbolTable, variableName, false, doLoad);
+    private String resolveVariable(String variableName, int slot, boolean doLoad) {
+        commonResolveVariable(variableName, slot, false, doLoad);
         return currentRegisterToAssign;
     }
 
-    private String isVariableInSymbolTable(String variableName, SymbolTable currentSymbolTable) {
-        for (Map.Entry<String, Symbol> entry : currentSymbolTable.getEntries().entrySet()) {
-            if (entry.getValue().getSymbolName().equals(variableName)) {
-                return entry.getValue().getDecl().get(0);
-            }
-        }
-        return null;
+    private String resolveVariable(IdentifierExpr e, boolean doLoad) {
+        return resolveVariable(e.id(), e.slot(), doLoad);
     }
 
     private void retrieveField(String classId, String fieldName, boolean doLoad) {
-        FieldInfo fieldInfo = VtableCreator.getObjectStructMap().get(classId).getFieldInfoMap().get(fieldName);
+        FieldInfo fieldInfo = context.getObjectStructMap().get(classId).getFieldInfoMap().get(fieldName);
         int offset = fieldInfo.getOffset();
         String type = fieldInfo.getFieldType();
         // %_3 = getelementptr i8, i8* %this, i32 8
         int registerImplement = invokeRegisterCount("i8");
         builder.append("%_");
         builder.append(registerImplement);
-        builder.append(" = getelementptr i8, i8* %this, i32 ");
+        builder.append(" = getelementptr i8, i8* ");
+        builder.append(thisRegister);
+        builder.append(", i32 ");
         builder.append(offset);
         builder.append("\n");
         //	%_4 = bitcast i8* %_3 to i32*
@@ -249,6 +372,7 @@ public class AstLlvmPrintVisitor implements Visitor {
     // functions to keep trace of registers and ifs counts
     private int invokeRegisterCount(String type) {
         regType = type;
+        lastValue = null;
         return regCnt++;
     }
 
@@ -260,6 +384,11 @@ public class AstLlvmPrintVisitor implements Visitor {
         return regCnt - 1;
     }
 
+    // the value of the expression printed last: the last register, unless it was an inlined call
+    private String getLastValue() {
+        return lastValue != null ? lastValue : "%_" + getLastRegisterCount();
+    }
+
     private String getLastRegisterType() {
         return regType;
     }
@@ -276,8 +405,24 @@ public class AstLlvmPrintVisitor implements Visitor {
         ifCnt = 0;
     }
 
+    // whatever was not written to the sink yet (the whole module if there is no sink)
     public String getString() {
-        return builder.toString();
+        return module.length() == 0 ? builder.toString() : module.toString() + builder;
+    }
+
+    // hand the finished function over to the sink, so only one function is held in memory; builder
+    // only ever holds the function being printed, which the loop phis are inserted into
+    private void flushFunction() {
+        if (out == null) {
+            module.append(builder);
+        } else {
+            try {
+                out.append(builder);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        builder.setLength(0);
     }
 
 
@@ -287,19 +432,17 @@ public class AstLlvmPrintVisitor implements Visitor {
         if (e.e1() instanceof IntegerLiteralExpr) {
             firstArg = "i32 " + ((IntegerLiteralExpr) e.e1()).num();
         } else if (e.e1() instanceof IdentifierExpr) {
-            resolveVariable(((IdentifierExpr) e.e1()).id(), currentMethod, true);
-            firstArg = "i32 %_" + getLastRegisterCount();
+            firstArg = "i32 " + resolveVariable((IdentifierExpr) e.e1(), true);
         } else {
-            firstArg = "i32 %_" + getLastRegisterCount();
+            firstArg = "i32 " + getLastValue();
         }
         e.e2().accept(this);
         if (e.e2() instanceof IntegerLiteralExpr) {
             secondArg = "" + ((IntegerLiteralExpr) e.e2()).num();
         } else if (e.e2() instanceof IdentifierExpr) {
-            resolveVariable(((IdentifierExpr) e.e2()).id(), currentMethod, true);
-            secondArg = "%_" + getLastRegisterCount();
+            secondArg = resolveVariable((IdentifierExpr) e.e2(), true);
         } else {
-            secondArg = "%_" + getLastRegisterCount();
+            secondArg = getLastValue();
         }
 
         int resultRegister = invokeRegisterCount("i32");
@@ -335,11 +478,89 @@ public class AstLlvmPrintVisitor implements Visitor {
             "\tret void\n" +
             "}\n\n";
 
+    // The allocator behind every new: the generated code bumps @_arena_next by the (8 byte aligned) size and
+    // only calls @arena_refill when that passes @_arena_end. A refill gives up the rest of the chunk and
+    // calloc's the next one, 1 MB of zeroes; a block larger than that is calloc'd by itself, and counted
+    // apart from the chunks.
+    static final String arenaRuntime = "@_arena_next = global i8* null\n" +
+            "@_arena_end = global i8* null\n" +
+            "@_arena_start = global i8* null\n" +
+            "@_arena_chunks = global i32 0\n" +
+            "@_arena_large = global i32 0\n" +
+            "@_arena_retired = global i64 0\n" +
+            "\n" +
+            "define i8* @arena_refill(i32 %words) {\n" +
+            "\t%_retired = load i64, i64* @_arena_retired\n" +
+            "\t%_large = icmp ugt i32 %words, 131072\n" +
+            "\tbr i1 %_large, label %large, label %chunk\n" +
+            "large:\n" +
+            "\t%_blocks = load i32, i32* @_arena_large\n" +
+            "\t%_blocks1 = add i32 %_blocks, 1\n" +
+            "\tstore i32 %_blocks1, i32* @_arena_large\n" +
+            "\t%_block = call i8* @calloc(i32 8, i32 %words)\n" +
+            "\t%_words64 = zext i32 %words to i64\n" +
+            "\t%_size = shl i64 %_words64, 3\n" +
+            "\t%_retired1 = add i64 %_retired, %_size\n" +
+            "\tstore i64 %_retired1, i64* @_arena_retired\n" +
+            "\tret i8* %_block\n" +
+            "chunk:\n" +
+            "\t%_chunks = load i32, i32* @_arena_chunks\n" +
+            "\t%_chunks1 = add i32 %_chunks, 1\n" +
+            "\tstore i32 %_chunks1, i32* @_arena_chunks\n" +
+            "\t%_next = load i8*, i8** @_arena_next\n" +
+            "\t%_start = load i8*, i8** @_arena_start\n" +
+            "\t%_nextInt = ptrtoint i8* %_next to i64\n" +
+            "\t%_startInt = ptrtoint i8* %_start to i64\n" +
+            "\t%_used = sub i64 %_nextInt, %_startInt\n" +
+            "\t%_retired2 = add i64 %_retired, %_used\n" +
+            "\tstore i64 %_retired2, i64* @_arena_retired\n" +
+            "\t%_chunk = call i8* @calloc(i32 8, i32 131072)\n" +
+            "\t%_chunkWords64 = zext i32 %words to i64\n" +
+            "\t%_chunkSize = shl i64 %_chunkWords64, 3\n" +
+            "\t%_chunkNext = getelementptr i8, i8* %_chunk, i64 %_chunkSize\n" +
+            "\t%_chunkEnd = getelementptr i8, i8* %_chunk, i32 1048576\n" +
+            "\tstore i8* %_chunk, i8** @_arena_start\n" +
+            "\tstore i8* %_chunkNext, i8** @_arena_next\n" +
+            "\tstore i8* %_chunkEnd, i8** @_arena_end\n" +
+            "\tret i8* %_chunk\n" +
+            "}\n\n";
+
+    // registered with atexit by main, so it also runs after an out of bounds access
+    static final String arenaStatsRuntime = "declare i32 @atexit(void ()*)\n" +
+            "declare i32 @dprintf(i32, i8*, ...)\n" +
+            "\n" +
+            "@_cArena = constant [47 x i8] c\"arena: %d chunks, %d large blocks, %lld bytes\\0a\\00\"\n" +
+            "define void @arena_report() {\n" +
+            "\t%_chunks = load i32, i32* @_arena_chunks\n" +
+            "\t%_blocks = load i32, i32* @_arena_large\n" +
+            "\t%_retired = load i64, i64* @_arena_retired\n" +
+            "\t%_next = load i8*, i8** @_arena_next\n" +
+            "\t%_start = load i8*, i8** @_arena_start\n" +
+            "\t%_nextInt = ptrtoint i8* %_next to i64\n" +
+            "\t%_startInt = ptrtoint i8* %_start to i64\n" +
+            "\t%_used = sub i64 %_nextInt, %_startInt\n" +
+            "\t%_bytes = add i64 %_retired, %_used\n" +
+            "\t%_str = bitcast [47 x i8]* @_cArena to i8*\n" +
+            "\tcall i32 (i32, i8*, ...) @dprintf(i32 2, i8* %_str, i32 %_chunks, i32 %_blocks, i64 %_bytes)\n" +
+            "\tret void\n" +
+            "}\n\n";
+
     @Override
     public void visit(Program program) {
         // concat mandatory string (@throw_oob, print_int)
         builder.append(verbatim);
+        if (arena) {
+            builder.append(arenaRuntime);
+        }
+        if (arenaStats) {
+            builder.append(arenaStatsRuntime);
+        }
 
+        for (ClassDecl classdecl : program.classDecls()) {
+            for (var methodDecl : classdecl.methoddecls()) {
+                methodDecls.put(classdecl.name() + "." + methodDecl.name(), methodDecl);
+            }
+        }
         program.mainClass().accept(this);
         for (ClassDecl classdecl : program.classDecls()) {
             classdecl.accept(this);
@@ -351,8 +572,12 @@ public class AstLlvmPrintVisitor implements Visitor {
         currentClass = classDecl.name();
         for (var methodDecl : classDecl.methoddecls()) {
             currentMethod = methodDecl.name();
+            currentMethodSymbolTable = context.getSymbolTableUtils().getSymbolTableClassWithMethodMap().get(currentMethod + currentClass);
+            inlineStack.add(currentClass + "." + currentMethod);
             methodDecl.accept(this);
+            inlineStack.remove(inlineStack.size() - 1);
             builder.append("\n");
+            flushFunction();
         }
     }
 
@@ -360,17 +585,24 @@ public class AstLlvmPrintVisitor implements Visitor {
     public void visit(MainClass mainClass) {
         // define i32 @main() {
         builder.append("define i32 @main() {\n");
+        entry(0);
+        inlineStack.add("main");
+        if (arenaStats) {
+            builder.append("call i32 @atexit(void ()* @arena_report)\n");
+        }
         // main statements
         mainClass.mainStatement().accept(this);
+        inlineStack.remove(inlineStack.size() - 1);
         builder.append("ret i32 0\n");
         builder.append("}\n\n");
+        flushFunction();
         resetIfRegisterCount();
         resetRegisterCount();
     }
 
     @Override
     public void visit(MethodDecl methodDecl) {
-        MethodInfo methodInfo = VtableCreator.getObjectStructMap().get(currentClass).getMethodeInfoMap().get(currentMethod);
+        MethodInfo methodInfo = context.getObjectStructMap().get(currentClass).getMethodeInfoMap().get(currentMethod);
         String returntype = methodInfo.getRet();
         String formaltype;
         String delim = ", ";
@@ -391,6 +623,7 @@ public class AstLlvmPrintVisitor implements Visitor {
         }
         builder.append(") {");
         builder.append("\n");
+        entry(currentMethodSymbolTable.getSymbols().size());
 
         // alloca every formal variable
         for (FormalArg formal : methodDecl.formals()) {
@@ -424,15 +657,16 @@ public class AstLlvmPrintVisitor implements Visitor {
         } else if (methodDecl.ret() instanceof IdentifierExpr) {
             // Resolve Variable Type
             // Load that variable into register
-            this.resolveVariable(((IdentifierExpr) methodDecl.ret()).id(), this.currentMethod, true);
+            this.resolveVariable((IdentifierExpr) methodDecl.ret(), true);
             tmpBuilder.append(currentRegisterToAssign);
         } else if (methodDecl.ret() instanceof ThisExpr) {
-            tmpBuilder.append(" %this");
+            tmpBuilder.append(" ");
+            tmpBuilder.append(thisRegister);
         } else if (methodDecl.ret() instanceof NewIntArrayExpr || methodDecl.ret() instanceof NewObjectExpr) {
             tmpBuilder.append(currentCallocRegister);
         } else {
-            tmpBuilder.append(" %_");
-            tmpBuilder.append(getLastRegisterCount());
+            tmpBuilder.append(" ");
+            tmpBuilder.append(getLastValue());
         }
 
 
@@ -449,6 +683,11 @@ public class AstLlvmPrintVisitor implements Visitor {
 
     @Override
     public void visit(FormalArg formalArg) {
+        if (ssa) {
+            // the parameter is the formal's first value
+            definitions[formalArg.slot()] = "%." + formalArg.name();
+            return;
+        }
         // %formalArg.name = alloca formalArg.type()
         String type = astNodeToLlvmType(formalArg.type());
         // %x = alloca i32
@@ -473,6 +712,10 @@ public class AstLlvmPrintVisitor implements Visitor {
 
     @Override
     public void visit(VarDecl varDecl) {
+        if (ssa) {
+            // undefined until its first assignment
+            return;
+        }
         // %varDecl.name = alloca varDecl.type()
         builder.append("%");
         builder.append(varDecl.name());
@@ -506,28 +749,29 @@ public class AstLlvmPrintVisitor implements Visitor {
             builder.append("br label %if");
             builder.append(falseLabel);
         } else {
+            // cond accept writes the bool result to the last register
+            String condValue = getLastValue();
             if (ifStatement.cond() instanceof IdentifierExpr) {
-                resolveVariable(((IdentifierExpr) ifStatement.cond()).id(), currentMethod, true);
+                condValue = resolveVariable((IdentifierExpr) ifStatement.cond(), true);
             }
-            // cond accept writes the bool result to the last register
             // br i1 %_1, label %if0, label %if1
             builder.append("br ");
             builder.append("i1 ");
-            builder.append("%_");
-            builder.append(getLastRegisterCount());
+            builder.append(condValue);
             builder.append(", label %if");
             builder.append(trueLabel);
             builder.append(", label %if");
             builder.append(falseLabel);
         }
         builder.append("\n");
+        String[] beforeDefinitions = ssa ? definitions.clone() : null;
 
         // if0:
-        builder.append("if");
-        builder.append(trueLabel);
-        builder.append(":\n");
+        label(trueLabel);
         // then statements
         ifStatement.thencase().accept(this);
+        String thenBlock = currentBlock;
+        String[] thenDefinitions = definitions;
         // br label %if2
         builder.append("br label ");
         int thirdLabel = invokeIfRegisterCount();
@@ -535,20 +779,28 @@ public class AstLlvmPrintVisitor implements Visitor {
         builder.append(thirdLabel);
         builder.append("\n");
         // if1:
-        builder.append("if");
-        builder.append(falseLabel);
-        builder.append(":\n");
+        label(falseLabel);
+        definitions = beforeDefinitions;
         // else statement
         ifStatement.elsecase().accept(this);
+        String elseBlock = currentBlock;
         // br label %if2
         builder.append("br label ");
         builder.append("%if");
         builder.append(thirdLabel);
         builder.append("\n");
         // if2:
-        builder.append("if");
-        builder.append(thirdLabel);
-        builder.append(":\n");
+        label(thirdLabel);
+        if (ssa) {
+            // a local the branches left with different values gets a phi
+            for (int slot = 0; slot < definitions.length; slot++) {
+                if (!Objects.equals(thenDefinitions[slot], definitions[slot])) {
+                    int register = invokeRegisterCount(slotType(slot));
+                    phi(builder, register, slot, thenDefinitions[slot], thenBlock, definitions[slot], elseBlock);
+                    definitions[slot] = "%_" + register;
+                }
+            }
+        }
     }
 
     private void handleWhileCond(int whileLabel, int outLabel, WhileStatement whileStatement) {
@@ -562,14 +814,16 @@ public class AstLlvmPrintVisitor implements Visitor {
             builder.append(outLabel);
         } else {
             // compute cond
+            String condValue;
             if (whileStatement.cond() instanceof IdentifierExpr) {
-                resolveVariable(((IdentifierExpr) whileStatement.cond()).id(), currentMethod, true);
+                condValue = resolveVariable((IdentifierExpr) whileStatement.cond(), true);
             } else {
                 whileStatement.cond().accept(this);
+                condValue = getLastValue();
             }
             // br i1 %_1, label %if1, label %if2
-            builder.append("br i1 %_");
-            builder.append(getLastRegisterCount());
+            builder.append("br i1 ");
+            builder.append(condValue);
             builder.append(", label %if");
             builder.append(whileLabel);
             builder.append(", label %if");
@@ -589,14 +843,32 @@ public class AstLlvmPrintVisitor implements Visitor {
         builder.append("br label %if");
         builder.append(condLabel);
         builder.append("\n");
+        String entryBlock = currentBlock;
 
         // compute condition and branch over condition value
         // if0: (== condLabel)
-        builder.append("if").append(condLabel).append(":\n");
+        label(condLabel);
+        // with ssa, every local the body assigns gets a phi here; the value that comes around the
+        // loop is only known after the body, so the phis are inserted then
+        int phiPosition = builder.length();
+        BitSet assigned = new BitSet();
+        String[] entryDefinitions = null;
+        int[] phiRegisters = null;
+        if (ssa) {
+            assignedSlots(whileStatement.body(), assigned);
+            entryDefinitions = definitions.clone();
+            phiRegisters = new int[definitions.length];
+            for (int slot = assigned.nextSetBit(0); slot >= 0; slot = assigned.nextSetBit(slot + 1)) {
+                phiRegisters[slot] = invokeRegisterCount(slotType(slot));
+                definitions[slot] = "%_" + phiRegisters[slot];
+            }
+        }
         handleWhileCond(whileLabel, outLabel, whileStatement);
+        // the condition assigns nothing, these are the values after the loop as well
+        String[] headerDefinitions = ssa ? definitions.clone() : null;
 
         // if1: (== whileLabel)
-        builder.append("if").append(whileLabel).append(":\n");
+        label(whileLabel);
 
         // while statements
         whileStatement.body().accept(this);
@@ -606,8 +878,17 @@ public class AstLlvmPrintVisitor implements Visitor {
         builder.append(condLabel);
         builder.append("\n");
 
+        if (ssa) {
+            StringBuilder phis = new StringBuilder();
+            for (int slot = assigned.nextSetBit(0); slot >= 0; slot = assigned.nextSetBit(slot + 1)) {
+                phi(phis, phiRegisters[slot], slot, entryDefinitions[slot], entryBlock, definitions[slot], currentBlock);
+            }
+            builder.insert(phiPosition, phis);
+            definitions = headerDefinitions;
+        }
+
         // if2:  (== outLabel)
-        builder.append("if").append(outLabel).append(":\n");
+        label(outLabel);
     }
 
     @Override
@@ -617,14 +898,14 @@ public class AstLlvmPrintVisitor implements Visitor {
         if (sysoutStatement.arg() instanceof IntegerLiteralExpr) {
             builder.append("call void (i32) @print_int(i32 ").append(((IntegerLiteralExpr) sysoutStatement.arg()).num()).append(")");
         } else if (sysoutStatement.arg() instanceof MethodCallExpr) {
-            builder.append("call void (i32) @print_int(i32 %_").append(getLastRegisterCount()).append(")");
+            builder.append("call void (i32) @print_int(i32 ").append(getLastValue()).append(")");
         } else if (sysoutStatement.arg() instanceof IdentifierExpr) {
             // Resolve Variable Type
             // Load that variable into register
-            this.resolveVariable(((IdentifierExpr) sysoutStatement.arg()).id(), this.currentMethod, true);
-            builder.append("call void (i32) @print_int(i32 %_").append(getLastRegisterCount()).append(")");
+            String value = this.resolveVariable((IdentifierExpr) sysoutStatement.arg(), true);
+            builder.append("call void (i32) @print_int(i32 ").append(value).append(")");
         } else {
-            builder.append("call void (i32) @print_int(i32 %_").append(getLastRegisterCount()).append(")");
+            builder.append("call void (i32) @print_int(i32 ").append(getLastValue()).append(")");
         }
         builder.append("\n");
     }
@@ -634,76 +915,75 @@ public class AstLlvmPrintVisitor implements Visitor {
         // compute rv
         String rvType = "";
         String rvRegisterString = "";
-        int rvRegister = 0;
+        String rvValue = "";
         if (assignStatement.rv() instanceof IdentifierExpr) {
-            resolveVariable(((IdentifierExpr) assignStatement.rv()).id(), currentMethod, true);
+            resolveVariable((IdentifierExpr) assignStatement.rv(), true);
             rvType = getLastRegisterType();
             rvRegisterString = currentRegisterToAssign;
         } else {
             assignStatement.rv().accept(this);
-            rvRegister = getLastRegisterCount();
+            rvValue = getLastValue();
             rvType = getLastRegisterType();
         }
 
-        // resolve lv variable
-        resolveVariable(assignStatement.lv(), currentMethod, false);
-        String lvReg = currentRegisterToStoreTo;
-
         // handle ref-id or int-literal
+        String value;
         if (assignStatement.rv() instanceof AddExpr || assignStatement.rv() instanceof SubtractExpr || assignStatement.rv() instanceof MultExpr || assignStatement.rv() instanceof ArrayAccessExpr) {
             // store i32 %_4, i32* %x
-            builder.append("store i32 %_");
-            builder.append(rvRegister);
-            builder.append(", i32* ");
+            rvType = "i32";
+            value = rvValue;
         } else if (assignStatement.rv() instanceof IntegerLiteralExpr) {
             // store i32 4, i32* %x
-            builder.append("store i32 ");
-            builder.append(((IntegerLiteralExpr) assignStatement.rv()).num());
-            builder.append(", i32* ");
+            rvType = "i32";
+            value = "" + ((IntegerLiteralExpr) assignStatement.rv()).num();
         } else if (assignStatement.rv() instanceof LtExpr) {
             // store i1 %_4, i1* %x
-            builder.append("store i1 %_");
-            builder.append(rvRegister);
-            builder.append(", i1* ");
+            rvType = "i1";
+            value = rvValue;
         } else if (assignStatement.rv() instanceof TrueExpr) {
             // store i1 1, i1* %x
-            builder.append("store i1 1, i1* ");
+            rvType = "i1";
+            value = "1";
         } else if (assignStatement.rv() instanceof FalseExpr) {
             // store i1 0, i1* %x
-            builder.append("store i1 0, i1* ");
+            rvType = "i1";
+            value = "0";
         } else if (assignStatement.rv() instanceof NewObjectExpr) {
             // store i8* %_0, i8** %b
-            builder.append("store i8* ");
-            builder.append(this.currentRegisterToAssign);
-            builder.append(", i8** ");
+            rvType = "i8*";
+            value = this.currentRegisterToAssign;
         } else if (assignStatement.rv() instanceof NewIntArrayExpr) {
             // store i32* %_3, i32** %x
-            builder.append("store i32* ");
-            builder.append(this.currentRegisterToAssign);
-            builder.append(", i32** ");
+            rvType = "i32*";
+            value = this.currentRegisterToAssign;
         } else if (assignStatement.rv() instanceof IdentifierExpr) {
             // store i32 %_3, i32* %x
-            builder.append("store ");
-            builder.append(rvType);
-            builder.append(" ");
-            builder.append(rvRegisterString);
-            builder.append(", ");
-            builder.append(rvType);
-            builder.append("* ");
+            value = rvRegisterString;
         } else if (assignStatement.rv() instanceof ThisExpr) {
             // store i8* %this, i8** %x
-            builder.append("store i8* %this, i8** ");
+            rvType = "i8*";
+            value = thisRegister;
         } else {
             // store i32 %_3, i32* %x
-            builder.append("store ");
-            builder.append(rvType);
-            builder.append(" %_");
-            builder.append(rvRegister);
-            builder.append(", ");
-            builder.append(rvType);
-            builder.append("* ");
+            value = rvValue;
+        }
+
+        if (ssa && assignStatement.slot() >= 0) {
+            // the local now has this value
+            definitions[assignStatement.slot()] = value;
+            return;
         }
 
+        // resolve lv variable
+        resolveVariable(assignStatement.lv(), assignStatement.slot(), false);
+        String lvReg = currentRegisterToStoreTo;
+        builder.append("store ");
+        builder.append(rvType);
+        builder.append(" ");
+        builder.append(value);
+        builder.append(", ");
+        builder.append(rvType);
+        builder.append("* ");
         builder.append(lvReg);
 //        builder.append(assignStatement.lv());
         builder.append("\n");
@@ -718,7 +998,7 @@ public class AstLlvmPrintVisitor implements Visitor {
         String value;
 
         // Load array
-        String arrayRegister = resolveVariable(assignArrayStatement.lv(), currentMethod, true);
+        String arrayRegister = resolveVariable(assignArrayStatement.lv(), assignArrayStatement.slot(), true);
 
         // check len size is not negative
         // %_0 = icmp slt i32 %_2, 0
@@ -727,9 +1007,7 @@ public class AstLlvmPrintVisitor implements Visitor {
         value = printIsNegativeNumberLlvm(assignArrayStatement, legalAccessIndex, ilLegalAccessIndex);
 
         // if2:
-        builder.append("if");
-        builder.append(legalAccessIndex);
-        builder.append(":\n");
+        label(legalAccessIndex);
 
         // Retrieve length of array
         int lengthRegister = getLengthOfArray(arrayRegister);
@@ -738,9 +1016,7 @@ public class AstLlvmPrintVisitor implements Visitor {
         value = printIsOutOfBoundary(assignArrayStatement, oobLegalAccessIndex, oobIlLegalAccessIndex, lengthRegister, value);
 
         // if4:
-        builder.append("if");
-        builder.append(oobLegalAccessIndex);
-        builder.append(":\n");
+        label(oobLegalAccessIndex);
 
         // compute l value - make sure to add 1 (due to index 0 - size) to index
         //	%_9 = add i32 0, 1
@@ -767,10 +1043,9 @@ public class AstLlvmPrintVisitor implements Visitor {
         if (assignArrayStatement.rv() instanceof IntegerLiteralExpr) {
             valueToStore += ((IntegerLiteralExpr) assignArrayStatement.rv()).num();
         } else if (assignArrayStatement.rv() instanceof IdentifierExpr) {
-            resolveVariable(((IdentifierExpr) assignArrayStatement.rv()).id(), currentMethod, true);
-            valueToStore += "%_" + getLastRegisterCount();
+            valueToStore += resolveVariable((IdentifierExpr) assignArrayStatement.rv(), true);
         } else {
-            valueToStore += "%_" + getLastRegisterCount();
+            valueToStore += getLastValue();
         }
 
         // put rv in lv - store value in array
@@ -784,7 +1059,7 @@ public class AstLlvmPrintVisitor implements Visitor {
 
     @Override
     public void visit(AndExpr e) {
-        int assignedVal;
+        String assignedVal;
         int andCond0 = invokeIfRegisterCount();
         int andCond1 = invokeIfRegisterCount();
         int andCond2 = invokeIfRegisterCount();
@@ -792,7 +1067,7 @@ public class AstLlvmPrintVisitor implements Visitor {
         String register = "";
         // compute e1
         if (e.e1() instanceof IdentifierExpr) {
-            resolveVariable(((IdentifierExpr) e.e1()).id(), currentMethod, true);
+            resolveVariable((IdentifierExpr) e.e1(), true);
             register = currentRegisterToAssign;
         } else {
             e.e1().accept(this);
@@ -804,9 +1079,7 @@ public class AstLlvmPrintVisitor implements Visitor {
         builder.append(andCond0);
         builder.append("\n");
         // andcond0:
-        builder.append("if");
-        builder.append(andCond0);
-        builder.append(":\n");
+        label(andCond0);
 
         // br i1 %_0, label %andcond1, label %andcond3
         if (e.e1() instanceof TrueExpr) {
@@ -814,44 +1087,43 @@ public class AstLlvmPrintVisitor implements Visitor {
         } else if (e.e1() instanceof FalseExpr) {
             builder.append("br i1 0, label %if").append(andCond1).append(", label %if").append(andCond3);
         } else if (e.e1() instanceof IdentifierExpr) {
-            builder.append("br i1 %_").append(getLastRegisterCount()).append(", label %if").append(andCond1).append(", label %if").append(andCond3);
+            builder.append("br i1 ").append(register).append(", label %if").append(andCond1).append(", label %if").append(andCond3);
         } else {
-            builder.append("br i1 %_").append(getLastRegisterCount()).append(", label %if").append(andCond1).append(", label %if").append(andCond3);
+            builder.append("br i1 ").append(getLastValue()).append(", label %if").append(andCond1).append(", label %if").append(andCond3);
         }
         builder.append("\n");
 
         // andcond1:
-        builder.append("if").append(andCond1).append(":\n");
+        label(andCond1);
 
         // compute e2
         e.e2().accept(this);
         if (e.e2() instanceof TrueExpr) {
-            assignedVal = invokeRegisterCount("i1");
+            assignedVal = "%_" + invokeRegisterCount("i1");
             builder.append("%_").append(getLastRegisterCount()).append(" = icmp eq i1 1, 1\n");
         } else if (e.e2() instanceof FalseExpr) {
-            assignedVal = invokeRegisterCount("i1");
+            assignedVal = "%_" + invokeRegisterCount("i1");
             builder.append("%_").append(getLastRegisterCount()).append(" = = icmp eq i1 1, 0\n");
         } else if (e.e2() instanceof IdentifierExpr) {
-            resolveVariable(((IdentifierExpr) e.e2()).id(), currentMethod, true);
-            assignedVal = getLastRegisterCount();
+            assignedVal = resolveVariable((IdentifierExpr) e.e2(), true);
         } else {
-            assignedVal = getLastRegisterCount();
+            assignedVal = getLastValue();
         }
 
         // br label %andcond2
         builder.append("br label %if").append(andCond2).append("\n");
 
         // andcond2:
-        builder.append("if").append(andCond2).append(":\n");
+        label(andCond2);
 
         // br label %andcond3
         builder.append("br label %if").append(andCond3).append("\n");
 
         // andcond3:
-        builder.append("if").append(andCond3).append(":\n");
+        label(andCond3);
 
         invokeRegisterCount("i1");
-        builder.append("%_").append(getLastRegisterCount()).append(" = phi i1 [0, %if").append(andCond0).append("], [%_").append(assignedVal).append(", %if").append(andCond2).append("]");
+        builder.append("%_").append(getLastRegisterCount()).append(" = phi i1 [0, %if").append(andCond0).append("], [").append(assignedVal).append(", %if").append(andCond2).append("]");
         builder.append("\n");
     }
 
@@ -880,7 +1152,7 @@ public class AstLlvmPrintVisitor implements Visitor {
         // load array
         String arrayRegister;
         if (e.arrayExpr() instanceof IdentifierExpr) {
-            resolveVariable(((IdentifierExpr) e.arrayExpr()).id(), currentMethod, true);
+            resolveVariable((IdentifierExpr) e.arrayExpr(), true);
         } else {
             // if it is new int we handle it inside
             e.arrayExpr().accept(this);
@@ -898,9 +1170,7 @@ public class AstLlvmPrintVisitor implements Visitor {
         // e.indexExpr().accept(this);
         indexValue = printIsNegativeNumberLlvm(e, labelLegalIndex, labelIllegalIndex);
         // if2:
-        builder.append("if");
-        builder.append(labelLegalIndex);
-        builder.append(":\n");
+        label(labelLegalIndex);
 
         // Retrieve length of array
         int lengthRegister = getLengthOfArray(arrayRegister);
@@ -909,9 +1179,7 @@ public class AstLlvmPrintVisitor implements Visitor {
         indexValue = printIsOutOfBoundary(e, oobLegalAccessIndex, oobIlLegalAccessIndex, lengthRegister, indexValue);
 
         // if2:
-        builder.append("if");
-        builder.append(oobLegalAccessIndex);
-        builder.append(":\n");
+        label(oobLegalAccessIndex);
 
         // %_9 = add i32 0, 1
         int indexRegister = invokeRegisterCount("i32");
@@ -950,9 +1218,10 @@ public class AstLlvmPrintVisitor implements Visitor {
             } else {
                 lengthAst.accept(this);
                 if (lengthAst instanceof IdentifierExpr) {
-                    resolveVariable(((IdentifierExpr) lengthAst).id(), currentMethod, true);
+                    lengthValue = "i32 " + resolveVariable((IdentifierExpr) lengthAst, true);
+                } else {
+                    lengthValue = "i32 " + getLastValue();
                 }
-                lengthValue = "i32 %_" + getLastRegisterCount();
             }
             // %_1 = i32 7
             builder.append("%_");
@@ -962,12 +1231,12 @@ public class AstLlvmPrintVisitor implements Visitor {
             builder.append("\n");
         } else if (e.arrayExpr() instanceof IdentifierExpr) {
             // %_reg = get element name of array in 0 index
-            resolveVariable(((IdentifierExpr) e.arrayExpr()).id(), currentMethod, true);
+            resolveVariable((IdentifierExpr) e.arrayExpr(), true);
             getLengthOfArray(currentRegisterToAssign);
         } else {
             // the only option is method call?
             e.arrayExpr().accept(this);
-            getLengthOfArray("%_" + getLastRegisterCount());
+            getLengthOfArray(getLastValue());
         }
     }
 
@@ -1011,103 +1280,130 @@ public class AstLlvmPrintVisitor implements Visitor {
         String classId = "";
         // resolve class of owner (this, new, ref-id)  -> class
         if (ownerExp instanceof ThisExpr) {
-            currentRegisterToAssign = "%this";
+            currentRegisterToAssign = thisRegister;
             classId = this.currentClass;
         } else if (ownerExp instanceof NewObjectExpr) {
             classId = ((NewObjectExpr) ownerExp).classId();
         } else if (ownerExp instanceof IdentifierExpr) {
-            classId = resolveMethodCallVariable(((IdentifierExpr) ownerExp).id());
+            classId = resolveMethodCallVariable((IdentifierExpr) ownerExp);
         }
         // Assume this was done in accept:
         // %_6 = load i8*, i8** %b
         e.ownerExpr().accept(this);
-        // %_7 = bitcast i8* %_6 to i8***
         String loadedRegister = this.currentRegisterToAssign;
-        int bitcastRegister = invokeRegisterCount("i8*");
-        builder.append("%_");
-        builder.append(bitcastRegister);
-        builder.append(" = bitcast i8* ");
-        builder.append(loadedRegister);
-        builder.append(" to i8***\n");
-        //	%_8 = load i8**, i8*** %_7
-        int vtableRegister = invokeRegisterCount("i8**");
-        builder.append("%_");
-        builder.append(vtableRegister);
-        builder.append(" = load i8**, i8*** %_");
-        builder.append(bitcastRegister);
-        builder.append("\n");
-        // %_9 = getelementptr i8*, i8** %_8, i32 0
-        int methodRegister = invokeRegisterCount("i8*");
         // Resolve method offset according object struct to map
-        MethodInfo methodInfo = VtableCreator.getObjectStructMap().get(classId).getMethodeInfoMap().get(e.methodId());
+        ObjectStruct objectStruct = context.getObjectStructMap().get(classId);
+        MethodInfo methodInfo = objectStruct.getMethodeInfoMap().get(e.methodId());
         int methodOffset = methodInfo.getOffset();
-        builder.append("%_");
-        builder.append(methodRegister);
-        builder.append(" = getelementptr i8*, i8** %_");
-        builder.append(vtableRegister);
-        builder.append(", i32 ");
-        builder.append(methodOffset);
-        builder.append("\n");
-        // %_10 = load i8*, i8** %_9
-        int actualFunctionPointerRegister = invokeRegisterCount("i8*");
-        builder.append("%_");
-        builder.append(actualFunctionPointerRegister);
-        builder.append(" = load i8*, i8** %_");
-        builder.append(methodRegister);
-        builder.append("\n");
-        //	%_11 = bitcast i8* %_10 to i32 (i8*, i32)*
         String returnTypeValue = methodInfo.getRet();
         String args = methodInfo.getArgs();
-        bitcastRegister = invokeRegisterCount("i32 ()");
-        builder.append("%_");
-        builder.append(bitcastRegister);
-        builder.append(" = bitcast i8* %_");
-        builder.append(actualFunctionPointerRegister);
-        builder.append(" to ");
-        builder.append(returnTypeValue);
-        builder.append(args);
-        builder.append("*\n");
+        String function;
+        callCount++;
+        if (devirtualize && !objectStruct.isOverridden(methodOffset)) {
+            // no subclass of the receiver's class overrides the method, call it directly
+            devirtualizedCallCount++;
+            function = "@" + objectStruct.getSlotClass(methodOffset) + "." + e.methodId();
+        } else {
+            // %_7 = bitcast i8* %_6 to i8***
+            int bitcastRegister = invokeRegisterCount("i8*");
+            builder.append("%_");
+            builder.append(bitcastRegister);
+            builder.append(" = bitcast i8* ");
+            builder.append(loadedRegister);
+            builder.append(" to i8***\n");
+            //	%_8 = load i8**, i8*** %_7
+            int vtableRegister = invokeRegisterCount("i8**");
+            builder.append("%_");
+            builder.append(vtableRegister);
+            builder.append(" = load i8**, i8*** %_");
+            builder.append(bitcastRegister);
+            builder.append("\n");
+            // %_9 = getelementptr i8*, i8** %_8, i32 0
+            int methodRegister = invokeRegisterCount("i8*");
+            builder.append("%_");
+            builder.append(methodRegister);
+            builder.append(" = getelementptr i8*, i8** %_");
+            builder.append(vtableRegister);
+            builder.append(", i32 ");
+            builder.append(methodOffset);
+            builder.append("\n");
+            // %_10 = load i8*, i8** %_9
+            int actualFunctionPointerRegister = invokeRegisterCount("i8*");
+            builder.append("%_");
+            builder.append(actualFunctionPointerRegister);
+            builder.append(" = load i8*, i8** %_");
+            builder.append(methodRegister);
+            builder.append("\n");
+            //	%_11 = bitcast i8* %_10 to i32 (i8*, i32)*
+            bitcastRegister = invokeRegisterCount("i32 ()");
+            builder.append("%_");
+            builder.append(bitcastRegister);
+            builder.append(" = bitcast i8* %_");
+            builder.append(actualFunctionPointerRegister);
+            builder.append(" to ");
+            builder.append(returnTypeValue);
+            builder.append(args);
+            builder.append("*\n");
+            function = "%_" + bitcastRegister;
+        }
 
         String delim = ", ";
         StringBuilder arguments = new StringBuilder();
+        List<String> argumentValues = new ArrayList<>();
         for (Expr arg : e.actuals()) {
             arg.accept(this);
-            arguments.append(delim);
+            String type;
+            String value;
             if (arg instanceof IntegerLiteralExpr) {
-                arguments.append("i32 ");
-                arguments.append(((IntegerLiteralExpr) arg).num());
+                type = "i32";
+                value = "" + ((IntegerLiteralExpr) arg).num();
             } else if (arg instanceof TrueExpr) {
-                arguments.append("i1 1");
+                type = "i1";
+                value = "1";
             } else if (arg instanceof FalseExpr) {
-                arguments.append("i1 0");
+                type = "i1";
+                value = "0";
             } else if (arg instanceof ThisExpr) {
-                arguments.append("i8* %this");
+                type = "i8*";
+                value = thisRegister;
             } else if (arg instanceof NewIntArrayExpr) {
-                arguments.append("i32* ");
-                arguments.append(currentCallocRegister);
+                type = "i32*";
+                value = currentCallocRegister;
             } else if (arg instanceof NewObjectExpr) {
-                arguments.append("i8* ");
-                arguments.append(currentCallocRegister);
+                type = "i8*";
+                value = currentCallocRegister;
             } else {
                 if (arg instanceof IdentifierExpr) {
-                    resolveVariable(((IdentifierExpr) arg).id(), currentMethod, true);
+                    value = resolveVariable((IdentifierExpr) arg, true);
                 } else {
-                    arg.accept(this);
+                    value = getLastValue();
                 }
-                arguments.append(this.getLastRegisterType());
-                arguments.append(" ");
-                arguments.append("%_");
-                arguments.append(getLastRegisterCount());
+                type = this.getLastRegisterType();
+            }
+            arguments.append(delim);
+            arguments.append(type);
+            arguments.append(" ");
+            arguments.append(value);
+            argumentValues.add(value);
+        }
+
+        if (function.startsWith("@")) {
+            String className = objectStruct.getSlotClass(methodOffset);
+            MethodDecl callee = methodDecls.get(className + "." + e.methodId());
+            if (isInlinable(className, callee)) {
+                inline(className, callee, loadedRegister, argumentValues, returnTypeValue);
+                return;
             }
         }
-        // %_12 = call i32 %_11(i8* %_6, i32 1)
+
+        // %_12 = call i32 %_11(i8* %_6, i32 1), or call i32 @A.m(i8* %_6, i32 1)
         int callRegister = invokeRegisterCount(returnTypeValue);
         builder.append("%_");
         builder.append(callRegister);
         builder.append(" = call ");
         builder.append(returnTypeValue);
-        builder.append(" %_");
-        builder.append(bitcastRegister);
+        builder.append(" ");
+        builder.append(function);
         builder.append("(i8* ");
         builder.append(loadedRegister);
         builder.append(arguments);
@@ -1115,6 +1411,77 @@ public class AstLlvmPrintVisitor implements Visitor {
         currentRegisterToAssign = "%_" + callRegister;
     }
 
+    // whether a direct call to className.callee may be replaced by its body here
+    private boolean isInlinable(String className, MethodDecl callee) {
+        if (!ssa || inlineStack.size() - 1 >= maxInlineDepth || inlineStack.contains(className + "." + callee.name())) {
+            return false;
+        }
+        AstCountVisitor counter = new AstCountVisitor();
+        for (Statement statement : callee.body()) {
+            statement.accept(counter);
+        }
+        callee.ret().accept(counter);
+        return counter.getCount() <= maxInlineSize;
+    }
+
+    // Prints the body of className.callee in place of a call to it. The callee's locals and formals are
+    // SSA values of its own slots, the formals start out as the arguments, and this is the receiver.
+    // The result is left in lastValue, a formal or a constant as well as a register.
+    private void inline(String className, MethodDecl callee, String receiver, List<String> argumentValues, String returnType) {
+        String callerClass = currentClass;
+        String callerMethod = currentMethod;
+        SymbolTable callerSymbolTable = currentMethodSymbolTable;
+        String[] callerDefinitions = definitions;
+        String callerThis = thisRegister;
+        inlineReport.add((callerMethod == null ? "main" : callerClass + "." + callerMethod)
+                + ": inlined " + className + "." + callee.name());
+        inlineStack.add(className + "." + callee.name());
+
+        currentClass = className;
+        currentMethod = callee.name();
+        currentMethodSymbolTable = context.getSymbolTableUtils().getSymbolTableClassWithMethodMap().get(currentMethod + currentClass);
+        definitions = new String[currentMethodSymbolTable.getSymbols().size()];
+        thisRegister = receiver;
+        for (int i = 0; i < callee.formals().size(); i++) {
+            definitions[callee.formals().get(i).slot()] = argumentValues.get(i);
+        }
+        for (var stmt : callee.body()) {
+            stmt.accept(this);
+        }
+        String value = returnValue(callee.ret());
+
+        inlineStack.remove(inlineStack.size() - 1);
+        currentClass = callerClass;
+        currentMethod = callerMethod;
+        currentMethodSymbolTable = callerSymbolTable;
+        definitions = callerDefinitions;
+        thisRegister = callerThis;
+
+        regType = returnType;
+        lastValue = value;
+        currentRegisterToAssign = value;
+    }
+
+    // prints a method's return expression, returns its value
+    private String returnValue(Expr ret) {
+        ret.accept(this);
+        if (ret instanceof IntegerLiteralExpr) {
+            return "" + ((IntegerLiteralExpr) ret).num();
+        } else if (ret instanceof TrueExpr) {
+            return "1";
+        } else if (ret instanceof FalseExpr) {
+            return "0";
+        } else if (ret instanceof IdentifierExpr) {
+            return resolveVariable((IdentifierExpr) ret, true);
+        } else if (ret instanceof ThisExpr) {
+            return thisRegister;
+        } else if (ret instanceof NewIntArrayExpr || ret instanceof NewObjectExpr) {
+            return currentCallocRegister;
+        } else {
+            return getLastValue();
+        }
+    }
+
     @Override
     public void visit(IntegerLiteralExpr e) {
     }
@@ -1146,9 +1513,7 @@ public class AstLlvmPrintVisitor implements Visitor {
         // e.lengthExpr().accept(this);
         lengthValue = printIsNegativeNumberLlvm(e, labelLegalLength, labelIllegalLength);
         // if1:
-        builder.append("if");
-        builder.append(labelLegalLength);
-        builder.append(":\n");
+        label(labelLegalLength);
         // %_1 = add i32 2, 1
         int sizeOfArrayRegister = invokeRegisterCount("i32");
         builder.append("%_");
@@ -1156,13 +1521,26 @@ public class AstLlvmPrintVisitor implements Visitor {
         builder.append(" = add i32 ");
         builder.append(lengthValue);
         builder.append(", 1\n");
-        // 	%_2 = call i8* @calloc(i32 4, i32 %_1)
         int callocRegister = invokeRegisterCount("i8*");
-        builder.append("%_");
-        builder.append(callocRegister);
-        builder.append(" = call i8* @calloc(i32 4, i32 %_");
-        builder.append(sizeOfArrayRegister);
-        builder.append(")\n");
+        if (arena) {
+            // the length and the elements in 8 byte words: (%_1 + 1) / 2
+            int roundedRegister = invokeRegisterCount("i32");
+            builder.append("%_").append(roundedRegister).append(" = add i32 %_").append(sizeOfArrayRegister).append(", 1\n");
+            int wordsRegister = invokeRegisterCount("i32");
+            builder.append("%_").append(wordsRegister).append(" = lshr i32 %_").append(roundedRegister).append(", 1\n");
+            int words64Register = invokeRegisterCount("i64");
+            builder.append("%_").append(words64Register).append(" = zext i32 %_").append(wordsRegister).append(" to i64\n");
+            int bytesRegister = invokeRegisterCount("i64");
+            builder.append("%_").append(bytesRegister).append(" = shl i64 %_").append(words64Register).append(", 3\n");
+            arenaAllocate(callocRegister, "%_" + wordsRegister, "i64 %_" + bytesRegister);
+        } else {
+            // 	%_2 = call i8* @calloc(i32 4, i32 %_1)
+            builder.append("%_");
+            builder.append(callocRegister);
+            builder.append(" = call i8* @calloc(i32 4, i32 %_");
+            builder.append(sizeOfArrayRegister);
+            builder.append(")\n");
+        }
         // %_3 = bitcast i8* %_2 to i32*
         int bitcastRegister = invokeRegisterCount("i8*");
         builder.append("%_");
@@ -1180,20 +1558,61 @@ public class AstLlvmPrintVisitor implements Visitor {
         currentCallocRegister = "%_" + bitcastRegister;
     }
 
+    // %_N = words zeroed 8 byte words from the arena; bytes is "i32 24" or "i64 %_7", words times 8
+    private void arenaAllocate(int register, String words, String bytes) {
+        int labelRefill = invokeIfRegisterCount();
+        int labelBump = invokeIfRegisterCount();
+        int labelJoin = invokeIfRegisterCount();
+        // %_5 = load i8*, i8** @_arena_next
+        int nextRegister = invokeRegisterCount("i8*");
+        builder.append("%_").append(nextRegister).append(" = load i8*, i8** @_arena_next\n");
+        // %_6 = getelementptr i8, i8* %_5, i32 24
+        int bumpedRegister = invokeRegisterCount("i8*");
+        builder.append("%_").append(bumpedRegister).append(" = getelementptr i8, i8* %_").append(nextRegister)
+                .append(", ").append(bytes).append("\n");
+        // %_7 = load i8*, i8** @_arena_end
+        int endRegister = invokeRegisterCount("i8*");
+        builder.append("%_").append(endRegister).append(" = load i8*, i8** @_arena_end\n");
+        // %_8 = icmp ugt i8* %_6, %_7
+        int fullRegister = invokeRegisterCount("i1");
+        builder.append("%_").append(fullRegister).append(" = icmp ugt i8* %_").append(bumpedRegister)
+                .append(", %_").append(endRegister).append("\n");
+        builder.append("br i1 %_").append(fullRegister).append(", label %if").append(labelRefill)
+                .append(", label %if").append(labelBump).append("\n");
+        // %_9 = call i8* @arena_refill(i32 3)
+        label(labelRefill);
+        int refillRegister = invokeRegisterCount("i8*");
+        builder.append("%_").append(refillRegister).append(" = call i8* @arena_refill(i32 ").append(words).append(")\n");
+        builder.append("br label %if").append(labelJoin).append("\n");
+        // store i8* %_6, i8** @_arena_next
+        label(labelBump);
+        builder.append("store i8* %_").append(bumpedRegister).append(", i8** @_arena_next\n");
+        builder.append("br label %if").append(labelJoin).append("\n");
+        // %_0 = phi i8* [%_9, %if0], [%_5, %if1]
+        label(labelJoin);
+        builder.append("%_").append(register).append(" = phi i8* [%_").append(refillRegister).append(", %if").append(labelRefill)
+                .append("], [%_").append(nextRegister).append(", %if").append(labelBump).append("]\n");
+    }
+
     @Override
     public void visit(NewObjectExpr e) {
         int objectReg = invokeRegisterCount("i8*");
         int vTable = invokeRegisterCount("i8**");
         int vTableFirstElement = invokeRegisterCount("i8*");
-        ObjectStruct objectStruct = VtableCreator.getObjectStructMap().get(e.classId());
+        ObjectStruct objectStruct = context.getObjectStructMap().get(e.classId());
         int sizeOfObject = objectStruct.getSizeInBytes();
         int methodsCount = objectStruct.getMethodeInfoMap().size();
-        // %_0 = call i8* @calloc(i32 1, i32 12)
-        builder.append("%_");
-        builder.append(objectReg);
-        builder.append(" = call i8* @calloc(i32 1, i32 ");
-        builder.append(sizeOfObject);
-        builder.append(")\n");
+        if (arena) {
+            int words = (sizeOfObject + 7) / 8;
+            arenaAllocate(objectReg, "" + words, "i32 " + 8 * words);
+        } else {
+            // %_0 = call i8* @calloc(i32 1, i32 12)
+            builder.append("%_");
+            builder.append(objectReg);
+            builder.append(" = call i8* @calloc(i32 1, i32 ");
+            builder.append(sizeOfObject);
+            builder.append(")\n");
+        }
         // %_1 = bitcast i8* %_0 to i8***
         builder.append("%_");
         builder.append(vTable);
@@ -1231,14 +1650,14 @@ public class AstLlvmPrintVisitor implements Visitor {
             builder.append(e.e() instanceof TrueExpr ? "1" : "0");
             builder.append("\n");
         } else {
+            String value = getLastValue();
             if (e.e() instanceof IdentifierExpr) {
-                resolveVariable(((IdentifierExpr) e.e()).id(), currentMethod, true);
+                value = resolveVariable((IdentifierExpr) e.e(), true);
             }
-            int lastReg = getLastRegisterCount();
             builder.append("%_");
             builder.append(invokeRegisterCount("i1"));
-            builder.append(" = sub i1 1, %_");
-            builder.append(lastReg);
+            builder.append(" = sub i1 1, ");
+            builder.append(value);
             builder.append("\n");
         }
     }
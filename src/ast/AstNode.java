@@ -1,10 +1,15 @@
 package ast;
 
 import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlTransient;
 
 public abstract class AstNode {
     @XmlElement(required = false)
     public Integer lineNumber;
+    // index of the node's start tag among all start tags of the XML it was read from, -1 if it was not
+    // read by AstXMLStreamDeserializer
+    @XmlTransient
+    public int xmlElement = -1;
 
     public AstNode() {
         lineNumber = null;
@@ -1,5 +1,8 @@
 package ast;
 
+import symbolTable.ClassHierarchy;
+import symbolTable.ClassMembers;
+import symbolTable.CompilationContext;
 import symbolTable.Symbol;
 import symbolTable.SymbolTable;
 import symbolTable.SymbolTableUtils;
@@ -8,18 +11,23 @@ import symbolTable.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 public class AstTypesVisitor implements Visitor {
 
+    private final SymbolTableUtils symbolTableUtils;
     private String errorMsg = "";
     private boolean error = false;
     private String currentMethod;
+    private SymbolTable currentMethodSymbolTable;
     private String currentClass;
     private String currentType;
 
     List<String> primitiveTypes = Arrays.asList("int", "boolean", "intArray");
 
+    public AstTypesVisitor(CompilationContext context) {
+        this.symbolTableUtils = context.getSymbolTableUtils();
+    }
+
     // sets error
     private void setError(String errorString) {
         error = true;
@@ -36,124 +44,52 @@ public class AstTypesVisitor implements Visitor {
 
     // Checks if a is subtype of b
     private boolean isSubTypeOf(String typeA, String typeB) {
-        boolean bIsPrimitive = false;
-        for (var type : primitiveTypes) {
-            if (typeA.equals(type)) {
-                if (!typeA.equals(typeB)) {
-                    return false;
-                } else {
-                    return true;
-                }
-            }
-            if (typeB.equals(type)) {
-                bIsPrimitive = true;
-            }
+        if (primitiveTypes.contains(typeA)) {
+            return typeA.equals(typeB);
         }
-
-        if(bIsPrimitive) {
+        if (primitiveTypes.contains(typeB)) {
             return false;
         }
-        SymbolTable typeASymbolTable = SymbolTableUtils.getSymbolTableClassMap_real().get(typeA);
-        SymbolTable typeBSymbolTable = SymbolTableUtils.getSymbolTableClassMap_real().get(typeB);
-
-        SymbolTable symbolTable = typeASymbolTable;
-        if (symbolTable == typeBSymbolTable) {
-            return true;
-        }
-        while (symbolTable != null) {
-            symbolTable = symbolTable.getParentSymbolTable();
-            if (symbolTable != null && symbolTable == typeBSymbolTable) {
-                return true;
-            }
-        }
-
-        return false;
-    }
-
-    // Receives ast node and returns its type
-    private String resolveVariableType(String variableName) {
-        SymbolTable currentSymbolTable = SymbolTableUtils.getSymbolTableClassWithMethodMap().get(currentMethod + currentClass);
-        String type;
-        type = isVariableInSymbolTable(variableName, currentSymbolTable);
-        boolean isField = type == null;
-        if (isField) {
-            SymbolTable parentSymbolTable = currentSymbolTable.getParentSymbolTable();
-            boolean foundField = false;
-            while (parentSymbolTable != null && !foundField) {
-                type = isVariableInSymbolTable(variableName, parentSymbolTable);
-                foundField = type != null;
-                parentSymbolTable = parentSymbolTable.getParentSymbolTable();
-            }
-        }
-        return type;
-    }
-
-    private String isVariableInSymbolTable(String variableName, SymbolTable currentSymbolTable) {
-        for (Map.Entry<String, Symbol> entry : currentSymbolTable.getEntries().entrySet()) {
-            if (entry.getValue().getSymbolName().equals(variableName)) {
-                return entry.getValue().getDecl().get(0);
-            }
+        ClassHierarchy classHierarchy = symbolTableUtils.getClassHierarchy();
+        if (!classHierarchy.contains(typeA) || !classHierarchy.contains(typeB)) {
+            // names that are no class only match each other
+            return !classHierarchy.contains(typeA) && !classHierarchy.contains(typeB);
         }
-        return null;
+        return classHierarchy.isSubclassOf(typeA, typeB);
     }
 
-    private Symbol getSymbol(String methodName, SymbolTable currentSymbolTable) {
-        for (Map.Entry<String, Symbol> entry : currentSymbolTable.getEntries().entrySet()) {
-            if (entry.getKey().equals(SymbolTable.createKey(methodName, Type.METHOD))) {
-                return entry.getValue();
-            }
+    // slot is the local's or formal's slot in the current method, -1 for a field
+    private String resolveVariableType(String variableName, int slot) {
+        Symbol symbol;
+        if (slot >= 0) {
+            symbol = currentMethodSymbolTable.getSymbol(slot);
+        } else {
+            symbol = symbolTableUtils.getClassMembers(currentClass).getMember(variableName);
         }
-        return null;
+        return symbol == null ? null : symbol.getDecl().get(0);
     }
 
     // Returns whether the method is root or not
-    private boolean isRootMethod(String methodName) {
-        SymbolTable currentSymbolTable = SymbolTableUtils.getSymbolTableClassMap_real().get(currentClass);
-        return getSymbol(methodName, currentSymbolTable).isRootMethod();
+    private boolean isRootMethod(MethodDecl methodDecl) {
+        SymbolTable currentSymbolTable = symbolTableUtils.getSymbolTableClassMap_real().get(currentClass);
+        return currentSymbolTable.getSymbol(methodDecl.nameId(), Type.METHOD).isRootMethod();
     }
 
 
     // Returns root method - only when the current class doesn't have it
     private Symbol getRootMethod(String methodName) {
-        SymbolTable currentSymbolTable = SymbolTableUtils.getSymbolTableClassMap_real().get(currentClass);
-//        currentSymbolTable = currentSymbolTable.getParentSymbolTable();
-        while (currentSymbolTable != null) {
-            Symbol symbol = getSymbol(methodName, currentSymbolTable);
-            if (symbol != null) {
-                return symbol;
-            }
-            currentSymbolTable = currentSymbolTable.getParentSymbolTable();
-        }
-        return null;
+        return symbolTableUtils.getClassMembers(currentClass).getMethod(methodName);
     }
 
     // Returns closet anestor method with the same name- to check override
     private Symbol getAncestorMethod(String methodName) {
-        SymbolTable currentSymbolTable = SymbolTableUtils.getSymbolTableClassMap_real().get(currentClass);
-        currentSymbolTable = currentSymbolTable.getParentSymbolTable();
-        while (currentSymbolTable != null) {
-            Symbol symbol = getSymbol(methodName, currentSymbolTable);
-            if (symbol != null) {
-                return symbol;
-            }
-            currentSymbolTable = currentSymbolTable.getParentSymbolTable();
-        }
-        return null;
+        ClassMembers superMembers = symbolTableUtils.getClassMembers(currentClass).getSuperMembers();
+        return superMembers == null ? null : superMembers.getMethod(methodName);
     }
 
 
     private Symbol getMethodCallSymbol(String classId, String methodName) {
-        SymbolTable currentSymbolTable = SymbolTableUtils.getSymbolTableClassMap_real().get(classId);
-        do {
-            Symbol symbol = getSymbol(methodName, currentSymbolTable);
-            if (symbol != null) {
-                return symbol;
-            }
-            currentSymbolTable = currentSymbolTable.getParentSymbolTable();
-
-        } while ((currentSymbolTable != null));
-
-        return null;
+        return symbolTableUtils.getClassMembers(classId).getMethod(methodName);
     }
 
     @Override
@@ -170,11 +106,18 @@ public class AstTypesVisitor implements Visitor {
         currentClass = classDecl.name();
         for (var methodDecl : classDecl.methoddecls()) {
             if(isError()){return;}
-            currentMethod = methodDecl.name();
-            methodDecl.accept(this);
+            checkMethod(classDecl.name(), methodDecl);
         }
     }
 
+    // Checks a single method of class classId - the unit of work of ParallelSemanticChecker
+    public void checkMethod(String classId, MethodDecl methodDecl) {
+        currentClass = classId;
+        currentMethod = methodDecl.name();
+        currentMethodSymbolTable = symbolTableUtils.getSymbolTableClassWithMethodMap().get(currentMethod + currentClass);
+        methodDecl.accept(this);
+    }
+
     @Override
     public void visit(MainClass mainClass) {
         mainClass.mainStatement().accept(this);
@@ -186,7 +129,7 @@ public class AstTypesVisitor implements Visitor {
 //        System.out.println(currentClass);
         Symbol rootMethodSymbol;
         String rootMethodReturnType;
-        if(!isRootMethod(methodDecl.name())){
+        if(!isRootMethod(methodDecl)){
             rootMethodSymbol = getAncestorMethod(methodDecl.name());
             rootMethodReturnType= rootMethodSymbol.getDecl().get(0);
         }
@@ -197,7 +140,7 @@ public class AstTypesVisitor implements Visitor {
 //        System.out.println(rootMethodSymbol.getDecl().size());
 //        System.out.println(rootMethodSymbol.getSymbolName());
         }
-        if (!isRootMethod(methodDecl.name())) {
+        if (!isRootMethod(methodDecl)) {
             int i = 1;
             // check that the variables are exact type of root
             if (methodDecl.formals().size() != rootMethodSymbol.getDecl().size() - 1) {
@@ -249,7 +192,7 @@ public class AstTypesVisitor implements Visitor {
     @Override
     public void visit(FormalArg formalArg) {
         if(isError()){return;}
-        currentType = resolveVariableType(formalArg.name());
+        currentType = resolveVariableType(formalArg.name(), formalArg.slot());
     }
 
     @Override
@@ -310,7 +253,7 @@ public class AstTypesVisitor implements Visitor {
     public void visit(AssignStatement assignStatement) {
         if(isError()){return;}
         // compute lv
-        String typeLv = resolveVariableType(assignStatement.lv());
+        String typeLv = resolveVariableType(assignStatement.lv(), assignStatement.slot());
 
         assignStatement.rv().accept(this);
         if(isError()){return;}
@@ -325,7 +268,7 @@ public class AstTypesVisitor implements Visitor {
     public void visit(AssignArrayStatement assignArrayStatement) {
         if(isError()){return;}
         // compute lv
-        String typeLv = resolveVariableType(assignArrayStatement.lv());
+        String typeLv = resolveVariableType(assignArrayStatement.lv(), assignArrayStatement.slot());
         if (!typeLv.equals("intArray")) {
             setError("Expected: intArray, Received: " + typeLv);
         }
@@ -494,7 +437,7 @@ public class AstTypesVisitor implements Visitor {
     @Override
     public void visit(IdentifierExpr e) {
         if(isError()){return;}
-        currentType = resolveVariableType(e.id());
+        currentType = resolveVariableType(e.id(), e.slot());
     }
 
     public void visit(ThisExpr e) {
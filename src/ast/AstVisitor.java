@@ -7,9 +7,18 @@ import java.util.*;
 
 public class AstVisitor implements Visitor {
 
+    private final CompilationContext context;
+    private final SymbolTableUtils symbolTableUtils;
     private String mainClassName;
+    // table of the method being visited, null in the main class
+    private SymbolTable currentMethodSymbolTable;
     private Set<String> notReferenceTypes = new HashSet<>(Arrays.asList("int","boolean","intArray"));
 
+    public AstVisitor(CompilationContext context) {
+        this.context = context;
+        this.symbolTableUtils = context.getSymbolTableUtils();
+    }
+
     private List<String> prepareDecl(List<FormalArg> list, AstType returnType) {
         ArrayList<String> decl = new ArrayList<>();
         decl.add(returnType.id());
@@ -19,15 +28,32 @@ public class AstVisitor implements Visitor {
         return decl;
     }
 
+    // the slot of a local or formal of the current method, -1 for anything else
+    private int slotOf(Symbol symbol) {
+        return symbol.getEnclosingSymbolTable() == currentMethodSymbolTable ? symbol.getSlot() : -1;
+    }
+
+    // a field the current method uses, which rename must not let a local or formal of the method hide
+    private void addFieldUse(Symbol symbol) {
+        if (currentMethodSymbolTable != null && symbol.getEnclosingSymbolTable() != currentMethodSymbolTable) {
+            context.getFlowUtils().addFieldUse(currentMethodSymbolTable, symbol);
+        }
+    }
+
+    // the id of a name a node refers to, kept on the node so the later passes look it up by int
+    private int nameId(String name) {
+        return context.getNameTable().id(name);
+    }
+
     @Override
     public void visit(Program program) {
-        SymbolTable root = new SymbolTable(null);
-        SymbolTableUtils.setRoot(root);
+        SymbolTable root = new SymbolTable(context);
+        symbolTableUtils.setRoot(root);
         mainClassName = program.mainClass().name();
         for (ClassDecl classdecl : program.classDecls()) {
-            if(SymbolTableUtils.isERROR()){return;}
-            SymbolTableUtils.setCurrSymTable(root);
-            SymbolTableUtils.setCurrClassID(classdecl.name());
+            if(symbolTableUtils.isERROR()){return;}
+            symbolTableUtils.setCurrSymTable(root);
+            symbolTableUtils.setCurrClassID(classdecl.name());
             classdecl.accept(this);
         }
 
@@ -37,87 +63,90 @@ public class AstVisitor implements Visitor {
     @Override
     public void visit(ClassDecl classDecl) {
         if(classDecl.name().equals(mainClassName)){
-            SymbolTableUtils.setERROR(true);
-            SymbolTableUtils.setERRORReasons("class inherits from class that hasn't been defined yet. " +
+            symbolTableUtils.setERROR(true);
+            symbolTableUtils.setERRORReasons("class inherits from class that hasn't been defined yet. " +
                     "or, inherits from class main");
             return;
         }
-        SymbolTable parentSymbolTable = SymbolTableUtils.getCurrSymTable();
+        SymbolTable parentSymbolTable = symbolTableUtils.getCurrSymTable();
         if (classDecl.superName() != null) {
-            parentSymbolTable = SymbolTableUtils.getSymbolTable(classDecl.superName());
+            parentSymbolTable = symbolTableUtils.getSymbolTable(classDecl.superName());
             if(parentSymbolTable==null || classDecl.superName().equals(mainClassName)){
-                SymbolTableUtils.setERROR(true);
-                SymbolTableUtils.setERRORReasons("class inherits from class that hasn't been defined yet. " +
+                symbolTableUtils.setERROR(true);
+                symbolTableUtils.setERRORReasons("class inherits from class that hasn't been defined yet. " +
                         "or, inherits from class main");
                 return;
             }
         }
         SymbolTable classSymbolTable = new SymbolTable(parentSymbolTable);
-        if(SymbolTableUtils.addClassSymbolTable(classDecl.name(), classSymbolTable)){return;}
-        SymbolTableUtils.addSymbolTable(classDecl.name(), classSymbolTable);
-        SymbolTableUtils.addClassMethodSymbolTable(classDecl.name(), classSymbolTable);
+        if(symbolTableUtils.addClassSymbolTable(classDecl.name(), classSymbolTable)){return;}
+        symbolTableUtils.addSymbolTable(classDecl.name(), classSymbolTable);
+        symbolTableUtils.addClassMethodSymbolTable(classDecl.name(), classSymbolTable);
 
 
         for (var fieldDecl : classDecl.fields()) {
             String type = fieldDecl.type().id();
             if(!notReferenceTypes.contains(type)){
-                if(!SymbolTableUtils.getSymbolTableClassMap_real().containsKey(type)){
-                    SymbolTableUtils.addUnresolvedClasses(type);
+                if(!symbolTableUtils.getSymbolTableClassMap_real().containsKey(type)){
+                    symbolTableUtils.addUnresolvedClasses(type);
                 }
             }
             ArrayList<String> decl = new ArrayList<>();
             decl.add(fieldDecl.type().id());
             String className = fieldDecl.name();
-            if(classSymbolTable.checkFieldWasDeclaredBefore(SymbolTable.createKey(className,Type.VARIABLE))){return;}
-            classSymbolTable.addSymbol(fieldDecl, fieldDecl.name(), Type.VARIABLE, decl);
+            if(classSymbolTable.checkFieldWasDeclaredBefore(className)){return;}
+            fieldDecl.setNameId(classSymbolTable.addSymbol(fieldDecl, fieldDecl.name(), Type.VARIABLE, decl).getNameId());
 
         }
         for (var methodDecl : classDecl.methoddecls()) {
-            if(SymbolTableUtils.isERROR()){return;}
+            if(symbolTableUtils.isERROR()){return;}
             List<String> decl = prepareDecl(methodDecl.formals(), methodDecl.returnType());
-            if(classSymbolTable.checkWasAlreadyDeclared(SymbolTable.createKey(methodDecl.name(),Type.METHOD))){return;}
+            if(classSymbolTable.checkWasAlreadyDeclared(methodDecl.name(), Type.METHOD)){return;}
             Symbol methodSymbol = classSymbolTable.addSymbol(methodDecl, methodDecl.name(), Type.METHOD, decl);
-            Symbol rootMethodSymbol = SymbolTableUtils.getCurrSymTable().resolveSymbol(SymbolTable.createKey(methodDecl.name(), Type.METHOD));
+            methodDecl.setNameId(methodSymbol.getNameId());
+            Symbol rootMethodSymbol = symbolTableUtils.getCurrSymTable().lookupMethod(methodDecl.nameId());
             if (rootMethodSymbol != null) {
                 rootMethodSymbol.addProperty(methodDecl, methodSymbol);
             } else {
                 methodSymbol.enableRootMethod();
             }
 
-            SymbolTableUtils.setCurrSymTable(classSymbolTable);
+            symbolTableUtils.setCurrSymTable(classSymbolTable);
             methodDecl.accept(this);
         }
     }
 
     @Override
     public void visit(MainClass mainClass) {
-        if(SymbolTableUtils.isERROR()){return;}
+        if(symbolTableUtils.isERROR()){return;}
         // This is a new scope -> create new symbol table
-        SymbolTable symbolTable = new SymbolTable(SymbolTableUtils.getRoot());
-        SymbolTableUtils.addSymbolTable(mainClass.name(), symbolTable);
+        SymbolTable symbolTable = new SymbolTable(symbolTableUtils.getRoot());
+        symbolTableUtils.addSymbolTable(mainClass.name(), symbolTable);
         // MainClass has argsName parameter only - create symbol
         ArrayList<String> decl = new ArrayList<>();
         decl.add("String[]");
-        SymbolTableUtils.getCurrSymTable().addSymbol(mainClass, mainClass.argsName(), Type.VARIABLE, decl);
+        symbolTableUtils.getCurrSymTable().addSymbol(mainClass, mainClass.argsName(), Type.VARIABLE, decl);
+        currentMethodSymbolTable = null;
         mainClass.mainStatement().accept(this);
     }
 
     @Override
     public void visit(MethodDecl methodDecl) {
-        SymbolTable methodSymbolTable = new SymbolTable(SymbolTableUtils.getCurrSymTable());
-        SymbolTableUtils.addSymbolTable(methodDecl.name(), methodSymbolTable);
-        SymbolTableUtils.addClassMethodSymbolTable(methodDecl.name() + SymbolTableUtils.getCurrClassId(), methodSymbolTable);
+        SymbolTable methodSymbolTable = new SymbolTable(symbolTableUtils.getCurrSymTable());
+        symbolTableUtils.addSymbolTable(methodDecl.name(), methodSymbolTable);
+        symbolTableUtils.addClassMethodSymbolTable(methodDecl.name() + symbolTableUtils.getCurrClassId(), methodSymbolTable);
+        currentMethodSymbolTable = methodSymbolTable;
         Set<String> formals = new HashSet<>();
         for (var formal : methodDecl.formals()) {
             String type = formal.type().id();
             if(!notReferenceTypes.contains(type)){
-                if(!SymbolTableUtils.getSymbolTableClassMap_real().containsKey(type)){
-                    SymbolTableUtils.addUnresolvedClasses(type);
+                if(!symbolTableUtils.getSymbolTableClassMap_real().containsKey(type)){
+                    symbolTableUtils.addUnresolvedClasses(type);
                 }
             }
             if(formals.contains(formal.name())){
-                SymbolTableUtils.setERROR(true);
-                SymbolTableUtils.setERRORReasons("there are at last two formal params with the same name");
+                symbolTableUtils.setERROR(true);
+                symbolTableUtils.setERRORReasons("there are at last two formal params with the same name");
                 return;
             }
             else{
@@ -125,28 +154,32 @@ public class AstVisitor implements Visitor {
             }
             ArrayList<String> decl = new ArrayList<>();
             decl.add(formal.type().id());
-            methodSymbolTable.addSymbol(formal, formal.name(), Type.VARIABLE, decl);
+            Symbol formalSymbol = methodSymbolTable.addSymbol(formal, formal.name(), Type.VARIABLE, decl);
+            formal.setNameId(formalSymbol.getNameId());
+            formal.setSlot(formalSymbol.getSlot());
         }
 
         for (var varDecl : methodDecl.vardecls()) {
             String type = varDecl.type().id();
             if(!notReferenceTypes.contains(type)){
-                if(!SymbolTableUtils.getSymbolTableClassMap_real().containsKey(type)){
-                    SymbolTableUtils.addUnresolvedClasses(type);
+                if(!symbolTableUtils.getSymbolTableClassMap_real().containsKey(type)){
+                    symbolTableUtils.addUnresolvedClasses(type);
                 }
             }
             ArrayList<String> decl = new ArrayList<>();
             decl.add(varDecl.type().id());
             String varName = varDecl.name();
-            if(methodSymbolTable.checkWasAlreadyDeclared(SymbolTable.createKey(varName,Type.VARIABLE))){return;}
-            methodSymbolTable.addSymbol(varDecl, varDecl.name(), Type.VARIABLE, decl);
+            if(methodSymbolTable.checkWasAlreadyDeclared(varName, Type.VARIABLE)){return;}
+            Symbol varSymbol = methodSymbolTable.addSymbol(varDecl, varDecl.name(), Type.VARIABLE, decl);
+            varDecl.setNameId(varSymbol.getNameId());
+            varDecl.setSlot(varSymbol.getSlot());
         }
 
         for (var stmt : methodDecl.body()) {
-            if(SymbolTableUtils.isERROR()){return;}
+            if(symbolTableUtils.isERROR()){return;}
             stmt.accept(this);
         }
-        if(SymbolTableUtils.isERROR()){return;}
+        if(symbolTableUtils.isERROR()){return;}
         methodDecl.ret().accept(this);
     }
 
@@ -157,54 +190,57 @@ public class AstVisitor implements Visitor {
 
     @Override
     public void visit(VarDecl varDecl) {
-        if(SymbolTableUtils.isERROR()){return;}
+        if(symbolTableUtils.isERROR()){return;}
         varDecl.type().accept(this);
     }
 
     @Override
     public void visit(BlockStatement blockStatement) {
-        if(SymbolTableUtils.isERROR()){return;}
-        SymbolTable blockSymbolTable = new SymbolTable(SymbolTableUtils.getCurrSymTable());
-        SymbolTableUtils.addSymbolTable(String.valueOf(blockStatement.lineNumber), blockSymbolTable);
+        if(symbolTableUtils.isERROR()){return;}
+        SymbolTable blockSymbolTable = new SymbolTable(symbolTableUtils.getCurrSymTable());
+        symbolTableUtils.addSymbolTable(String.valueOf(blockStatement.lineNumber), blockSymbolTable);
         for (var s : blockStatement.statements()) {
-            if(SymbolTableUtils.isERROR()){return;}
+            if(symbolTableUtils.isERROR()){return;}
             s.accept(this);
         }
     }
 
     @Override
     public void visit(IfStatement ifStatement) {
-        if(SymbolTableUtils.isERROR()){return;}
+        if(symbolTableUtils.isERROR()){return;}
         ifStatement.cond().accept(this);
-        if(SymbolTableUtils.isERROR()){return;}
+        if(symbolTableUtils.isERROR()){return;}
         ifStatement.thencase().accept(this);
-        if(SymbolTableUtils.isERROR()){return;}
+        if(symbolTableUtils.isERROR()){return;}
         ifStatement.elsecase().accept(this);
     }
 
     @Override
     public void visit(WhileStatement whileStatement) {
-        if(SymbolTableUtils.isERROR()){return;}
+        if(symbolTableUtils.isERROR()){return;}
         whileStatement.cond().accept(this);
-        if(SymbolTableUtils.isERROR()){return;}
+        if(symbolTableUtils.isERROR()){return;}
         whileStatement.body().accept(this);
     }
 
     @Override
     public void visit(SysoutStatement sysoutStatement) {
-        if(SymbolTableUtils.isERROR()){return;}
+        if(symbolTableUtils.isERROR()){return;}
         sysoutStatement.arg().accept(this);
     }
 
     @Override
     public void visit(AssignStatement assignStatement) {
-        if(SymbolTableUtils.isERROR()){return;}
-        Symbol rootSymbol = SymbolTableUtils.getCurrSymTable().resolveSymbol(SymbolTable.createKey(assignStatement.lv(), Type.VARIABLE));
+        if(symbolTableUtils.isERROR()){return;}
+        assignStatement.setNameId(nameId(assignStatement.lv()));
+        Symbol rootSymbol = symbolTableUtils.getCurrSymTable().lookupVariable(assignStatement.nameId());
         if (rootSymbol != null) {
             rootSymbol.addProperty(assignStatement);
+            assignStatement.setSlot(slotOf(rootSymbol));
+            addFieldUse(rootSymbol);
         } else {
-            SymbolTableUtils.setERROR(true);
-            SymbolTableUtils.setERRORReasons("reference to object that has not been declared before");
+            symbolTableUtils.setERROR(true);
+            symbolTableUtils.setERRORReasons("reference to object that has not been declared before");
             return;
         }
         assignStatement.rv().accept(this);
@@ -212,125 +248,134 @@ public class AstVisitor implements Visitor {
 
     @Override
     public void visit(AssignArrayStatement assignArrayStatement) {
-        if(SymbolTableUtils.isERROR()){return;}
-        Symbol rootSymbol = SymbolTableUtils.getCurrSymTable().resolveSymbol(SymbolTable.createKey(assignArrayStatement.lv(), Type.VARIABLE));
+        if(symbolTableUtils.isERROR()){return;}
+        assignArrayStatement.setNameId(nameId(assignArrayStatement.lv()));
+        Symbol rootSymbol = symbolTableUtils.getCurrSymTable().lookupVariable(assignArrayStatement.nameId());
         if (rootSymbol != null) {
             rootSymbol.addProperty(assignArrayStatement);
+            assignArrayStatement.setSlot(slotOf(rootSymbol));
+            addFieldUse(rootSymbol);
         } else {
-            SymbolTableUtils.setERROR(true);
-            SymbolTableUtils.setERRORReasons("reference to object that has not been declared before");
+            symbolTableUtils.setERROR(true);
+            symbolTableUtils.setERRORReasons("reference to object that has not been declared before");
             return;
         }
         assignArrayStatement.index().accept(this);
-        if(SymbolTableUtils.isERROR()){return;}
+        if(symbolTableUtils.isERROR()){return;}
         assignArrayStatement.rv().accept(this);
     }
 
     @Override
     public void visit(AndExpr e) {
-        if(SymbolTableUtils.isERROR()){return;}
+        if(symbolTableUtils.isERROR()){return;}
         e.e1().accept(this);
-        if(SymbolTableUtils.isERROR()){return;}
+        if(symbolTableUtils.isERROR()){return;}
         e.e2().accept(this);
     }
 
     @Override
     public void visit(LtExpr e) {
-        if(SymbolTableUtils.isERROR()){return;}
+        if(symbolTableUtils.isERROR()){return;}
         e.e1().accept(this);
-        if(SymbolTableUtils.isERROR()){return;}
+        if(symbolTableUtils.isERROR()){return;}
         e.e2().accept(this);
     }
 
     @Override
     public void visit(AddExpr e) {
-        if(SymbolTableUtils.isERROR()){return;}
+        if(symbolTableUtils.isERROR()){return;}
         e.e1().accept(this);
-        if(SymbolTableUtils.isERROR()){return;}
+        if(symbolTableUtils.isERROR()){return;}
         e.e2().accept(this);
     }
 
     @Override
     public void visit(SubtractExpr e) {
-        if(SymbolTableUtils.isERROR()){return;}
+        if(symbolTableUtils.isERROR()){return;}
         e.e1().accept(this);
-        if(SymbolTableUtils.isERROR()){return;}
+        if(symbolTableUtils.isERROR()){return;}
         e.e2().accept(this);
     }
 
     @Override
     public void visit(MultExpr e) {
-        if(SymbolTableUtils.isERROR()){return;}
+        if(symbolTableUtils.isERROR()){return;}
         e.e1().accept(this);
-        if(SymbolTableUtils.isERROR()){return;}
+        if(symbolTableUtils.isERROR()){return;}
         e.e2().accept(this);
     }
 
     @Override
     public void visit(ArrayAccessExpr e) {
-        if(SymbolTableUtils.isERROR()){return;}
+        if(symbolTableUtils.isERROR()){return;}
         e.arrayExpr().accept(this);
-        if(SymbolTableUtils.isERROR()){return;}
+        if(symbolTableUtils.isERROR()){return;}
         e.indexExpr().accept(this);
     }
 
     @Override
     public void visit(ArrayLengthExpr e) {
-        if(SymbolTableUtils.isERROR()){return;}
+        if(symbolTableUtils.isERROR()){return;}
         e.arrayExpr().accept(this);
     }
 
     @Override
     public void visit(MethodCallExpr e) {
-        if(SymbolTableUtils.isERROR()){return;}
+        if(symbolTableUtils.isERROR()){return;}
         AstNode ownerExp = e.ownerExpr();
         Symbol symbol;
-        String symbolKey = SymbolTable.createKey(e.methodId(), Type.METHOD);
         String classId;
         SymbolTable symbolTable;
+        e.setNameId(nameId(e.methodId()));
         for (Expr arg : e.actuals()) {
             arg.accept(this);
         }
 
         if (ownerExp instanceof ThisExpr) {
-            classId = SymbolTableUtils.getCurrClassId();
-            symbolTable = SymbolTableUtils.getCurrSymTable();
+            classId = symbolTableUtils.getCurrClassId();
+            symbolTable = symbolTableUtils.getCurrSymTable();
         } else if (ownerExp instanceof NewObjectExpr) {
             classId = ((NewObjectExpr) ownerExp).classId();
-            symbolTable = SymbolTableUtils.getSymbolTable(classId);
+            symbolTable = symbolTableUtils.getSymbolTable(classId);
         } else if (ownerExp instanceof IdentifierExpr){
-            Symbol ownerSymbol = SymbolTableUtils.getCurrSymTable().resolveSymbol(SymbolTable.createKey(((IdentifierExpr) ownerExp).id(), Type.VARIABLE));
+            IdentifierExpr owner = (IdentifierExpr) ownerExp;
+            owner.setNameId(nameId(owner.id()));
+            Symbol ownerSymbol = symbolTableUtils.getCurrSymTable().lookupVariable(owner.nameId());
             if(ownerSymbol == null) {
-                SymbolTableUtils.setERROR(true);
-                SymbolTableUtils.setERRORReasons("method call should be invoked with existing variable");
+                symbolTableUtils.setERROR(true);
+                symbolTableUtils.setERRORReasons("method call should be invoked with existing variable");
                 return;
             }
+            // the owner is a reference to the variable too, rename has to see it
+            ownerSymbol.addProperty(ownerExp);
+            owner.setSlot(slotOf(ownerSymbol));
+            addFieldUse(ownerSymbol);
             classId = ownerSymbol.getDecl().get(0);
             if(notReferenceTypes.contains(classId)){
-                SymbolTableUtils.setERROR(true);
-                SymbolTableUtils.setERRORReasons("method call should be invoked with this, new or variable");
+                symbolTableUtils.setERROR(true);
+                symbolTableUtils.setERRORReasons("method call should be invoked with this, new or variable");
                 return;
             }
             else {
-                symbolTable = SymbolTableUtils.getSymbolTable(classId);
+                symbolTable = symbolTableUtils.getSymbolTable(classId);
             }
         }
         else{
-            SymbolTableUtils.setERROR(true);
-            SymbolTableUtils.setERRORReasons("method call should be invoked with this, new or variable");
+            symbolTableUtils.setERROR(true);
+            symbolTableUtils.setERRORReasons("method call should be invoked with this, new or variable");
             return;
         }
         if (symbolTable == null) {
             if (classId != null) {
-                SymbolTableUtils.addUnresolvedParam(classId, e.methodId(), e);
+                symbolTableUtils.addUnresolvedParam(classId, e.methodId(), e);
                 return;
             }
             // handle error why the hell should we get here-
             return;
         }
-        symbol = symbolTable.resolveSymbol(symbolKey);
+        symbol = symbolTable.lookupMethod(e.nameId());
         if(symbol == null) {
-            SymbolTableUtils.addUnresolvedParam(classId, e.methodId(), e);
+            symbolTableUtils.addUnresolvedParam(classId, e.methodId(), e);
             return;
         }
         symbol.addProperty(e);
@@ -351,14 +396,17 @@ public class AstVisitor implements Visitor {
 
     @Override
     public void visit(IdentifierExpr e) {
-        if(SymbolTableUtils.isERROR()){return;}
-        Symbol symbol = SymbolTableUtils.getCurrSymTable().resolveSymbol(SymbolTable.createKey(e.id(), Type.VARIABLE));
+        if(symbolTableUtils.isERROR()){return;}
+        e.setNameId(nameId(e.id()));
+        Symbol symbol = symbolTableUtils.getCurrSymTable().lookupVariable(e.nameId());
         if(symbol==null){
-            SymbolTableUtils.setERROR(true);
-            SymbolTableUtils.setERRORReasons("reference to object that has not been declared before");
+            symbolTableUtils.setERROR(true);
+            symbolTableUtils.setERRORReasons("reference to object that has not been declared before");
             return;
         }
         symbol.addProperty(e);
+        e.setSlot(slotOf(symbol));
+        addFieldUse(symbol);
     }
 
     public void visit(ThisExpr e) {
@@ -366,20 +414,20 @@ public class AstVisitor implements Visitor {
 
     @Override
     public void visit(NewIntArrayExpr e) {
-        if(SymbolTableUtils.isERROR()){return;}
+        if(symbolTableUtils.isERROR()){return;}
         e.lengthExpr().accept(this);
     }
 
     @Override
     public void visit(NewObjectExpr e) {
-        if(!SymbolTableUtils.getSymbolTableClassMap_real().containsKey(e.classId())){
-            SymbolTableUtils.addUnresolvedClasses(e.classId());
+        if(!symbolTableUtils.getSymbolTableClassMap_real().containsKey(e.classId())){
+            symbolTableUtils.addUnresolvedClasses(e.classId());
         }
     }
 
     @Override
     public void visit(NotExpr e) {
-        if(SymbolTableUtils.isERROR()){return;}
+        if(symbolTableUtils.isERROR()){return;}
         e.e().accept(this);
     }
 
@@ -397,10 +445,10 @@ public class AstVisitor implements Visitor {
 
     @Override
     public void visit(RefType t) {
-        Symbol symbol = SymbolTableUtils.getCurrSymTable().resolveSymbol(SymbolTable.createKey(t.id(), Type.VARIABLE));
+        Symbol symbol = symbolTableUtils.getCurrSymTable().lookupVariable(t.id());
         if (symbol == null) {
-            SymbolTableUtils.setERROR(true);
-            SymbolTableUtils.setERRORReasons("reference to object that has not been declared before");
+            symbolTableUtils.setERROR(true);
+            symbolTableUtils.setERRORReasons("reference to object that has not been declared before");
             return;
         }
         symbol.addProperty(t);
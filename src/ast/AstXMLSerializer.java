@@ -4,9 +4,19 @@ import javax.xml.bind.*;
 import java.io.*;
 
 public class AstXMLSerializer {
+    // JAXBContext is thread safe and expensive to build, so one is shared by every serializer in the JVM
+    private static JAXBContext context;
+
+    private static synchronized JAXBContext getContext() throws JAXBException {
+        if (context == null) {
+            context = JAXBContext.newInstance(Program.class);
+        }
+        return context;
+    }
+
     public void serialize(AstNode ast, String outfilename) throws IOException {
         try {
-            JAXBContext jc = JAXBContext.newInstance(Program.class);
+            JAXBContext jc = getContext();
 
             Marshaller marshaller = jc.createMarshaller();
             marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
@@ -27,7 +37,7 @@ public class AstXMLSerializer {
 
     public Program deserialize(File file) {
         try {
-            JAXBContext jc = JAXBContext.newInstance(Program.class);
+            JAXBContext jc = getContext();
 
             Unmarshaller unmarshaller = jc.createUnmarshaller();
             return (Program) unmarshaller.unmarshal(file);
@@ -0,0 +1,431 @@
+package ast;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Reads AST XML with a StAX cursor straight into the AST classes, without the reflection of JAXB.
+// It accepts exactly the documents schema/ast.xsd allows; anything else (unknown or misplaced elements,
+// missing required elements, attributes, ...) is handed to AstXMLSerializer, so invalid inputs get
+// whatever JAXB made of them before. Equal identifiers share one String.
+//
+// Every node reader starts on the start tag of its node and returns on the matching end tag. Nodes remember
+// the index of their start tag among all start tags of the document (AstNode.xmlElement), which
+// AstXMLStreamRenamer uses to find them again.
+public class AstXMLStreamDeserializer {
+    private static final XMLInputFactory factory = XMLInputFactory.newFactory();
+
+    static {
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        // the schema has no namespace; without namespace processing a prefixed name or an xmlns
+        // declaration shows up as an unknown element or an attribute and is rejected as such
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+    }
+
+    private XMLStreamReader reader;
+    private final Map<String, String> strings = new HashMap<>();
+    // start tags read so far
+    private int elements;
+
+    // the line number and start tag index of a node
+    private record NodeStart(Integer line, int element) {
+    }
+
+    public Program deserialize(File file) throws IOException {
+        try {
+            return deserializeStrict(file);
+        } catch (XMLStreamException e) {
+            return new AstXMLSerializer().deserialize(file);
+        }
+    }
+
+    // fails on anything outside the schema
+    public Program deserializeStrict(File file) throws IOException, XMLStreamException {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file), 1 << 16)) {
+            synchronized (factory) {
+                reader = factory.createXMLStreamReader(in);
+            }
+            try {
+                advance();
+                requireStart("program");
+                Program program = program();
+                while (reader.hasNext()) {
+                    // only comments, whitespace and processing instructions may follow
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                        throw error("content after </program>");
+                    }
+                }
+                return program;
+            } catch (NumberFormatException e) {
+                throw error("bad number: " + e.getMessage());
+            } finally {
+                reader.close();
+                reader = null;
+                strings.clear();
+                elements = 0;
+            }
+        }
+    }
+
+    private XMLStreamException error(String message) {
+        return new XMLStreamException(message, reader.getLocation());
+    }
+
+    // moves to the next start or end tag, failing on text between elements
+    private void advance() throws XMLStreamException {
+        reader.nextTag();
+        if (reader.isStartElement()) {
+            elements++;
+            if (reader.getAttributeCount() != 0) {
+                throw error("unexpected attribute on <" + reader.getLocalName() + ">");
+            }
+        }
+    }
+
+    private boolean atStart(String name) {
+        return reader.isStartElement() && reader.getLocalName().equals(name);
+    }
+
+    private void requireStart(String name) throws XMLStreamException {
+        if (!atStart(name)) {
+            throw error("expected <" + name + ">");
+        }
+    }
+
+    private void requireEnd() throws XMLStreamException {
+        if (!reader.isEndElement()) {
+            throw error("unexpected <" + reader.getLocalName() + ">");
+        }
+    }
+
+    private String intern(String s) {
+        String existing = strings.putIfAbsent(s, s);
+        return existing == null ? s : existing;
+    }
+
+    private static <T extends AstNode> T withLine(T node, NodeStart start) {
+        node.lineNumber = start.line();
+        node.xmlElement = start.element();
+        return node;
+    }
+
+    // called on the start tag of a node: the optional lineNumber every node starts with; leaves the
+    // reader on the tag after it
+    private NodeStart lineNumber() throws XMLStreamException {
+        int element = elements - 1;
+        advance();
+        if (atStart("lineNumber")) {
+            int line = Integer.parseInt(reader.getElementText().trim());
+            advance();
+            return new NodeStart(line, element);
+        }
+        return new NodeStart(null, element);
+    }
+
+    // the end tag of a node, after its last child
+    private void end() throws XMLStreamException {
+        requireEnd();
+    }
+
+    private String text(String name) throws XMLStreamException {
+        requireStart(name);
+        String text = intern(reader.getElementText());
+        advance();
+        return text;
+    }
+
+    private int number(String name) throws XMLStreamException {
+        requireStart(name);
+        int number = Integer.parseInt(reader.getElementText().trim());
+        advance();
+        return number;
+    }
+
+    private void startList(String name) throws XMLStreamException {
+        requireStart(name);
+        advance();
+    }
+
+    private void endList() throws XMLStreamException {
+        requireEnd();
+        advance();
+    }
+
+    private Program program() throws XMLStreamException {
+        NodeStart line = lineNumber();
+        requireStart("mainclass");
+        MainClass mainClass = mainClass();
+        advance();
+        List<ClassDecl> classDecls = new ArrayList<>();
+        startList("classdecls");
+        while (atStart("classdecl")) {
+            classDecls.add(classDecl());
+            advance();
+        }
+        endList();
+        end();
+        return withLine(new Program(mainClass, classDecls), line);
+    }
+
+    private MainClass mainClass() throws XMLStreamException {
+        NodeStart line = lineNumber();
+        String name = text("name");
+        String argsName = text("argsName");
+        Statement mainStatement = statementWrapper("mainStatement");
+        end();
+        return withLine(new MainClass(name, argsName, mainStatement), line);
+    }
+
+    private ClassDecl classDecl() throws XMLStreamException {
+        NodeStart line = lineNumber();
+        String name = text("name");
+        String superName = atStart("superName") ? text("superName") : null;
+        List<VarDecl> fields = new ArrayList<>();
+        startList("fields");
+        while (atStart("field")) {
+            fields.add(varDecl());
+            advance();
+        }
+        endList();
+        List<MethodDecl> methodDecls = new ArrayList<>();
+        startList("methoddecls");
+        while (atStart("methoddecl")) {
+            methodDecls.add(methodDecl());
+            advance();
+        }
+        endList();
+        end();
+        return withLine(new ClassDecl(name, superName, fields, methodDecls), line);
+    }
+
+    private MethodDecl methodDecl() throws XMLStreamException {
+        NodeStart line = lineNumber();
+        AstType returnType = typeWrapper("returnType");
+        String name = text("name");
+        List<FormalArg> formals = new ArrayList<>();
+        startList("formals");
+        while (atStart("formal")) {
+            NodeStart formalLine = lineNumber();
+            AstType type = typeWrapper("type");
+            String formalName = text("name");
+            end();
+            formals.add(withLine(new FormalArg(type, formalName, 0), formalLine));
+            advance();
+        }
+        endList();
+        List<VarDecl> varDecls = new ArrayList<>();
+        startList("vardecls");
+        while (atStart("vardecl")) {
+            varDecls.add(varDecl());
+            advance();
+        }
+        endList();
+        List<Statement> body = new ArrayList<>();
+        startList("body");
+        while (reader.isStartElement()) {
+            body.add(statement());
+            advance();
+        }
+        endList();
+        Expr ret = exprWrapper("ret");
+        end();
+        return withLine(new MethodDecl(returnType, name, formals, varDecls, body, ret, 0), line);
+    }
+
+    private VarDecl varDecl() throws XMLStreamException {
+        NodeStart line = lineNumber();
+        AstType type = typeWrapper("type");
+        String name = text("name");
+        end();
+        return withLine(new VarDecl(type, name, 0), line);
+    }
+
+    private AstType typeWrapper(String name) throws XMLStreamException {
+        requireStart(name);
+        advance();
+        AstType type;
+        if (atStart("int")) {
+            type = withLine(new IntAstType(), lineNumber());
+        } else if (atStart("bool")) {
+            type = withLine(new BoolAstType(), lineNumber());
+        } else if (atStart("int-array")) {
+            type = withLine(new IntArrayAstType(), lineNumber());
+        } else if (atStart("ref")) {
+            NodeStart line = lineNumber();
+            type = withLine(new RefType(text("id")), line);
+        } else {
+            throw error("expected a type in <" + name + ">");
+        }
+        end();
+        advance();
+        endList();
+        return type;
+    }
+
+    private Statement statementWrapper(String name) throws XMLStreamException {
+        requireStart(name);
+        advance();
+        Statement statement = statement();
+        advance();
+        endList();
+        return statement;
+    }
+
+    private Statement statement() throws XMLStreamException {
+        if (!reader.isStartElement()) {
+            throw error("expected a statement");
+        }
+        String tag = reader.getLocalName();
+        NodeStart line = lineNumber();
+        Statement statement;
+        switch (tag) {
+            case "block": {
+                List<Statement> statements = new ArrayList<>();
+                startList("statements");
+                while (reader.isStartElement()) {
+                    statements.add(statement());
+                    advance();
+                }
+                endList();
+                statement = new BlockStatement(statements);
+                break;
+            }
+            case "if": {
+                Expr cond = exprWrapper("cond");
+                Statement thencase = statementWrapper("thencase");
+                statement = new IfStatement(cond, thencase, statementWrapper("elsecase"));
+                break;
+            }
+            case "while": {
+                Expr cond = exprWrapper("cond");
+                statement = new WhileStatement(cond, statementWrapper("body"));
+                break;
+            }
+            case "sysout":
+                statement = new SysoutStatement(exprWrapper("arg"));
+                break;
+            case "assign": {
+                String lv = text("lv");
+                statement = new AssignStatement(lv, exprWrapper("rv"));
+                break;
+            }
+            case "assign-array": {
+                String lv = text("lv");
+                Expr index = exprWrapper("index");
+                statement = new AssignArrayStatement(lv, index, exprWrapper("rv"));
+                break;
+            }
+            default:
+                throw error("unknown statement <" + tag + ">");
+        }
+        end();
+        return withLine(statement, line);
+    }
+
+    private Expr exprWrapper(String name) throws XMLStreamException {
+        requireStart(name);
+        advance();
+        Expr expr = expr();
+        advance();
+        endList();
+        return expr;
+    }
+
+    private Expr expr() throws XMLStreamException {
+        if (!reader.isStartElement()) {
+            throw error("expected an expression");
+        }
+        String tag = reader.getLocalName();
+        NodeStart line = lineNumber();
+        Expr expr;
+        switch (tag) {
+            case "and": {
+                Expr e1 = exprWrapper("e1");
+                expr = new AndExpr(e1, exprWrapper("e2"));
+                break;
+            }
+            case "lt": {
+                Expr e1 = exprWrapper("e1");
+                expr = new LtExpr(e1, exprWrapper("e2"));
+                break;
+            }
+            case "add": {
+                Expr e1 = exprWrapper("e1");
+                expr = new AddExpr(e1, exprWrapper("e2"));
+                break;
+            }
+            case "subtract": {
+                Expr e1 = exprWrapper("e1");
+                expr = new SubtractExpr(e1, exprWrapper("e2"));
+                break;
+            }
+            case "mult": {
+                Expr e1 = exprWrapper("e1");
+                expr = new MultExpr(e1, exprWrapper("e2"));
+                break;
+            }
+            case "array-access": {
+                Expr arrayExpr = exprWrapper("arrayExpr");
+                expr = new ArrayAccessExpr(arrayExpr, exprWrapper("indexExpr"));
+                break;
+            }
+            case "array-length":
+                expr = new ArrayLengthExpr(exprWrapper("arrayExpr"));
+                break;
+            case "call": {
+                Expr ownerExpr = exprWrapper("ownerExpr");
+                String methodId = text("methodId");
+                List<Expr> actuals = new ArrayList<>();
+                startList("actuals");
+                while (atStart("actual")) {
+                    advance();
+                    actuals.add(expr());
+                    advance();
+                    endList();
+                }
+                endList();
+                expr = new MethodCallExpr(ownerExpr, methodId, actuals);
+                break;
+            }
+            case "int-literal":
+                expr = new IntegerLiteralExpr(number("num"));
+                break;
+            case "true":
+                expr = new TrueExpr();
+                break;
+            case "false":
+                expr = new FalseExpr();
+                break;
+            case "ref-id":
+                expr = new IdentifierExpr(text("id"));
+                break;
+            case "this":
+                expr = new ThisExpr();
+                break;
+            case "new-int-array":
+                expr = new NewIntArrayExpr(exprWrapper("lengthExpr"));
+                break;
+            case "new-object":
+                expr = new NewObjectExpr(text("classId"));
+                break;
+            case "not":
+                expr = new NotExpr(exprWrapper("e"));
+                break;
+            default:
+                throw error("unknown expression <" + tag + ">");
+        }
+        end();
+        return withLine(expr, line);
+    }
+}
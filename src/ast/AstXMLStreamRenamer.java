@@ -0,0 +1,255 @@
+package ast;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+// Renames nodes of an AST XML file in one streaming pass: the bytes of the input are copied to the
+// output as they are, except the text of the name element of the renamed nodes. Nodes are identified
+// by the index of their start tag (AstNode.xmlElement, set by AstXMLStreamDeserializer), so the AST is
+// not needed and nothing but two buffers is held in memory. The input is only scanned for tags -
+// character data is not decoded, comments, processing instructions and CDATA sections are skipped -
+// which is enough to count start tags the way the parser does. Formatting and comments are kept.
+public class AstXMLStreamRenamer {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    // the child holding the name, by the tag of every node FlowUtils.rename can change
+    private static final Map<String, String> nameElements = Map.of(
+            "field", "name",
+            "vardecl", "name",
+            "formal", "name",
+            "methoddecl", "name",
+            "assign", "lv",
+            "assign-array", "lv",
+            "ref", "id",
+            "ref-id", "id",
+            "call", "methodId");
+
+    private InputStream in;
+    private final byte[] inBuffer = new byte[BUFFER_SIZE];
+    private int inPosition;
+    private int inLimit;
+    private OutputStream out;
+    private final byte[] outBuffer = new byte[BUFFER_SIZE];
+    private int outPosition;
+    // the name of the last start tag
+    private byte[] tag = new byte[64];
+    private int tagLength;
+
+    // newNames maps the xmlElement of a renamed node to its new name. Tags are found in the bytes, so
+    // the input must be UTF-8 (or ASCII); anything else is an UnsupportedEncodingException
+    public void rename(File input, File output, Map<Integer, String> newNames) throws IOException {
+        try (InputStream in = new FileInputStream(input);
+             OutputStream out = new FileOutputStream(output)) {
+            this.in = in;
+            this.out = out;
+            inPosition = 0;
+            inLimit = 0;
+            outPosition = 0;
+            copy(newNames);
+            out.write(outBuffer, 0, outPosition);
+        } finally {
+            this.in = null;
+            this.out = null;
+        }
+    }
+
+    private int read() throws IOException {
+        if (inPosition == inLimit) {
+            int count = in.read(inBuffer);
+            if (count <= 0) {
+                return -1;
+            }
+            inPosition = 0;
+            inLimit = count;
+        }
+        return inBuffer[inPosition++] & 0xff;
+    }
+
+    private void write(int b) throws IOException {
+        if (outPosition == outBuffer.length) {
+            out.write(outBuffer, 0, outPosition);
+            outPosition = 0;
+        }
+        outBuffer[outPosition++] = (byte) b;
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        for (byte b : bytes) {
+            write(b);
+        }
+    }
+
+    private int copyByte() throws IOException {
+        int b = read();
+        if (b < 0) {
+            throw new EOFException("unexpected end of the XML document");
+        }
+        write(b);
+        return b;
+    }
+
+    // copies up to and including the terminator (at most 3 ASCII bytes). The last bytes copied are kept
+    // packed in an int, so "]]]>" still ends a CDATA section and "--->" a comment.
+    private void copyUntil(String terminator) throws IOException {
+        int length = terminator.length();
+        int wanted = 0;
+        for (int i = 0; i < length; i++) {
+            wanted = wanted << 8 | terminator.charAt(i);
+        }
+        int mask = (1 << 8 * length) - 1;
+        // starts out as zero bytes, which are in no terminator
+        int window = 0;
+        do {
+            window = (window << 8 | copyByte()) & mask;
+        } while (window != wanted);
+    }
+
+    // copies the rest of a tag up to and including '>'; true for an empty element, <tag/>
+    private boolean copyTagEnd(int last) throws IOException {
+        int quote = 0;
+        while (true) {
+            int b = copyByte();
+            if (quote != 0) {
+                if (b == quote) {
+                    quote = 0;
+                }
+            } else if (b == '"' || b == '\'') {
+                quote = b;
+            } else if (b == '>') {
+                return last == '/';
+            }
+            last = b;
+        }
+    }
+
+    // copies a start tag whose name begins with first; true for an empty element
+    private boolean copyStartTag(int first) throws IOException {
+        tagLength = 0;
+        int b = first;
+        while (b != '>' && b != '/' && b != ' ' && b != '\t' && b != '\n' && b != '\r') {
+            if (tagLength == tag.length) {
+                tag = Arrays.copyOf(tag, 2 * tag.length);
+            }
+            tag[tagLength++] = (byte) b;
+            b = copyByte();
+        }
+        return b == '>' ? false : copyTagEnd(b);
+    }
+
+    private boolean tagEquals(String name) {
+        if (name.length() != tagLength) {
+            return false;
+        }
+        for (int i = 0; i < tagLength; i++) {
+            if (tag[i] != name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").getBytes(StandardCharsets.UTF_8);
+    }
+
+    // copies the rest of the XML declaration, after "<?"
+    private void copyDeclaration() throws IOException {
+        StringBuilder declaration = new StringBuilder();
+        int b;
+        do {
+            b = copyByte();
+            declaration.append((char) b);
+        } while (b != '>');
+        String encoding = declaration.toString().replaceAll("\\s*=\\s*", "=");
+        int at = encoding.indexOf("encoding=");
+        if (at >= 0) {
+            String name = encoding.substring(at + "encoding=".length() + 1).split("[\"']", 2)[0];
+            if (!name.equalsIgnoreCase("UTF-8") && !name.equalsIgnoreCase("US-ASCII")) {
+                throw new UnsupportedEncodingException(name);
+            }
+        }
+    }
+
+    private void copy(Map<Integer, String> newNames) throws IOException {
+        int elements = 0;
+        int depth = 0;
+        // by depth, the tag of a name element to replace and the new name - a renamed call's methodId
+        // follows its owner, which may hold renamed nodes itself
+        String[] renameTags = new String[64];
+        byte[][] renamedTo = new byte[64][];
+        // inside the name element being replaced, whose text is dropped
+        boolean replacing = false;
+        // the renamed elements in document order, and the next one to come
+        int[] renamedElements = newNames.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        int nextRenamed = 0;
+
+        int first = read();
+        if (first == 0xfe || first == 0xff) {
+            // a UTF-16 byte order mark
+            throw new UnsupportedEncodingException("UTF-16");
+        }
+        for (int b = first; b >= 0; b = read()) {
+            if (b != '<') {
+                if (!replacing) {
+                    write(b);
+                }
+                continue;
+            }
+            replacing = false;
+            write(b);
+            int next = copyByte();
+            if (next == '/') {
+                copyTagEnd(next);
+                depth--;
+                // a node without its name element leaves nothing pending
+                renameTags[depth + 1] = null;
+            } else if (next == '?') {
+                if (elements == 0) {
+                    copyDeclaration();
+                } else {
+                    copyUntil("?>");
+                }
+            } else if (next == '!') {
+                int kind = copyByte();
+                if (kind == '-') {
+                    copyUntil("-->");
+                } else if (kind == '[') {
+                    copyUntil("]]>");
+                } else {
+                    // a doctype; the parser does not support DTDs, so there is no internal subset
+                    copyUntil(">");
+                }
+            } else {
+                boolean empty = copyStartTag(next);
+                if (depth + 1 >= renameTags.length) {
+                    renameTags = Arrays.copyOf(renameTags, 2 * renameTags.length);
+                    renamedTo = Arrays.copyOf(renamedTo, 2 * renamedTo.length);
+                }
+                if (renameTags[depth] != null && tagEquals(renameTags[depth])) {
+                    if (!empty) {
+                        write(renamedTo[depth]);
+                        replacing = true;
+                    }
+                    renameTags[depth] = null;
+                }
+                String newName = null;
+                if (nextRenamed < renamedElements.length && renamedElements[nextRenamed] == elements) {
+                    newName = newNames.get(renamedElements[nextRenamed++]);
+                }
+                elements++;
+                if (newName != null && !empty) {
+                    String nameElement = nameElements.get(new String(tag, 0, tagLength, StandardCharsets.UTF_8));
+                    if (nameElement != null) {
+                        renameTags[depth + 1] = nameElement;
+                        renamedTo[depth + 1] = escape(newName);
+                    }
+                }
+                if (!empty) {
+                    depth++;
+                }
+            }
+        }
+    }
+}
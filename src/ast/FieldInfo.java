@@ -4,11 +4,13 @@ public class FieldInfo {
 
     private String fieldType;
     private int offset;
+    private int size;
 
 
-    public FieldInfo(String fieldType, int offset) {
+    public FieldInfo(String fieldType, int offset, int size) {
         this.fieldType = fieldType;
         this.offset = offset;
+        this.size = size;
     }
 
     public String getFieldType() {
@@ -19,4 +21,8 @@ public class FieldInfo {
         return offset;
     }
 
+    public int getSize() {
+        return size;
+    }
+
 }
@@ -1,11 +1,20 @@
 package ast;
 
 import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlTransient;
 
 public class IdentifierExpr extends Expr {
     @XmlElement(required = true)
     private String id;
 
+    // id of id in the program's NameTable, -1 until the symbol tables are built
+    @XmlTransient
+    private int nameId = -1;
+
+    // slot of the local or formal this refers to in its method, -1 for a field
+    @XmlTransient
+    private int slot = -1;
+
     // for deserialization only!
     public IdentifierExpr() {
     }
@@ -25,5 +34,23 @@ public class IdentifierExpr extends Expr {
 
     public void setId(String id) {
         this.id = id;
+        // the old id no longer names it
+        this.nameId = -1;
+    }
+
+    public int nameId() {
+        return nameId;
+    }
+
+    public void setNameId(int nameId) {
+        this.nameId = nameId;
+    }
+
+    public int slot() {
+        return slot;
+    }
+
+    public void setSlot(int slot) {
+        this.slot = slot;
     }
 }
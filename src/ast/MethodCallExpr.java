@@ -2,6 +2,7 @@ package ast;
 
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlElementWrapper;
+import javax.xml.bind.annotation.XmlTransient;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -11,6 +12,10 @@ public class MethodCallExpr extends Expr {
     @XmlElement(required = true)
     private String methodId;
 
+    // id of methodId in the program's NameTable, -1 until the symbol tables are built
+    @XmlTransient
+    private int nameId = -1;
+
     @XmlElementWrapper(name = "actuals", required = true)
     @XmlElement(name = "actual")
     private List<ExprWrapper> actuals;
@@ -40,6 +45,16 @@ public class MethodCallExpr extends Expr {
 
     public void setMethodId(String methodId) {
         this.methodId = methodId;
+        // the old id no longer names it
+        this.nameId = -1;
+    }
+
+    public int nameId() {
+        return nameId;
+    }
+
+    public void setNameId(int nameId) {
+        this.nameId = nameId;
     }
 
     public List<Expr> actuals() {
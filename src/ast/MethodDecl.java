@@ -3,6 +3,7 @@ package ast;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlElementWrapper;
 import javax.xml.bind.annotation.XmlElements;
+import javax.xml.bind.annotation.XmlTransient;
 import java.util.List;
 
 public class MethodDecl extends AstNode {
@@ -11,6 +12,10 @@ public class MethodDecl extends AstNode {
     @XmlElement(required = true)
     private String name;
 
+    // id of name in the program's NameTable, -1 until the symbol tables are built
+    @XmlTransient
+    private int nameId = -1;
+
     @XmlElementWrapper(name="formals", required = true)
     @XmlElement(name="formal")
     private List<FormalArg> formals;
@@ -66,6 +71,16 @@ public class MethodDecl extends AstNode {
 
     public void setName(String name) {
         this.name = name;
+        // the old id no longer names it
+        this.nameId = -1;
+    }
+
+    public int nameId() {
+        return nameId;
+    }
+
+    public void setNameId(int nameId) {
+        this.nameId = nameId;
     }
 
     public List<FormalArg> formals() {
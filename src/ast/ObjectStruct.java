@@ -1,8 +1,16 @@
 package ast;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+// The layout of a class: its vtable slots and the offsets of its fields. A subclass starts from the
+// finished layout of its superclass and shares its tables until it adds or overrides something.
+// Fields are naturally aligned, the vtable pointer takes the first 8 bytes.
 public class ObjectStruct {
     private int sizeInBytes = 8;
 
@@ -15,6 +23,14 @@ public class ObjectStruct {
     private Map<String, FieldInfo> fieldInfoMap;
     private int lastOffsetFields = 8;
     private int lastOffsetMethodes = 0;
+    // by vtable slot, the method name and the class whose method fills the slot
+    private String[] slotMethods;
+    private String[] slotClasses;
+    // the tables still belong to the superclass's layout
+    private boolean shared;
+    // the slots some subclass fills with a method of its own, never shared
+    private final BitSet overriddenSlots = new BitSet();
+
     public int getSizeInBytes() {
         return sizeInBytes;
     }
@@ -29,11 +45,37 @@ public class ObjectStruct {
     public ObjectStruct() {
         this.fieldInfoMap = new HashMap<>();
         this.methodeInfoMap = new HashMap<>();
+        this.slotMethods = new String[4];
+        this.slotClasses = new String[4];
+    }
+
+    // the layout of a subclass of parent, which must not change any more
+    public ObjectStruct(ObjectStruct parent) {
+        this.sizeInBytes = parent.sizeInBytes;
+        this.methodeInfoMap = parent.methodeInfoMap;
+        this.fieldInfoMap = parent.fieldInfoMap;
+        this.lastOffsetFields = parent.lastOffsetFields;
+        this.lastOffsetMethodes = parent.lastOffsetMethodes;
+        this.slotMethods = parent.slotMethods;
+        this.slotClasses = parent.slotClasses;
+        this.shared = true;
+    }
+
+    private void unshare() {
+        if (!shared) {
+            return;
+        }
+        methodeInfoMap = new HashMap<>(methodeInfoMap);
+        fieldInfoMap = new HashMap<>(fieldInfoMap);
+        slotMethods = slotMethods.clone();
+        slotClasses = slotClasses.clone();
+        shared = false;
     }
 
+    // the first offset after the fields so far that fieldSize divides
     private int getLastOffsetFields(int fieldSize) {
-        int result = lastOffsetFields;
-        lastOffsetFields += fieldSize;
+        int result = (lastOffsetFields + fieldSize - 1) / fieldSize * fieldSize;
+        lastOffsetFields = result + fieldSize;
 
         return result;
     }
@@ -42,18 +84,63 @@ public class ObjectStruct {
         return lastOffsetMethodes++;
     }
 
-    private void incrementSize(int num) {
-        sizeInBytes += num;
-    }
-
+    // a field of the same name in a superclass keeps its place in the object, but is no longer found by name.
+    // Adding the fields of a class largest first leaves padding only where a class's fields start or end.
     public void addField(String fieldName, String fieldType, int fieldSize) {
-        FieldInfo fieldInfo = new FieldInfo(fieldType, getLastOffsetFields(fieldSize));
-        incrementSize(fieldSize);
+        unshare();
+        FieldInfo fieldInfo = new FieldInfo(fieldType, getLastOffsetFields(fieldSize), fieldSize);
+        sizeInBytes = lastOffsetFields;
         fieldInfoMap.put(fieldName, fieldInfo);
     }
 
-    public void addMethod(String methodName, String args, String ret) {
-        MethodInfo methodInfo = new MethodInfo(args, ret, getLastOffsetMethods());
-        methodeInfoMap.put(methodName, methodInfo);
+    // a method of className; it takes the slot of the method it overrides, or the next free one
+    public void addMethod(String className, String methodName, String args, String ret) {
+        unshare();
+        MethodInfo overridden = methodeInfoMap.get(methodName);
+        int offset = overridden == null ? getLastOffsetMethods() : overridden.getOffset();
+        methodeInfoMap.put(methodName, new MethodInfo(args, ret, offset));
+        if (offset == slotMethods.length) {
+            slotMethods = Arrays.copyOf(slotMethods, 2 * offset);
+            slotClasses = Arrays.copyOf(slotClasses, 2 * offset);
+        }
+        slotMethods[offset] = methodName;
+        slotClasses[offset] = className;
+    }
+
+    // "Tree: 40 bytes, 3 padding" and a line "  offset size type name" for every field, by offset
+    public String describeLayout(String className) {
+        List<Map.Entry<String, FieldInfo>> fields = new ArrayList<>(fieldInfoMap.entrySet());
+        fields.sort(Comparator.comparingInt(field -> field.getValue().getOffset()));
+        int padding = sizeInBytes - 8;
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append("  0 8 vtable\n");
+        for (Map.Entry<String, FieldInfo> field : fields) {
+            FieldInfo fieldInfo = field.getValue();
+            padding -= fieldInfo.getSize();
+            stringBuilder.append("  ").append(fieldInfo.getOffset()).append(' ').append(fieldInfo.getSize())
+                    .append(' ').append(fieldInfo.getFieldType()).append(' ').append(field.getKey()).append('\n');
+        }
+        return className + ": " + sizeInBytes + " bytes, " + padding + " padding\n" + stringBuilder;
+    }
+
+    public int getVtableSize() {
+        return lastOffsetMethodes;
+    }
+
+    public String getSlotMethod(int slot) {
+        return slotMethods[slot];
+    }
+
+    public String getSlotClass(int slot) {
+        return slotClasses[slot];
+    }
+
+    public void setOverridden(int slot) {
+        overriddenSlots.set(slot);
+    }
+
+    // whether a call through this slot can reach a method other than getSlotClass(slot)'s
+    public boolean isOverridden(int slot) {
+        return overriddenSlots.get(slot);
     }
 }
@@ -0,0 +1,149 @@
+package ast;
+
+import symbolTable.CompilationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+// The semantic check of AstTypesVisitor and AstInitializedVisitor, with every method (and the main class)
+// checked by both visitors on its own fork-join task. The visitors only read the symbol tables, and every
+// task has visitors of its own. Results are merged in program order, so the verdict - and which error
+// or exception is reported - is the one of running the two visitors over the program one after the other.
+// Without a pool the methods are checked one by one on the calling thread; with a SemanticCache, methods
+// whose cached result is still valid are not checked again.
+public class ParallelSemanticChecker {
+    private final CompilationContext context;
+    private final ForkJoinPool pool;
+    private final SemanticCache cache;
+    private String errorMsg = "";
+
+    public ParallelSemanticChecker(CompilationContext context, ForkJoinPool pool) {
+        this(context, pool, null);
+    }
+
+    public ParallelSemanticChecker(CompilationContext context, ForkJoinPool pool, SemanticCache cache) {
+        this.context = context;
+        this.pool = pool;
+        this.cache = cache;
+    }
+
+    // What the two visitors made of one method
+    static class MethodCheck {
+        boolean typesError;
+        String typesErrorMsg;
+        RuntimeException typesFailure;
+        boolean initError;
+        String initErrorMsg;
+        RuntimeException initFailure;
+    }
+
+    // null for the main class
+    private record Task(String classId, MethodDecl methodDecl) {
+    }
+
+    // true if the program is semantically valid, the symbol tables must have been built without errors
+    public boolean check(Program program) throws InterruptedException {
+        MainClass mainClass = program.mainClass();
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new Task(null, null));
+        for (ClassDecl classDecl : program.classDecls()) {
+            for (MethodDecl methodDecl : classDecl.methoddecls()) {
+                tasks.add(new Task(classDecl.name(), methodDecl));
+            }
+        }
+
+        List<MethodCheck> checks;
+        if (pool == null) {
+            checks = tasks.stream().map(task -> check(task, mainClass)).collect(Collectors.toList());
+        } else {
+            try {
+                // an ordered stream, so the results come back in program order
+                checks = pool.submit(() -> tasks.parallelStream()
+                        .map(task -> check(task, mainClass))
+                        .collect(Collectors.toList())).get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+
+        // the types visitor stops at the first method with an error
+        for (MethodCheck check : checks) {
+            if (check.typesFailure != null) {
+                throw check.typesFailure;
+            }
+            if (check.typesError) {
+                errorMsg = check.typesErrorMsg;
+                return false;
+            }
+        }
+        // the initialization visitor goes through all methods
+        boolean error = false;
+        StringBuilder initErrorMsgs = new StringBuilder();
+        for (MethodCheck check : checks) {
+            if (check.initFailure != null) {
+                throw check.initFailure;
+            }
+            if (check.initError) {
+                error = true;
+                initErrorMsgs.append(check.initErrorMsg);
+            }
+        }
+        errorMsg = initErrorMsgs.toString();
+        return !error;
+    }
+
+    private MethodCheck check(Task task, MainClass mainClass) {
+        if (cache == null) {
+            return runCheck(task, mainClass);
+        }
+        String key = cache.key(task.classId(), task.methodDecl(), mainClass);
+        MethodCheck check = cache.lookup(task.classId(), task.methodDecl(), key);
+        if (check == null) {
+            check = runCheck(task, mainClass);
+            cache.store(task.classId(), task.methodDecl(), key, check);
+        }
+        return check;
+    }
+
+    private MethodCheck runCheck(Task task, MainClass mainClass) {
+        MethodCheck check = new MethodCheck();
+        AstTypesVisitor typesVisitor = new AstTypesVisitor(context);
+        try {
+            if (task.methodDecl() == null) {
+                mainClass.accept(typesVisitor);
+            } else {
+                typesVisitor.checkMethod(task.classId(), task.methodDecl());
+            }
+        } catch (RuntimeException e) {
+            check.typesFailure = e;
+            return check;
+        }
+        check.typesError = typesVisitor.isError();
+        check.typesErrorMsg = typesVisitor.getErrorMsg();
+        if (check.typesError) {
+            return check;
+        }
+
+        AstInitializedVisitor initVisitor = new AstInitializedVisitor(context);
+        try {
+            if (task.methodDecl() == null) {
+                mainClass.accept(initVisitor);
+            } else {
+                initVisitor.checkMethod(task.classId(), task.methodDecl());
+            }
+        } catch (RuntimeException e) {
+            check.initFailure = e;
+            return check;
+        }
+        check.initError = initVisitor.isError();
+        check.initErrorMsg = initVisitor.getErrorMsg();
+        return check;
+    }
+
+    public String getErrorMsg() {
+        return errorMsg;
+    }
+}
@@ -0,0 +1,263 @@
+package ast;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// The per-method verdicts of the semantic check, kept in a directory across compilations. The file
+// semantic.cache holds, class by class, the key and the verdict of each method (the main class is
+// stored as its one method "main").
+//
+// A method's key is a hash of its own structure (AstHashVisitor) and of the signatures - superclass,
+// fields, method return and formal types - of every class it depends on: its own class, the classes it
+// mentions, and transitively the classes mentioned by those signatures. That is everything the type and
+// initialization visitors look at besides the method itself, so a method is checked again only when it
+// or one of those signatures changed. Exceptions thrown by the visitors are never cached.
+public class SemanticCache {
+    private static final int MAGIC = 0x4d4a5343;
+    // part of every key, bump it when the checks change
+    private static final int VERSION = 1;
+    private static final String FILE_NAME = "semantic.cache";
+    private static final Set<String> primitiveTypes = Set.of("int", "boolean", "intArray");
+
+    private final Path dir;
+    private final String mainClassName;
+    private final Map<String, ClassDecl> classes = new HashMap<>();
+    // the hash of the signatures of a class and of all classes they mention, by class name
+    private final Map<String, byte[]> closureHashes = new HashMap<>();
+    // the file as it was read, by class and method name
+    private final Map<String, Map<String, Entry>> loaded;
+    // the entries of this compilation, by class and method name
+    private final Map<String, Map<String, Entry>> stored = new ConcurrentHashMap<>();
+
+    private record Entry(String key, boolean typesError, String typesErrorMsg, boolean initError, String initErrorMsg) {
+    }
+
+    public SemanticCache(Path dir, Program program) {
+        this.dir = dir;
+        this.mainClassName = program.mainClass().name();
+        for (ClassDecl classDecl : program.classDecls()) {
+            classes.putIfAbsent(classDecl.name(), classDecl);
+        }
+        Map<String, byte[]> signatureHashes = new HashMap<>();
+        for (ClassDecl classDecl : classes.values()) {
+            signatureHashes.put(classDecl.name(), signatureHash(classDecl));
+        }
+        for (String classId : classes.keySet()) {
+            closureHashes.put(classId, closureHash(classId, signatureHashes));
+        }
+        this.loaded = load();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String text) {
+        digest.update(text.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static byte[] signatureHash(ClassDecl classDecl) {
+        StringBuilder signature = new StringBuilder();
+        signature.append(classDecl.superName()).append(';');
+        for (VarDecl field : classDecl.fields()) {
+            signature.append(field.type().id()).append(' ').append(field.name()).append(';');
+        }
+        for (MethodDecl methodDecl : classDecl.methoddecls()) {
+            signature.append(methodDecl.returnType().id()).append(' ').append(methodDecl.name()).append('(');
+            for (FormalArg formal : methodDecl.formals()) {
+                signature.append(formal.type().id()).append(',');
+            }
+            signature.append(");");
+        }
+        return sha256().digest(signature.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void addType(Deque<String> pending, AstType type) {
+        if (!primitiveTypes.contains(type.id())) {
+            pending.add(type.id());
+        }
+    }
+
+    private byte[] closureHash(String classId, Map<String, byte[]> signatureHashes) {
+        // every class the signatures reach, then their signatures in name order
+        Set<String> closure = new TreeSet<>();
+        Deque<String> pending = new ArrayDeque<>();
+        pending.add(classId);
+        while (!pending.isEmpty()) {
+            String name = pending.poll();
+            if (!closure.add(name)) {
+                continue;
+            }
+            ClassDecl classDecl = classes.get(name);
+            if (classDecl == null) {
+                continue;
+            }
+            if (classDecl.superName() != null) {
+                pending.add(classDecl.superName());
+            }
+            for (VarDecl field : classDecl.fields()) {
+                addType(pending, field.type());
+            }
+            for (MethodDecl methodDecl : classDecl.methoddecls()) {
+                addType(pending, methodDecl.returnType());
+                for (FormalArg formal : methodDecl.formals()) {
+                    addType(pending, formal.type());
+                }
+            }
+        }
+        MessageDigest digest = sha256();
+        for (String name : closure) {
+            update(digest, name);
+            byte[] signatureHash = signatureHashes.get(name);
+            if (signatureHash == null) {
+                // not a class, which matters as well
+                update(digest, "-");
+            } else {
+                digest.update(signatureHash);
+            }
+        }
+        return digest.digest();
+    }
+
+    // the key of a method, methodDecl null for the main class
+    String key(String classId, MethodDecl methodDecl, MainClass mainClass) {
+        AstHashVisitor hashVisitor = new AstHashVisitor();
+        if (methodDecl == null) {
+            mainClass.accept(hashVisitor);
+        } else {
+            methodDecl.accept(hashVisitor);
+        }
+        Set<String> dependencies = new TreeSet<>(hashVisitor.getReferencedClasses());
+        if (classId != null) {
+            dependencies.add(classId);
+        }
+
+        MessageDigest digest = sha256();
+        update(digest, Integer.toString(VERSION));
+        update(digest, classId == null ? "" : classId);
+        digest.update(hashVisitor.digest());
+        for (String name : dependencies) {
+            update(digest, name);
+            byte[] closureHash = closureHashes.get(name);
+            if (closureHash == null) {
+                update(digest, "-");
+            } else {
+                digest.update(closureHash);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private String owner(String classId) {
+        return classId == null ? mainClassName : classId;
+    }
+
+    private static String methodName(MethodDecl methodDecl) {
+        return methodDecl == null ? "main" : methodDecl.name();
+    }
+
+    // the cached check of a method with this key, null if it has to be checked
+    ParallelSemanticChecker.MethodCheck lookup(String classId, MethodDecl methodDecl, String key) {
+        Entry entry = loaded.getOrDefault(owner(classId), Map.of()).get(methodName(methodDecl));
+        if (entry == null || !entry.key().equals(key)) {
+            return null;
+        }
+        remember(classId, methodDecl, entry);
+        ParallelSemanticChecker.MethodCheck check = new ParallelSemanticChecker.MethodCheck();
+        check.typesError = entry.typesError();
+        check.typesErrorMsg = entry.typesErrorMsg();
+        check.initError = entry.initError();
+        check.initErrorMsg = entry.initErrorMsg();
+        return check;
+    }
+
+    void store(String classId, MethodDecl methodDecl, String key, ParallelSemanticChecker.MethodCheck check) {
+        if (check.typesFailure != null || check.initFailure != null) {
+            return;
+        }
+        remember(classId, methodDecl, new Entry(key,
+                check.typesError, Objects.toString(check.typesErrorMsg, ""),
+                check.initError, Objects.toString(check.initErrorMsg, "")));
+    }
+
+    private void remember(String classId, MethodDecl methodDecl, Entry entry) {
+        stored.computeIfAbsent(owner(classId), owner -> new ConcurrentHashMap<>()).put(methodName(methodDecl), entry);
+    }
+
+    // a missing, unreadable or outdated file is an empty cache
+    private Map<String, Map<String, Entry>> load() {
+        Map<String, Map<String, Entry>> classEntries = new HashMap<>();
+        Path file = dir.resolve(FILE_NAME);
+        if (!Files.isRegularFile(file)) {
+            return classEntries;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return classEntries;
+            }
+            int classCount = in.readInt();
+            for (int i = 0; i < classCount; i++) {
+                Map<String, Entry> entries = new HashMap<>();
+                classEntries.put(in.readUTF(), entries);
+                int count = in.readInt();
+                for (int j = 0; j < count; j++) {
+                    String methodName = in.readUTF();
+                    entries.put(methodName, new Entry(in.readUTF(), in.readBoolean(), in.readUTF(), in.readBoolean(), in.readUTF()));
+                }
+            }
+        } catch (IOException e) {
+            classEntries.clear();
+        }
+        return classEntries;
+    }
+
+    // rewrites the file if any entry changed; it only keeps the methods of this compilation
+    public void save() throws IOException {
+        if (stored.equals(loaded)) {
+            return;
+        }
+        Files.createDirectories(dir);
+        // written next to the file and moved over it, so concurrent compilations never read half a file
+        Path tmp = Files.createTempFile(dir, FILE_NAME, ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(stored.size());
+                for (var classEntries : new TreeMap<>(stored).entrySet()) {
+                    out.writeUTF(classEntries.getKey());
+                    out.writeInt(classEntries.getValue().size());
+                    for (var entry : new TreeMap<>(classEntries.getValue()).entrySet()) {
+                        Entry e = entry.getValue();
+                        out.writeUTF(entry.getKey());
+                        out.writeUTF(e.key());
+                        out.writeBoolean(e.typesError());
+                        out.writeUTF(e.typesErrorMsg());
+                        out.writeBoolean(e.initError());
+                        out.writeUTF(e.initErrorMsg());
+                    }
+                }
+            }
+            try {
+                Files.move(tmp, dir.resolve(FILE_NAME), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, dir.resolve(FILE_NAME), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+}
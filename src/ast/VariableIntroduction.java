@@ -1,6 +1,7 @@
 package ast;
 
 import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlTransient;
 import javax.xml.bind.annotation.XmlSeeAlso;
 
 @XmlSeeAlso({VarDecl.class, FormalArg.class})
@@ -10,6 +11,14 @@ public abstract class VariableIntroduction extends AstNode {
     @XmlElement(required = true)
     private String name;
 
+    // id of name in the program's NameTable, -1 until the symbol tables are built
+    @XmlTransient
+    private int nameId = -1;
+
+    // slot of a local or formal in its method, -1 for a field
+    @XmlTransient
+    private int slot = -1;
+
     // for deserialization only!
     public VariableIntroduction() {
     }
@@ -30,5 +39,23 @@ public abstract class VariableIntroduction extends AstNode {
 
     public void setName(String name) {
         this.name = name;
+        // the old id no longer names it
+        this.nameId = -1;
+    }
+
+    public int nameId() {
+        return nameId;
+    }
+
+    public void setNameId(int nameId) {
+        this.nameId = nameId;
+    }
+
+    public int slot() {
+        return slot;
+    }
+
+    public void setSlot(int slot) {
+        this.slot = slot;
     }
 }
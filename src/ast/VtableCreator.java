@@ -1,9 +1,15 @@
 package ast;
 
+import symbolTable.ClassHierarchy;
+import symbolTable.CompilationContext;
 import symbolTable.Symbol;
 import symbolTable.SymbolTable;
 import symbolTable.Type;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.*;
 
 public class VtableCreator {
@@ -13,85 +19,100 @@ public class VtableCreator {
     final static String intPointerString = "i32*";
     final static String boolString = "i1";
 
-    public static Map<SymbolTable, String> getSymbolTableClassesMap() {
-        return symbolTableClassesMap;
-    }
-
-    private static Map<SymbolTable, String> symbolTableClassesMap;
-    private static Map<String, ObjectStruct> objectStructMap;
-
+    private final CompilationContext context;
+    private Map<SymbolTable, String> symbolTableClassesMap;
+    private Map<String, ObjectStruct> objectStructMap;
 
-    public static Map<String, ObjectStruct> getObjectStructMap() {
-        return objectStructMap;
+    public VtableCreator(CompilationContext context) {
+        this.context = context;
     }
 
     public String createVtableAndObjectsStruct() {
+        StringWriter out = new StringWriter();
+        createVtableAndObjectsStruct(out);
+        return out.toString();
+    }
+
+    // The class layouts are published on the context for the LLVM print visitor,
+    // the vtable of every class is written to out as soon as it is built
+    public void createVtableAndObjectsStruct(Writer out) {
         objectStructMap = new HashMap<>();
-        inverseMap(symbolTable.SymbolTableUtils.getSymbolTableClassMap_real());
-        StringBuilder stringBuilder = new StringBuilder();
-        //for each class in the program
-        for (Map.Entry<String, SymbolTable> entry : symbolTable.SymbolTableUtils.getSymbolTableClassMap_real().entrySet()) {
-            int countMethods = 0;
-            String className = entry.getKey();
-            SymbolTable symbolTable = entry.getValue();
-            List<MethodeRow> allClassMethods = new ArrayList<MethodeRow>();
-            List<Field> allFields = new ArrayList<>();
-            Set<String> methodsNames = new HashSet<>();
-            //for each methode in this class
-            int i = 0;
-            for (Map.Entry<String, Symbol> symbolTableRow : symbolTable.getEntries().entrySet()) {
-                Symbol symbol = symbolTableRow.getValue();
+        context.setObjectStructMap(objectStructMap);
+        Map<String, SymbolTable> classTables = context.getSymbolTableUtils().getSymbolTableClassMap_real();
+        inverseMap(classTables);
+        ClassHierarchy classHierarchy = context.getSymbolTableUtils().getClassHierarchy();
+        // superclasses first, so every class extends the finished layout of its superclass
+        // instead of collecting the members of all its ancestors again
+        for (String className : classHierarchy.getPreorder()) {
+            String superClassName = classHierarchy.getSuperClass(className);
+            ObjectStruct objectStruct = superClassName == null
+                    ? new ObjectStruct()
+                    : new ObjectStruct(objectStructMap.get(superClassName));
+            List<Symbol> fields = new ArrayList<>();
+            for (Symbol symbol : classTables.get(className).getSymbols()) {
+                String type = symbol.getDecl().get(0);
                 if (!symbol.getType().equals(Type.METHOD)) {
-                    Field field = new Field();
-                    extractFieldFields(field, symbol, allFields, i++);
+                    fields.add(symbol);
                 } else {
-                    countMethods++;
-                    MethodeRow methodeRow = new MethodeRow();
-                    extractMethodFields(symbol, methodeRow, allClassMethods, methodsNames);
-                    methodeRow.setClassName(className);
+                    objectStruct.addMethod(className, symbol.getSymbolName(), argsString(symbol), convertAstTypeToLLVMRepresention(type));
                 }
             }
-            //look for methods the class inherits
-            countMethods += findAllmethodsAndFields(symbolTable, allClassMethods, methodsNames, allFields);
-            addToObjectsStructMap(className, allClassMethods, allFields);
-
-            //concatenate the vtable of this class
-            vtableHeader(countMethods, className, stringBuilder);
-            vtableContent(allClassMethods, stringBuilder);
+            // largest first, in declaration order otherwise
+            fields.sort(Comparator.comparingInt((Symbol field) -> convertAstTypeToSize(field.getDecl().get(0))).reversed());
+            for (Symbol field : fields) {
+                String type = field.getDecl().get(0);
+                objectStruct.addField(field.getSymbolName(), convertAstTypeToLLVMRepresention(type), convertAstTypeToSize(type));
+            }
+            objectStructMap.put(className, objectStruct);
         }
+        findOverriddenSlots(classHierarchy);
 
-        return stringBuilder.toString();
-    }
-
-    private void extractFieldFields(Field field, Symbol symbol, List<Field> allFields, int i) {
-        field.setType(convertAstTypeToLLVMRepresention(symbol.getDecl().get(0)));
-        field.setSize(convertAstTypeToSize(symbol.getDecl().get(0)));
-        field.setFieldName(symbol.getSymbolName());
-        allFields.add(i, field);
-    }
-
-    public void addToObjectsStructMap(String className, List<MethodeRow> methodeRowList, List<Field> fieldList) {
-        ObjectStruct objectStruct = new ObjectStruct();
-        for (MethodeRow methodeRow : methodeRowList) {
-            methodeRow.createArgsString();
-            objectStruct.addMethod(methodeRow.getMethodeName(), methodeRow.getArgs(), methodeRow.getRetType());
-        }
-        List<Field> inverseFieldList = fieldList.subList(0, fieldList.size());
-//        Collections.reverse(inverseFieldList);
-        for (Field field : inverseFieldList) {
-            objectStruct.addField(field.getFieldName(), field.getType(), field.getSize());
+        StringBuilder stringBuilder = new StringBuilder();
+        //for each class in the program
+        for (String className : classTables.keySet()) {
+            ObjectStruct objectStruct = objectStructMap.get(className);
+            //concatenate the vtable of this class
+            vtableHeader(objectStruct.getVtableSize(), className, stringBuilder);
+            vtableContent(objectStruct, stringBuilder);
+            try {
+                out.append(stringBuilder);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            stringBuilder.setLength(0);
+        }
+    }
+
+    // Class hierarchy analysis: a slot of a class is overridden when a class below it fills the slot
+    // differently. Subclasses are done before their superclasses, so only the direct ones are looked at.
+    private void findOverriddenSlots(ClassHierarchy classHierarchy) {
+        List<String> preorder = classHierarchy.getPreorder();
+        for (int i = preorder.size() - 1; i >= 0; i--) {
+            String className = preorder.get(i);
+            ObjectStruct objectStruct = objectStructMap.get(className);
+            for (String subclassName : classHierarchy.getSubclasses(className)) {
+                ObjectStruct subclassStruct = objectStructMap.get(subclassName);
+                for (int slot = 0; slot < objectStruct.getVtableSize(); slot++) {
+                    if (subclassStruct.isOverridden(slot)
+                            || !subclassStruct.getSlotClass(slot).equals(objectStruct.getSlotClass(slot))) {
+                        objectStruct.setOverridden(slot);
+                    }
+                }
+            }
         }
-        objectStructMap.put(className, objectStruct);
     }
 
-    public void vtableContent(List<MethodeRow> methodeRowList, StringBuilder stringBuilder) {
-        int i;
-        for (i = 0; i < methodeRowList.size() - 1; i++) {
-            stringBuilder.append(methodeRowList.get(i).toString());
-            stringBuilder.append(",\n");
-        }
-        if (methodeRowList.size() > 0) {
-            stringBuilder.append(methodeRowList.get(methodeRowList.size() - 1).toString());
+    public void vtableContent(ObjectStruct objectStruct, StringBuilder stringBuilder) {
+        for (int i = 0; i < objectStruct.getVtableSize(); i++) {
+            if (i > 0) {
+                stringBuilder.append(",\n");
+            }
+            String methodName = objectStruct.getSlotMethod(i);
+            MethodInfo methodInfo = objectStruct.getMethodeInfoMap().get(methodName);
+            stringBuilder.append(refPointerString + " bitcast (")
+                    .append(methodInfo.getRet()).append(methodInfo.getArgs())
+                    .append("* @").append(objectStruct.getSlotClass(i)).append('.').append(methodName)
+                    .append(" to " + refPointerString + ")");
         }
         stringBuilder.append("\n]");
     }
@@ -100,33 +121,16 @@ public class VtableCreator {
         stringBuilder.append("\n@." + className + "_vtable = global [" + funcsNum + " x " + refPointerString + "] [\n");
     }
 
-    public void extractMethodFields(Symbol symbol, MethodeRow methodeRow, List<MethodeRow> methodsList, Set<String> methodsNames) {
-        extractArgsTypes(symbol, methodeRow);
-        extractRetType(symbol, methodeRow);
-        extractMethodeName(symbol, methodeRow);
-        methodsList.add(methodeRow);
-        methodsNames.add(symbol.getSymbolName());
-    }
-
-    public void extractMethodeName(Symbol symbol, MethodeRow methodeRow) {
-        String methodName = symbol.getSymbolName();
-        methodeRow.setMethodeName(methodName);
-    }
-
-    public void extractRetType(Symbol symbol, MethodeRow row) {
-        String ret = symbol.getDecl().get(0);
-        String retType = convertAstTypeToLLVMRepresention(ret);
-        row.setRetType(retType);
-    }
-
-    public void extractArgsTypes(Symbol symbol, MethodeRow row) {
+    // the LLVM argument types of a method, this first: "(i8*, i32, i1)"
+    private static String argsString(Symbol symbol) {
         List<String> decl = symbol.getDecl();
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append("(" + refPointerString);
         for (int i = 1; i < decl.size(); i++) {
-            String arg = decl.get(i);
-            String argType = convertAstTypeToLLVMRepresention(arg);
-            row.addToArgsType(argType);
+            stringBuilder.append(", ").append(convertAstTypeToLLVMRepresention(decl.get(i)));
         }
-
+        stringBuilder.append(")");
+        return stringBuilder.toString();
     }
 
     public static String convertAstTypeToLLVMRepresention(String astType) {
@@ -154,156 +158,13 @@ public class VtableCreator {
         }
     }
 
-    public class Field {
-        private String fieldName;
-        private String type;
-        private int size;
-
-
-        public int getSize() {
-            return size;
-        }
-
-        public void setSize(int size) {
-            this.size = size;
-        }
-
-        public String getFieldName() {
-            return fieldName;
-        }
-
-        public void setFieldName(String fieldName) {
-            this.fieldName = fieldName;
-        }
-
-        public String getType() {
-            return type;
-        }
-
-        public void setType(String type) {
-            this.type = type;
-        }
-    }
-
-    public class MethodeRow {
-        String retType;
-        List<String> argsType;
-        String className;
-        String methodeName;
-        String args;
-
-        public MethodeRow() {
-            this.argsType = new ArrayList<String>();
-        }
-
-        public String getMethodeName() {
-            return methodeName;
-        }
-
-        public String getArgs() {
-            return args;
-        }
-
-        public void createArgsString() {
-            StringBuilder stringBuilder = new StringBuilder();
-            stringBuilder.append("(" + refPointerString);
-            for (String argType : argsType) {
-                stringBuilder.append(", " + argType);
-            }
-            stringBuilder.append(")");
-            args = stringBuilder.toString();
-        }
-
-        public String getRetType() {
-            return retType;
-        }
-
-        public void setRetType(String retType) {
-            this.retType = retType;
-        }
-
-        public void addToArgsType(String arg) {
-            argsType.add(arg);
-        }
-
-        public void setClassName(String className) {
-            this.className = className;
-        }
-
-
-        public void setMethodeName(String methodeName) {
-            this.methodeName = methodeName;
-        }
-
-        public String toString() {
-            StringBuilder stringBuilder = new StringBuilder();
-            stringBuilder.append(refPointerString + " bitcast (" + retType + "(" + refPointerString);
-            for (String argType : argsType) {
-                stringBuilder.append(", " + argType);
-            }
-            stringBuilder.append(")* @" + className + "." + methodeName + " to " + refPointerString + ")");
-            return stringBuilder.toString();
-        }
-
-    }
-
-    private void moveToTmpList(List<MethodeRow> methodsList, String methodName, List<MethodeRow> tmpMethodsList) {
-        int i;
-        for (i = 0; i < methodsList.size(); i++) {
-            if (methodsList.get(i).getMethodeName().equals(methodName)) {
-                break;
-            }
-        }
-        MethodeRow tmp = methodsList.get(i);
-        methodsList.remove(i);
-        tmpMethodsList.add(tmp);
-    }
-
-    private void addAllFirst(List<MethodeRow> to, List<MethodeRow> from) {
-        for (int i = 0; i < from.size(); i++) {
-            to.add(i, from.get(i));
-        }
-    }
-
-    public int findAllmethodsAndFields(SymbolTable symbolTable, List<MethodeRow> methodsList, Set<String> methodesNames, List<Field> fieldList) {
-        SymbolTable parentSymbolTable = symbolTable.getParentSymbolTable();
-        int countMethodes = 0;
-        List<MethodeRow> orderedMethodLists = new ArrayList<>(methodsList);
-        methodsList.clear();
-        while (parentSymbolTable != null) {
-            List<MethodeRow> tmp = new ArrayList<>();
-            int i = 0;
-            for (Map.Entry<String, Symbol> symbolTableRow : parentSymbolTable.getEntries().entrySet()) {
-                Symbol symbol = symbolTableRow.getValue();
-                if (!symbol.getType().equals(Type.METHOD)) {
-                    Field field = new Field();
-                    extractFieldFields(field, symbol, fieldList, i++);
-                } else {
-                    if (methodesNames.contains(symbol.getSymbolName())) {
-                        moveToTmpList(orderedMethodLists, symbol.getSymbolName(), tmp);
-                        continue;
-                    }
-                    countMethodes++;
-                    MethodeRow methodeRow = new MethodeRow();
-                    extractMethodFields(symbol, methodeRow, tmp, methodesNames);
-                    methodeRow.setClassName(symbolTableClassesMap.get(parentSymbolTable));
-                }
-            }
-            addAllFirst(orderedMethodLists, tmp);
-//            tmp.addAll(orderedMethodLists);
-//            orderedMethodLists = tmp;
-            parentSymbolTable = parentSymbolTable.getParentSymbolTable();
-        }
-        methodsList.addAll(orderedMethodLists);
-        return countMethodes;
-    }
-
     public void inverseMap(Map<String, SymbolTable> map) {
         Map<SymbolTable, String> inverseMap = new HashMap<>();
         for (String className : map.keySet()) {
             inverseMap.put(map.get(className), className);
         }
         symbolTableClassesMap = inverseMap;
+        context.setSymbolTableClassesMap(inverseMap);
 
     }
 
@@ -0,0 +1,88 @@
+
+//----------------------------------------------------
+// The following code was generated by CUP v0.11b 20160615 (GIT 4ac7450)
+//----------------------------------------------------
+
+/** CUP generated interface containing symbol constants. */
+public interface sym {
+  /* terminals */
+  public static final int MULT = 8;
+  public static final int RBR = 23;
+  public static final int RET = 28;
+  public static final int LPAREN = 20;
+  public static final int MINUS = 7;
+  public static final int STATIC = 3;
+  public static final int RPAREN = 21;
+  public static final int NOT = 10;
+  public static final int SEMICOLON = 26;
+  public static final int AND = 17;
+  public static final int LT = 16;
+  public static final int COMMA = 19;
+  public static final int CLASS = 4;
+  public static final int PLUS = 6;
+  public static final int IF = 12;
+  public static final int THIS = 18;
+  public static final int ID = 37;
+  public static final int DOT = 27;
+  public static final int LSQBR = 24;
+  public static final int EOF = 0;
+  public static final int SYSTEM = 30;
+  public static final int ASS = 9;
+  public static final int TRUE = 14;
+  public static final int NEW = 31;
+  public static final int error = 1;
+  public static final int TYPEBOOL = 34;
+  public static final int NUMBER = 36;
+  public static final int STRINGARGS = 29;
+  public static final int TYPEINTARRAY = 33;
+  public static final int ELSE = 13;
+  public static final int TYPEINT = 32;
+  public static final int WHILE = 11;
+  public static final int LBR = 22;
+  public static final int PUBLIC = 2;
+  public static final int EXTENDS = 5;
+  public static final int RSQBR = 25;
+  public static final int FALSE = 15;
+  public static final int LENGTH = 35;
+  public static final String[] terminalNames = new String[] {
+  "EOF",
+  "error",
+  "PUBLIC",
+  "STATIC",
+  "CLASS",
+  "EXTENDS",
+  "PLUS",
+  "MINUS",
+  "MULT",
+  "ASS",
+  "NOT",
+  "WHILE",
+  "IF",
+  "ELSE",
+  "TRUE",
+  "FALSE",
+  "LT",
+  "AND",
+  "THIS",
+  "COMMA",
+  "LPAREN",
+  "RPAREN",
+  "LBR",
+  "RBR",
+  "LSQBR",
+  "RSQBR",
+  "SEMICOLON",
+  "DOT",
+  "RET",
+  "STRINGARGS",
+  "SYSTEM",
+  "NEW",
+  "TYPEINT",
+  "TYPEINTARRAY",
+  "TYPEBOOL",
+  "LENGTH",
+  "NUMBER",
+  "ID"
+  };
+}
+
@@ -0,0 +1,102 @@
+package symbolTable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// The inheritance forest of a program's classes (the main class is not part of it), numbered with
+// the pre and post order of a depth first walk: A is a subclass of B exactly when A's interval lies
+// inside B's, so a subtype check is two comparisons however deep the hierarchy is.
+public class ClassHierarchy {
+    private final Map<String, Integer> indices = new HashMap<>();
+    private final List<String> classIds = new ArrayList<>();
+    private final List<String> superClassIds = new ArrayList<>();
+    private final List<List<String>> subclasses = new ArrayList<>();
+    private int[] pre;
+    private int[] post;
+    // superclasses before their subclasses
+    private final List<String> preorder = new ArrayList<>();
+
+    // classTables are the tables of all classes by name
+    ClassHierarchy(Map<String, SymbolTable> classTables) {
+        Map<SymbolTable, String> tableClassIds = new HashMap<>();
+        for (var entry : classTables.entrySet()) {
+            indices.put(entry.getKey(), classIds.size());
+            classIds.add(entry.getKey());
+            subclasses.add(new ArrayList<>());
+            tableClassIds.put(entry.getValue(), entry.getKey());
+        }
+        List<String> roots = new ArrayList<>();
+        for (String classId : classIds) {
+            String superClassId = tableClassIds.get(classTables.get(classId).getParentSymbolTable());
+            superClassIds.add(superClassId);
+            if (superClassId == null) {
+                roots.add(classId);
+            } else {
+                subclasses.get(indices.get(superClassId)).add(classId);
+            }
+        }
+        number(roots);
+    }
+
+    // iterative, hierarchies can be deeper than the stack
+    private void number(List<String> roots) {
+        pre = new int[classIds.size()];
+        post = new int[classIds.size()];
+        int counter = 0;
+        Deque<String> stack = new ArrayDeque<>();
+        Deque<Integer> nextChild = new ArrayDeque<>();
+        for (String root : roots) {
+            stack.push(root);
+            nextChild.push(0);
+            pre[indices.get(root)] = counter++;
+            preorder.add(root);
+            while (!stack.isEmpty()) {
+                List<String> children = subclasses.get(indices.get(stack.peek()));
+                int next = nextChild.pop();
+                if (next < children.size()) {
+                    nextChild.push(next + 1);
+                    String child = children.get(next);
+                    stack.push(child);
+                    nextChild.push(0);
+                    pre[indices.get(child)] = counter++;
+                    preorder.add(child);
+                } else {
+                    post[indices.get(stack.pop())] = counter++;
+                }
+            }
+        }
+    }
+
+    public boolean contains(String classId) {
+        return indices.containsKey(classId);
+    }
+
+    // whether a is b or inherits from it, false if either is not a class
+    public boolean isSubclassOf(String a, String b) {
+        Integer indexA = indices.get(a);
+        Integer indexB = indices.get(b);
+        if (indexA == null || indexB == null) {
+            return false;
+        }
+        return pre[indexB] <= pre[indexA] && post[indexA] <= post[indexB];
+    }
+
+    // null for a class without a superclass
+    public String getSuperClass(String classId) {
+        return superClassIds.get(indices.get(classId));
+    }
+
+    public List<String> getSubclasses(String classId) {
+        return Collections.unmodifiableList(subclasses.get(indices.get(classId)));
+    }
+
+    // every class, superclasses before their subclasses
+    public List<String> getPreorder() {
+        return Collections.unmodifiableList(preorder);
+    }
+}
@@ -0,0 +1,75 @@
+package symbolTable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Every field and method of a class - its own and the inherited ones - flattened into name lookups,
+// so no pass has to walk the parent tables. Built once the symbol tables are complete, never changed.
+public class ClassMembers {
+    private final String classId;
+    private final SymbolTable symbolTable;
+    private final ClassMembers superMembers;
+    // the closest declaration of every field / method
+    private final Map<String, Symbol> fields;
+    private final Map<String, Symbol> methods;
+    // what the closest table holding the name has first under it, a field or a method
+    private final Map<String, Symbol> members;
+
+    ClassMembers(String classId, SymbolTable symbolTable, ClassMembers superMembers) {
+        this.classId = classId;
+        this.symbolTable = symbolTable;
+        this.superMembers = superMembers;
+        Map<String, Symbol> fields = new HashMap<>();
+        Map<String, Symbol> methods = new HashMap<>();
+        Map<String, Symbol> members = new HashMap<>();
+        if (superMembers != null) {
+            fields.putAll(superMembers.fields);
+            methods.putAll(superMembers.methods);
+            members.putAll(superMembers.members);
+        }
+        Map<String, Symbol> ownMembers = new HashMap<>();
+        for (Symbol symbol : symbolTable.getSymbols()) {
+            if (symbol.getType() == Type.METHOD) {
+                methods.put(symbol.getSymbolName(), symbol);
+            } else {
+                fields.put(symbol.getSymbolName(), symbol);
+            }
+            ownMembers.putIfAbsent(symbol.getSymbolName(), symbol);
+        }
+        members.putAll(ownMembers);
+        this.fields = Collections.unmodifiableMap(fields);
+        this.methods = Collections.unmodifiableMap(methods);
+        this.members = Collections.unmodifiableMap(members);
+    }
+
+    public String getClassId() {
+        return classId;
+    }
+
+    public SymbolTable getSymbolTable() {
+        return symbolTable;
+    }
+
+    // null for a class without a superclass
+    public ClassMembers getSuperMembers() {
+        return superMembers;
+    }
+
+    public Symbol getField(String name) {
+        return fields.get(name);
+    }
+
+    public Symbol getMethod(String name) {
+        return methods.get(name);
+    }
+
+    public Symbol getMember(String name) {
+        return members.get(name);
+    }
+
+    public Set<String> getFieldNames() {
+        return fields.keySet();
+    }
+}
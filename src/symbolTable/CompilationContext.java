@@ -0,0 +1,51 @@
+package symbolTable;
+
+import ast.ObjectStruct;
+
+import java.util.Map;
+
+// Everything the compiler phases learn about a single program.
+// One is created per compilation, so several programs can be compiled in the same JVM - also concurrently.
+public class CompilationContext {
+    private final SymbolTableUtils symbolTableUtils;
+    private final FlowUtils flowUtils;
+    private final NameTable nameTable;
+
+    // filled by VtableCreator
+    private Map<SymbolTable, String> symbolTableClassesMap;
+    private Map<String, ObjectStruct> objectStructMap;
+
+    public CompilationContext() {
+        this.symbolTableUtils = new SymbolTableUtils(this);
+        this.flowUtils = new FlowUtils(this);
+        this.nameTable = new NameTable();
+    }
+
+    public NameTable getNameTable() {
+        return nameTable;
+    }
+
+    public SymbolTableUtils getSymbolTableUtils() {
+        return symbolTableUtils;
+    }
+
+    public FlowUtils getFlowUtils() {
+        return flowUtils;
+    }
+
+    public Map<SymbolTable, String> getSymbolTableClassesMap() {
+        return symbolTableClassesMap;
+    }
+
+    public void setSymbolTableClassesMap(Map<SymbolTable, String> symbolTableClassesMap) {
+        this.symbolTableClassesMap = symbolTableClassesMap;
+    }
+
+    public Map<String, ObjectStruct> getObjectStructMap() {
+        return objectStructMap;
+    }
+
+    public void setObjectStructMap(Map<String, ObjectStruct> objectStructMap) {
+        this.objectStructMap = objectStructMap;
+    }
+}
@@ -2,13 +2,34 @@ package symbolTable;
 
 import ast.*;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class FlowUtils {
-    private static Map<String, Symbol> lineNumberToSymbol = new HashMap<>();
+    private final CompilationContext context;
+    private final PositionIndex positionIndex = new PositionIndex();
+    // the fields every method uses, by the method's table
+    private final Map<SymbolTable, Set<Symbol>> fieldUses = new HashMap<>();
 
-    public static void rename(Properties properties, String newName) throws UnsupportedOperationException {
+    FlowUtils(CompilationContext context) {
+        this.context = context;
+    }
+
+    // one rename of a batch, with the arguments of the rename action: the name and line of the declaration
+    public record Rename(boolean isMethod, String name, int line, String newName) {
+    }
+
+    // returns the renamed nodes
+    public static List<AstNode> rename(Properties properties, String newName) throws UnsupportedOperationException {
         // raise error handling
         for (var astNode : properties.getPtrList()) {
             if (astNode instanceof VariableIntroduction) {
@@ -33,16 +54,150 @@ public class FlowUtils {
         for (var symbol : properties.getSymbolList()) {
             symbol.setSymbolName(newName);
         }
+        return properties.getPtrList();
+    }
+
+    public void addDeclaration(Symbol symbol, AstNode astNode) {
+        positionIndex.add(astNode, symbol, true);
+    }
+
+    public void addReference(Symbol symbol, AstNode astNode) {
+        positionIndex.add(astNode, symbol, false);
+    }
+
+    public void addFieldUse(SymbolTable methodSymbolTable, Symbol field) {
+        fieldUses.computeIfAbsent(methodSymbolTable, t -> new LinkedHashSet<>()).add(field);
+    }
+
+    public PositionIndex getPositionIndex() {
+        return positionIndex;
+    }
+
+    // Resolves every rename against the program as it is, rejects renames that conflict, and only then
+    // applies them, so the result does not depend on their order. A rename that is given twice is applied once.
+    // Returns the renamed nodes with their new names.
+    public Map<AstNode, String> renameAll(List<Rename> renames) throws UnsupportedOperationException {
+        Map<Symbol, String> newNames = new LinkedHashMap<>();
+        for (Rename rename : renames) {
+            Symbol symbol = positionIndex.findDeclaration(rename.line(), rename.name());
+            if (symbol == null) {
+                throw new UnsupportedOperationException("nothing named " + rename.name() + " is declared on line " + rename.line());
+            }
+            if (rename.isMethod()) {
+                symbol = symbol.getEnclosingSymbolTable().lookupMethod(symbol.getSymbolName());
+                if (symbol == null) {
+                    throw new UnsupportedOperationException("no method " + rename.name() + " is declared on line " + rename.line());
+                }
+            }
+            String newName = newNames.putIfAbsent(symbol, rename.newName());
+            if (newName != null && !newName.equals(rename.newName())) {
+                throw new UnsupportedOperationException("conflicting renames of " + rename.name() + " on line "
+                        + rename.line() + ": " + newName + " and " + rename.newName());
+            }
+        }
+
+        // a method rename renames the methods overriding it as well
+        Map<Symbol, String> renamed = new LinkedHashMap<>(newNames);
+        // every renamed symbol by the declaration it is renamed with
+        Map<Symbol, Symbol> renamedWith = new HashMap<>();
+        for (var entry : newNames.entrySet()) {
+            renamedWith.put(entry.getKey(), entry.getKey());
+            for (Symbol overriding : entry.getKey().getProperties().getSymbolList()) {
+                renamed.put(overriding, entry.getValue());
+                renamedWith.putIfAbsent(overriding, entry.getKey());
+            }
+        }
+        // no two variables or two methods of one scope may end up with the same name
+        Set<SymbolTable> checked = new HashSet<>();
+        for (Symbol symbol : renamed.keySet()) {
+            if (!checked.add(symbol.getEnclosingSymbolTable())) {
+                continue;
+            }
+            Set<String> names = new HashSet<>();
+            for (Symbol other : symbol.getEnclosingSymbolTable().getSymbols()) {
+                String name = renamed.getOrDefault(other, other.getSymbolName());
+                if (!names.add(other.getType() + " " + name)) {
+                    throw new UnsupportedOperationException("renames declare " + name + " twice in one scope");
+                }
+            }
+        }
+
+        checkInheritedNames(renamed, renamedWith);
+        checkHiddenFields(renamed);
+
+        Map<AstNode, String> renamedNodes = new IdentityHashMap<>();
+        for (var entry : newNames.entrySet()) {
+            for (AstNode astNode : rename(entry.getKey().getProperties(), entry.getValue())) {
+                renamedNodes.put(astNode, entry.getValue());
+            }
+        }
+        return renamedNodes;
     }
 
-    public static void addSymbolLineNumber(Symbol symbol, Integer lineNumber) {
-        lineNumberToSymbol.put(lineNumber + symbol.getSymbolName(), symbol);
+    // A renamed field may not take the name of a field of a superclass or a subclass, and a renamed method
+    // not the name of a method there unless both are renamed by the same rename, as a method and the methods
+    // overriding it are - whatever the signatures, the program would no longer be valid, or no longer mean the same.
+    private void checkInheritedNames(Map<Symbol, String> renamed, Map<Symbol, Symbol> renamedWith) {
+        SymbolTableUtils symbolTableUtils = context.getSymbolTableUtils();
+        Map<SymbolTable, String> classIds = new HashMap<>();
+        for (var entry : symbolTableUtils.getSymbolTableClassMap_real().entrySet()) {
+            classIds.put(entry.getValue(), entry.getKey());
+        }
+        ClassHierarchy classHierarchy = symbolTableUtils.getClassHierarchy();
+        for (var entry : renamed.entrySet()) {
+            Symbol symbol = entry.getKey();
+            String classId = classIds.get(symbol.getEnclosingSymbolTable());
+            if (classId == null || !classHierarchy.contains(classId)) {
+                // a local or formal, or a member of the main class
+                continue;
+            }
+            // the superclasses, through their members, then every class below this one
+            List<SymbolTable> related = new ArrayList<>();
+            for (ClassMembers members = symbolTableUtils.getClassMembers(classId).getSuperMembers(); members != null;
+                 members = members.getSuperMembers()) {
+                related.add(members.getSymbolTable());
+            }
+            Deque<String> below = new ArrayDeque<>(classHierarchy.getSubclasses(classId));
+            while (!below.isEmpty()) {
+                String subclassId = below.pop();
+                related.add(symbolTableUtils.getClassMembers(subclassId).getSymbolTable());
+                below.addAll(classHierarchy.getSubclasses(subclassId));
+            }
+            for (SymbolTable symbolTable : related) {
+                for (Symbol other : symbolTable.getSymbols()) {
+                    if (other.getType() != symbol.getType()
+                            || !renamed.getOrDefault(other, other.getSymbolName()).equals(entry.getValue())
+                            || (symbol.getType() == Type.METHOD && renamedWith.get(other) == renamedWith.get(symbol))) {
+                        continue;
+                    }
+                    throw new UnsupportedOperationException("renaming " + symbol.getSymbolName() + " of " + classId + " to "
+                            + entry.getValue() + " collides with the " + (symbol.getType() == Type.METHOD ? "method" : "field")
+                            + " " + other.getSymbolName() + " of " + classIds.get(symbolTable));
+                }
+            }
+        }
+    }
+
+    // A field a method uses may not end up with the name of a local or formal of the method, in either
+    // direction: its uses would then resolve to the local.
+    private void checkHiddenFields(Map<Symbol, String> renamed) {
+        for (var entry : fieldUses.entrySet()) {
+            for (Symbol local : entry.getKey().getSymbols()) {
+                String name = renamed.getOrDefault(local, local.getSymbolName());
+                for (Symbol field : entry.getValue()) {
+                    if (renamed.getOrDefault(field, field.getSymbolName()).equals(name)) {
+                        throw new UnsupportedOperationException("renames give the local " + local.getSymbolName()
+                                + " and the field " + field.getSymbolName() + " its method uses the same name " + name);
+                    }
+                }
+            }
+        }
     }
 
-    public static Symbol findSymbolToRename(Integer originalLine, String name, boolean isMethod) {
-        Symbol symbol = lineNumberToSymbol.get(originalLine + name);
+    public Symbol findSymbolToRename(Integer originalLine, String name, boolean isMethod) {
+        Symbol symbol = positionIndex.findDeclaration(originalLine, name);
         symbol = isMethod ?
-                symbol.getEnclosingSymbolTable().resolveSymbol(SymbolTable.createKey(symbol.getSymbolName(), Type.METHOD))
+                symbol.getEnclosingSymbolTable().lookupMethod(symbol.getSymbolName())
                 : symbol;
         return symbol;
     }
@@ -0,0 +1,38 @@
+package symbolTable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Identifiers of a single program, each numbered with a dense int id the first time the symbol tables see it.
+// The AST nodes keep the ids of the names they declare or use, so only building the tables hashes names here.
+public class NameTable {
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+
+    // id of name, numbering it if it is new
+    public int id(String name) {
+        Integer id = ids.get(name);
+        if (id == null) {
+            id = names.size();
+            ids.put(name, id);
+            names.add(name);
+        }
+        return id;
+    }
+
+    // id of name, -1 if no symbol was ever given that name
+    public int find(String name) {
+        Integer id = ids.get(name);
+        return id == null ? -1 : id;
+    }
+
+    public String name(int id) {
+        return names.get(id);
+    }
+
+    public int size() {
+        return names.size();
+    }
+}
@@ -0,0 +1,103 @@
+package symbolTable;
+
+import ast.AstNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Every declaration and resolved reference of a program by line, filled while the symbol tables are
+// built. The AST formats only keep line numbers, no columns, so an occurrence is addressed by its line
+// and its occurrence index: its index among the occurrences of its line, in the order they were
+// resolved. Nodes without a line number are left out. Lookups sort the occurrences once and then
+// binary search by line.
+public class PositionIndex {
+    public record Occurrence(int line, int occurrenceIndex, AstNode node, Symbol symbol, boolean declaration) {
+    }
+
+    // in the order they were added, until the first lookup
+    private final List<Occurrence> added = new ArrayList<>();
+    private Occurrence[] sorted;
+    private int[] lines;
+    private Map<Symbol, List<Occurrence>> bySymbol;
+
+    void add(AstNode node, Symbol symbol, boolean declaration) {
+        if (node.lineNumber == null) {
+            return;
+        }
+        added.add(new Occurrence(node.lineNumber, added.size(), node, symbol, declaration));
+        sorted = null;
+    }
+
+    private void sort() {
+        if (sorted != null) {
+            return;
+        }
+        // stable, so occurrences of one line keep the order they were resolved in
+        Occurrence[] byLine = added.toArray(new Occurrence[0]);
+        Arrays.sort(byLine, Comparator.comparingInt(Occurrence::line));
+        sorted = new Occurrence[byLine.length];
+        lines = new int[byLine.length];
+        bySymbol = new IdentityHashMap<>();
+        for (int i = 0, occurrenceIndex = 0; i < byLine.length; i++) {
+            occurrenceIndex = i > 0 && byLine[i - 1].line() == byLine[i].line() ? occurrenceIndex + 1 : 0;
+            Occurrence occurrence = byLine[i];
+            sorted[i] = new Occurrence(occurrence.line(), occurrenceIndex, occurrence.node(), occurrence.symbol(), occurrence.declaration());
+            lines[i] = occurrence.line();
+            bySymbol.computeIfAbsent(occurrence.symbol(), s -> new ArrayList<>()).add(sorted[i]);
+        }
+    }
+
+    // the index of the first occurrence on the line or after it
+    private int firstOnLine(int line) {
+        int low = 0;
+        int high = lines.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (lines[middle] < line) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // the occurrences on a line, by occurrence index
+    public List<Occurrence> onLine(int line) {
+        sort();
+        int from = firstOnLine(line);
+        int to = firstOnLine(line + 1);
+        return Collections.unmodifiableList(Arrays.asList(sorted).subList(from, to));
+    }
+
+    // the occurrence with that index on the line, null if there is none
+    public Occurrence occurrenceAt(int line, int occurrenceIndex) {
+        List<Occurrence> occurrences = onLine(line);
+        return occurrenceIndex >= 0 && occurrenceIndex < occurrences.size() ? occurrences.get(occurrenceIndex) : null;
+    }
+
+    // the first symbol declared on the line under the name, null if there is none
+    public Symbol findDeclaration(int line, String name) {
+        for (Occurrence occurrence : onLine(line)) {
+            if (occurrence.declaration() && occurrence.symbol().getSymbolName().equals(name)) {
+                return occurrence.symbol();
+            }
+        }
+        return null;
+    }
+
+    // the declaration and all references of a symbol, by line and occurrence index
+    public List<Occurrence> occurrencesOf(Symbol symbol) {
+        sort();
+        return Collections.unmodifiableList(bySymbol.getOrDefault(symbol, List.of()));
+    }
+
+    public int size() {
+        return added.size();
+    }
+}
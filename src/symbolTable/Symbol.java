@@ -35,14 +35,20 @@ class Properties {
 
 public class Symbol {
     private String symbolName;
+    // id of symbolName in the program's NameTable
+    private int nameId;
+    // position in the enclosing table - for a formal or local, its slot in the method
+    private int slot;
     private Type type;
     private List<String> decl;
     private Properties properties;
     private boolean isRootMethod;
     private SymbolTable enclosingSymbolTable;
 
-    public Symbol(String varName, Type type, List<String> decl, AstNode astNode, SymbolTable enclosingSymbolTable) {
+    public Symbol(String varName, int nameId, int slot, Type type, List<String> decl, AstNode astNode, SymbolTable enclosingSymbolTable) {
         this.symbolName = varName;
+        this.nameId = nameId;
+        this.slot = slot;
         this.type = type;
         this.decl = decl;
         this.properties = new Properties(astNode);
@@ -68,6 +74,15 @@ public class Symbol {
 
     public void setSymbolName(String symbolName) {
         this.symbolName = symbolName;
+        this.nameId = enclosingSymbolTable.context.getNameTable().id(symbolName);
+    }
+
+    public int getNameId() {
+        return nameId;
+    }
+
+    public int getSlot() {
+        return slot;
     }
 
     public Type getType() {
@@ -88,8 +103,10 @@ public class Symbol {
 
     public void addProperty(AstNode astNode) {
         this.properties.addAstNode(astNode);
+        enclosingSymbolTable.context.getFlowUtils().addReference(this, astNode);
     }
 
+    // an overriding method, which is a declaration of its own as well
     public void addProperty(AstNode astNode, Symbol symbol) {
         this.properties.addAstNode(astNode);
         this.properties.addSymbol(symbol);
@@ -2,53 +2,129 @@ package symbolTable;
 
 import ast.AstNode;
 
-import java.util.HashMap;
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 public class SymbolTable {
 
-    private Map<String, Symbol> entries;
+    // symbols in declaration order (the order vtables are laid out in), and the position of every
+    // method and every variable among them by name id
+    private List<Symbol> symbols;
+    private IntIntMap methods;
+    private IntIntMap variables;
     private SymbolTable parentSymbolTable;
+    CompilationContext context;
+
+    // root of a program's tables
+    public SymbolTable(CompilationContext context) {
+        this.symbols = new ArrayList<>();
+        this.methods = new IntIntMap();
+        this.variables = new IntIntMap();
+        this.parentSymbolTable = null;
+        this.context = context;
+    }
 
     public SymbolTable(SymbolTable parentSymbolTable) {
-        this.entries = new LinkedHashMap<>();
+        this.symbols = new ArrayList<>();
+        this.methods = new IntIntMap();
+        this.variables = new IntIntMap();
         this.parentSymbolTable = parentSymbolTable;
+        this.context = parentSymbolTable.context;
     }
-    public Map<String, Symbol> getEntries() {
-        return entries;
+
+    public List<Symbol> getSymbols() {
+        return Collections.unmodifiableList(symbols);
     }
 
     public SymbolTable getParentSymbolTable() {
         return parentSymbolTable;
     }
 
-    public static String createKey(String name, String name2) {
-        return name + " " + name2;
-    }
-
-    public static String createKey(String name, Type type) {
-        return name + type.getName();
+    // the map of the given type's symbols, from name id to position
+    private IntIntMap positions(Type type) {
+        return type == Type.METHOD ? methods : variables;
     }
 
     public Symbol addSymbol(AstNode astNode, String name, Type type, List<String> decl) {
-        Symbol symbol = new Symbol(name, type, decl, astNode, this);
-        this.entries.put(createKey(name, type), symbol);
-        FlowUtils.addSymbolLineNumber(symbol, astNode.lineNumber);
+        int nameId = context.getNameTable().id(name);
+        int position = positions(type).get(nameId, -1);
+        Symbol symbol = new Symbol(name, nameId, position >= 0 ? position : symbols.size(), type, decl, astNode, this);
+        if (position >= 0) {
+            // redeclaring a name replaces its symbol in place
+            symbols.set(position, symbol);
+        } else {
+            positions(type).put(nameId, symbols.size());
+            symbols.add(symbol);
+        }
+        context.getFlowUtils().addDeclaration(symbol, astNode);
+        context.getSymbolTableUtils().countSymbol();
         return symbol;
     }
 
-    private Symbol getKey(String key) {
-        return this.entries.get(key);
+    private Symbol getLocal(Type type, int nameId) {
+        int position = positions(type).get(nameId, -1);
+        return position < 0 ? null : symbols.get(position);
+    }
+
+    // the symbol of this table (not its parents)
+    public Symbol getSymbol(String name, Type type) {
+        return getSymbol(context.getNameTable().find(name), type);
     }
 
-    public Symbol resolveSymbol(String key) {
-        Symbol symbol = entries.get(key);
+    // the same by the id the AST node keeps for the name
+    public Symbol getSymbol(int nameId, Type type) {
+        return nameId < 0 ? null : getLocal(type, nameId);
+    }
+
+    // the symbol at a position of this table, for a method's table the local or formal in that slot
+    public Symbol getSymbol(int slot) {
+        return symbols.get(slot);
+    }
+
+    public boolean contains(String name, Type type) {
+        return getSymbol(name, type) != null;
+    }
+
+    // the first symbol of this table (not its parents) named name, a variable or a method
+    public Symbol findSymbolNamed(String name) {
+        int nameId = context.getNameTable().find(name);
+        if (nameId < 0) {
+            return null;
+        }
+        int variable = variables.get(nameId, Integer.MAX_VALUE);
+        int method = methods.get(nameId, Integer.MAX_VALUE);
+        int first = Math.min(variable, method);
+        return first == Integer.MAX_VALUE ? null : symbols.get(first);
+    }
+
+    // the root declaration of the method, the one every override hangs off
+    public Symbol lookupMethod(String name) {
+        return lookupMethod(context.getNameTable().find(name));
+    }
+
+    public Symbol lookupMethod(int nameId) {
+        return resolve(Type.METHOD, nameId);
+    }
+
+    // the variable in the innermost table that declares it
+    public Symbol lookupVariable(String name) {
+        return lookupVariable(context.getNameTable().find(name));
+    }
+
+    public Symbol lookupVariable(int nameId) {
+        return resolve(Type.VARIABLE, nameId);
+    }
+
+    private Symbol resolve(Type type, int nameId) {
+        if (nameId < 0) {
+            return null;
+        }
+        Symbol symbol = getLocal(type, nameId);
         SymbolTable parentSymbolTable = this.parentSymbolTable;
         while ((symbol == null && parentSymbolTable != null) ||
                 (symbol != null && symbol.getType() == Type.METHOD && !symbol.isRootMethod())) {
-            symbol = parentSymbolTable.getKey(key);
+            symbol = parentSymbolTable.getLocal(type, nameId);
             parentSymbolTable = parentSymbolTable.parentSymbolTable;
         }
         if (symbol == null) {
@@ -57,26 +133,21 @@ public class SymbolTable {
         return symbol;
     }
 
-    public boolean checkFieldWasDeclaredBefore(String key) {
-        Symbol symbol = entries.get(key);
-        SymbolTable parentSymbolTable = this.parentSymbolTable;
-        while (symbol == null && parentSymbolTable != null) {
-            symbol = parentSymbolTable.getKey(key);
-            parentSymbolTable = parentSymbolTable.parentSymbolTable;
-        }
+    public boolean checkFieldWasDeclaredBefore(String name) {
+        Symbol symbol = lookupVariable(name);
         if (symbol != null) {
-            SymbolTableUtils.setERROR(true);
-            SymbolTableUtils.setERRORReasons("field was declared at least twice in the same class, or in a class and subclass ");
+            context.getSymbolTableUtils().setERROR(true);
+            context.getSymbolTableUtils().setERRORReasons("field was declared at least twice in the same class, or in a class and subclass ");
             return true;
         }
         return false;
     }
 
-    public boolean checkWasAlreadyDeclared(String key) {
-        Symbol symbol = entries.get(key);
+    public boolean checkWasAlreadyDeclared(String name, Type type) {
+        Symbol symbol = getSymbol(name, type);
         if (symbol != null) {
-            SymbolTableUtils.setERROR(true);
-            SymbolTableUtils.setERRORReasons("methode was declared at least twice in the same class or variable declared twice in same method");
+            context.getSymbolTableUtils().setERROR(true);
+            context.getSymbolTableUtils().setERRORReasons("methode was declared at least twice in the same class or variable declared twice in same method");
             return true;
         }
         return false;
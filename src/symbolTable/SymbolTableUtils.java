@@ -9,138 +9,171 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+// Symbol tables of a single program - owned by its CompilationContext
 public class SymbolTableUtils {
-    private static SymbolTable root;
+    private final CompilationContext context;
+    private SymbolTable root;
 
 
     // Example - if we define Class A and then Class B and afterwords Class C extends A
     // we need to know to connect C symbol table to A
-    private static Map<String, SymbolTable> symbolTableClassWithMethodMap = new HashMap<>();
-    private static Map<String, SymbolTable> symbolTableClassMap_real = new HashMap<>();
-    private static Map<String, SymbolTable> symbolTableClassMap = new HashMap<>();
-    private static Map<String, List<AstNode>> unresolvedParams = new HashMap<>();
-    private static List<String> unresolvedClasses = new ArrayList<>();
-    private static SymbolTable currSymTable;
-    private static String currClassID;
-    private static boolean ERROR = false;
-    private static String ERRORReasons;
-
-
-    public static String getERRORReasons() {
+    private Map<String, SymbolTable> symbolTableClassWithMethodMap = new HashMap<>();
+    private Map<String, SymbolTable> symbolTableClassMap_real = new HashMap<>();
+    private Map<String, SymbolTable> symbolTableClassMap = new HashMap<>();
+    // calls whose method could not be resolved yet, by class and then by method name
+    private Map<String, Map<String, List<AstNode>>> unresolvedParams = new HashMap<>();
+    private List<String> unresolvedClasses = new ArrayList<>();
+    // filled once the tables are complete and valid
+    private Map<String, ClassMembers> classMembers = new HashMap<>();
+    private ClassHierarchy classHierarchy;
+    private SymbolTable currSymTable;
+    private String currClassID;
+    private boolean ERROR = false;
+    private String ERRORReasons;
+    private int symbolCount = 0;
+
+
+    public SymbolTableUtils(CompilationContext context) {
+        this.context = context;
+    }
+
+    public String getERRORReasons() {
         return ERRORReasons;
     }
 
-    public static void setERRORReasons(String string){
+    public void setERRORReasons(String string){
         ERRORReasons = string;
 
     }
 
-    public static boolean isERROR() {
+    public boolean isERROR() {
         return ERROR;
     }
 
-    public static void setERROR(boolean ERROR) {
-        SymbolTableUtils.ERROR = ERROR;
+    public void setERROR(boolean ERROR) {
+        this.ERROR = ERROR;
     }
 
 
 
-    public static Map<String, SymbolTable> getSymbolTableClassWithMethodMap() { return symbolTableClassWithMethodMap; }
-    public static Map<String, SymbolTable> getSymbolTableClassMap_real() { return symbolTableClassMap_real; }
-    public static Map<String, SymbolTable> getSymbolTableClassMap() { return symbolTableClassMap; }
-    public static void setCurrClassID(String currClassID) {
-        SymbolTableUtils.currClassID = currClassID;
+    public Map<String, SymbolTable> getSymbolTableClassWithMethodMap() { return symbolTableClassWithMethodMap; }
+    public Map<String, SymbolTable> getSymbolTableClassMap_real() { return symbolTableClassMap_real; }
+    public Map<String, SymbolTable> getSymbolTableClassMap() { return symbolTableClassMap; }
+    public void setCurrClassID(String currClassID) {
+        this.currClassID = currClassID;
     }
 
-    public static String getCurrClassId() {
+    public String getCurrClassId() {
         return currClassID;
     }
 
-    public static SymbolTable getCurrSymTable() {
+    public SymbolTable getCurrSymTable() {
         return currSymTable;
     }
 
-    public static SymbolTable getRoot() {
+    public SymbolTable getRoot() {
         return root;
     }
 
-    public static void setRoot(SymbolTable root) {
-        SymbolTableUtils.root = root;
-        SymbolTableUtils.currSymTable = root;
+    public void setRoot(SymbolTable root) {
+        this.root = root;
+        this.currSymTable = root;
     }
 
-    public static void setCurrSymTable(SymbolTable currSymTable) {
-        SymbolTableUtils.currSymTable = currSymTable;
+    public void setCurrSymTable(SymbolTable currSymTable) {
+        this.currSymTable = currSymTable;
     }
 
-    public static void addSymbolTable(String name, SymbolTable symbolTable) {
+    public void addSymbolTable(String name, SymbolTable symbolTable) {
         symbolTableClassMap.put(name, symbolTable);
         currSymTable = symbolTable;
     }
 
-    public static void addClassMethodSymbolTable(String name, SymbolTable symbolTable) {
+    public void addClassMethodSymbolTable(String name, SymbolTable symbolTable) {
         symbolTableClassWithMethodMap.put(name, symbolTable);
     }
-    public static boolean addClassSymbolTable(String name, SymbolTable symbolTable) {
+    public boolean addClassSymbolTable(String name, SymbolTable symbolTable) {
         if(symbolTableClassMap_real.containsKey(name)){
-            SymbolTableUtils.setERROR(true);
-            SymbolTableUtils.setERRORReasons("more than one class with the same name is decleard in program");
+            setERROR(true);
+            setERRORReasons("more than one class with the same name is decleard in program");
             return true;
         }
         symbolTableClassMap_real.put(name, symbolTable);
         return false;
     }
 
-    public static void buildSymbolTables(Program program) {
-        AstVisitor visitor = new AstVisitor();
+    public void buildSymbolTables(Program program) {
+        AstVisitor visitor = new AstVisitor(context);
         program.accept(visitor);
-        if(SymbolTableUtils.isERROR()){return;}
-        for (var unresolved : unresolvedParams.entrySet()) {
-            String[] args = unresolved.getKey().split(" ");
-            String classId = args[0];
-            String methodName = args[1];
-            SymbolTable symbolTable = SymbolTableUtils.getSymbolTable(classId);
+        if(isERROR()){return;}
+        for (var unresolvedClass : unresolvedParams.entrySet()) {
+            SymbolTable symbolTable = getSymbolTable(unresolvedClass.getKey());
             if(symbolTable==null){
-                SymbolTableUtils.setERROR(true);
-                SymbolTableUtils.setERRORReasons("call methode of a class that was not declared in file");
+                setERROR(true);
+                setERRORReasons("call methode of a class that was not declared in file");
                 return;
             }
-            Symbol symbol = symbolTable.resolveSymbol(SymbolTable.createKey(methodName, Type.METHOD));
-            if(symbol==null){
-                SymbolTableUtils.setERROR(true);
-                SymbolTableUtils.setERRORReasons("call methode that eas not declared in the class or upper");
-                return;
-            }
-            for (var e : unresolved.getValue()) {
-                symbol.addProperty(e);
+            for (var unresolved : unresolvedClass.getValue().entrySet()) {
+                Symbol symbol = symbolTable.lookupMethod(unresolved.getKey());
+                if(symbol==null){
+                    setERROR(true);
+                    setERRORReasons("call methode that eas not declared in the class or upper");
+                    return;
+                }
+                for (var e : unresolved.getValue()) {
+                    symbol.addProperty(e);
+                }
             }
         }
         for(String className:unresolvedClasses){
             if(!symbolTableClassMap_real.containsKey(className)){
-                SymbolTableUtils.setERROR(true);
-                SymbolTableUtils.setERRORReasons("created new class object that has not been declared in file," +
+                setERROR(true);
+                setERRORReasons("created new class object that has not been declared in file," +
                         "or created reference to object of class type not declared in file ");
                 return;
             }
         }
+        buildClassMembers();
     }
 
-    public static void addUnresolvedParam(String classId, String methodName, AstNode astNode) {
-        String key = SymbolTable.createKey(classId, methodName);
-        if (unresolvedParams.containsKey(key)) {
-            unresolvedParams.get(key).add(astNode);
-        } else {
-            ArrayList<AstNode> lst = new ArrayList<>();
-            lst.add(astNode);
-            unresolvedParams.put(key, lst);
+    private void buildClassMembers() {
+        classHierarchy = new ClassHierarchy(symbolTableClassMap_real);
+        // superclasses first, so their members can be copied
+        for (String classId : classHierarchy.getPreorder()) {
+            String superClassId = classHierarchy.getSuperClass(classId);
+            ClassMembers superMembers = superClassId == null ? null : classMembers.get(superClassId);
+            classMembers.put(classId, new ClassMembers(classId, symbolTableClassMap_real.get(classId), superMembers));
         }
     }
 
-    public static void addUnresolvedClasses(String classId) {
+    public ClassHierarchy getClassHierarchy() {
+        return classHierarchy;
+    }
+
+    // null for the main class and for names that are not classes
+    public ClassMembers getClassMembers(String classId) {
+        return classMembers.get(classId);
+    }
+
+    public void addUnresolvedParam(String classId, String methodName, AstNode astNode) {
+        unresolvedParams.computeIfAbsent(classId, k -> new HashMap<>())
+                .computeIfAbsent(methodName, k -> new ArrayList<>())
+                .add(astNode);
+    }
+
+    public void countSymbol() {
+        symbolCount++;
+    }
+
+    public int getSymbolCount() {
+        return symbolCount;
+    }
+
+    public void addUnresolvedClasses(String classId) {
         unresolvedClasses.add(classId);
     }
 
-    public static SymbolTable getSymbolTable(String key) {
+    public SymbolTable getSymbolTable(String key) {
         return symbolTableClassMap.get(key);
     }
 }
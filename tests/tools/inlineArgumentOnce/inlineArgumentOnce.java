@@ -0,0 +1,25 @@
+class inlineArgumentOnce {
+    public static void main(String[] a) {
+        System.out.println(new B().run());
+    }
+}
+
+class B {
+    int n;
+
+    public int run() {
+        int r;
+        n = 0;
+        r = this.id(this.bump());
+        return n;
+    }
+
+    public int bump() {
+        n = n + 1;
+        return n;
+    }
+
+    public int id(int x) {
+        return x;
+    }
+}
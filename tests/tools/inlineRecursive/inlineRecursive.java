@@ -0,0 +1,23 @@
+class Recursive {
+    public static void main(String[] a) {
+        System.out.println(new Sum().sum(5));
+    }
+}
+
+class Sum {
+
+    public int sum(int n) {
+        int r;
+        if (n < 1) {
+            r = this.zero();
+        } else {
+            r = n + (this.sum(n - 1));
+        }
+        return r;
+    }
+
+    public int zero() {
+        return 0;
+    }
+
+}
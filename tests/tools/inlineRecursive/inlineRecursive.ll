@@ -0,0 +1,121 @@
+
+@.Sum_vtable = global [2 x i8*] [
+i8* bitcast (i32(i8*, i32)* @Sum.sum to i8*),
+i8* bitcast (i32(i8*)* @Sum.zero to i8*)
+]
+declare i8* @calloc(i32, i32)
+declare i32 @printf(i8*, ...)
+declare void @exit(i32)
+
+@_cint = constant [4 x i8] c"%d\0a\00"
+@_cOOB = constant [15 x i8] c"Out of bounds\0a\00"
+define void @print_int(i32 %i) {
+	%_str = bitcast [4 x i8]* @_cint to i8*
+	call i32 (i8*, ...) @printf(i8* %_str, i32 %i)
+	ret void
+}
+
+define void @throw_oob() {
+	%_str = bitcast [15 x i8]* @_cOOB to i8*
+	call i32 (i8*, ...) @printf(i8* %_str)
+	call void @exit(i32 1)
+	ret void
+}
+
+@_arena_next = global i8* null
+@_arena_end = global i8* null
+@_arena_start = global i8* null
+@_arena_chunks = global i32 0
+@_arena_retired = global i64 0
+
+define i8* @arena_refill(i32 %words) {
+	%_chunks = load i32, i32* @_arena_chunks
+	%_chunks1 = add i32 %_chunks, 1
+	store i32 %_chunks1, i32* @_arena_chunks
+	%_retired = load i64, i64* @_arena_retired
+	%_large = icmp ugt i32 %words, 131072
+	br i1 %_large, label %large, label %chunk
+large:
+	%_block = call i8* @calloc(i32 8, i32 %words)
+	%_words64 = zext i32 %words to i64
+	%_size = shl i64 %_words64, 3
+	%_retired1 = add i64 %_retired, %_size
+	store i64 %_retired1, i64* @_arena_retired
+	ret i8* %_block
+chunk:
+	%_next = load i8*, i8** @_arena_next
+	%_start = load i8*, i8** @_arena_start
+	%_nextInt = ptrtoint i8* %_next to i64
+	%_startInt = ptrtoint i8* %_start to i64
+	%_used = sub i64 %_nextInt, %_startInt
+	%_retired2 = add i64 %_retired, %_used
+	store i64 %_retired2, i64* @_arena_retired
+	%_chunk = call i8* @calloc(i32 8, i32 131072)
+	%_chunkWords64 = zext i32 %words to i64
+	%_chunkSize = shl i64 %_chunkWords64, 3
+	%_chunkNext = getelementptr i8, i8* %_chunk, i64 %_chunkSize
+	%_chunkEnd = getelementptr i8, i8* %_chunk, i32 1048576
+	store i8* %_chunk, i8** @_arena_start
+	store i8* %_chunkNext, i8** @_arena_next
+	store i8* %_chunkEnd, i8** @_arena_end
+	ret i8* %_chunk
+}
+
+define i32 @main() {
+entry:
+%_3 = load i8*, i8** @_arena_next
+%_4 = getelementptr i8, i8* %_3, i32 8
+%_5 = load i8*, i8** @_arena_end
+%_6 = icmp ugt i8* %_4, %_5
+br i1 %_6, label %if0, label %if1
+if0:
+%_7 = call i8* @arena_refill(i32 1)
+br label %if2
+if1:
+store i8* %_4, i8** @_arena_next
+br label %if2
+if2:
+%_0 = phi i8* [%_7, %if0], [%_3, %if1]
+%_1 = bitcast i8* %_0 to i8***
+%_2 = getelementptr [2 x i8*], [2 x i8*]* @.Sum_vtable, i32 0, i32 0
+store i8** %_2, i8*** %_1
+%_8 = icmp slt i32 5, 1
+br i1 %_8, label %if3, label %if4
+if3:
+%_9 = bitcast i32 0 to i32
+br label %if5
+if4:
+%_10 = sub i32 5, 1
+%_11 = sub i32 5, 1
+%_12 = call i32 @Sum.sum(i8* %_0, i32 %_11)
+%_13 = add i32 5, %_12
+br label %if5
+if5:
+%_14 = phi i32 [%_9, %if3], [%_13, %if4]
+call void (i32) @print_int(i32 %_14)
+ret i32 0
+}
+
+define i32 @Sum.sum(i8* %this, i32 %.n) {
+entry:
+%_0 = icmp slt i32 %.n, 1
+br i1 %_0, label %if0, label %if1
+if0:
+%_1 = bitcast i32 0 to i32
+br label %if2
+if1:
+%_2 = sub i32 %.n, 1
+%_3 = sub i32 %.n, 1
+%_4 = call i32 @Sum.sum(i8* %this, i32 %_3)
+%_5 = add i32 %.n, %_4
+br label %if2
+if2:
+%_6 = phi i32 [%_1, %if0], [%_5, %if1]
+ret i32 %_6
+}
+
+define i32 @Sum.zero(i8* %this) {
+entry:
+ret i32  0
+}
+
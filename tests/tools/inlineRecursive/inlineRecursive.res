@@ -0,0 +1,3 @@
+main: inlined Sum.sum
+Sum.sum: inlined Sum.zero
+Sum.sum: inlined Sum.zero
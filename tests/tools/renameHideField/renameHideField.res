@@ -0,0 +1 @@
+General error: java.lang.UnsupportedOperationException: renames give the local a and the field f its method uses the same name a
@@ -0,0 +1 @@
+General error: java.lang.UnsupportedOperationException: renaming b of B to a collides with the field a of A
@@ -0,0 +1,79 @@
+## assumptions:
+# 1. in order to reach the compiled jar you need to run ../../mjavac
+# 2. tests folder 'Test' has the input and 'Test.res' file (expected result)
+
+
+## results:
+# if the script & your code are working properly
+# you should see the names of all of the tests with "Success"
+
+
+COMMAND="java -jar ../../mjavac.jar"
+FILEPATH="."
+
+function check()
+{
+	diff $1 $2
+	if [ $? -eq 0 ]
+	then
+		echo Success
+	else
+		echo Fail
+	fi
+}
+
+# the renamed XML is compared: rename <var|method> <name> <line> <newName>
+function test_rename()
+{
+	TESTFOLDER=$1
+	shift
+	echo "Running Test:" $TESTFOLDER
+	result_file=$TESTFOLDER/$TESTFOLDER.our-result
+	log_file=$TESTFOLDER/$TESTFOLDER.log
+	rm -f $result_file $log_file
+	$COMMAND unmarshal rename "$@" $TESTFOLDER/$TESTFOLDER.xml $result_file > $log_file 2>&1
+	check $result_file $TESTFOLDER/$TESTFOLDER.res
+}
+
+# what a rejected batch reports is compared: rename-batch <renames file>
+function test_rename_batch()
+{
+	TESTFOLDER=$1
+	echo "Running Test:" $TESTFOLDER
+	result_file=$TESTFOLDER/$TESTFOLDER.our-result
+	rm -f $result_file
+	$COMMAND unmarshal rename-batch $TESTFOLDER/$TESTFOLDER.txt $TESTFOLDER/$TESTFOLDER.xml /dev/null > $result_file 2> /dev/null
+	check $result_file $TESTFOLDER/$TESTFOLDER.res
+}
+
+# the IR compile prints is compared
+function test_compile()
+{
+	TESTFOLDER=$1
+	shift
+	echo "Running Test:" $TESTFOLDER
+	result_file=$TESTFOLDER/$TESTFOLDER.our-result
+	rm -f $result_file
+	$COMMAND parse compile "$@" $TESTFOLDER/$TESTFOLDER.java $result_file
+	check $result_file $TESTFOLDER/$TESTFOLDER.res
+}
+
+# what compile reports on stderr is compared, the IR itself is not
+function test_compile_report()
+{
+	TESTFOLDER=$1
+	shift
+	echo "Running Test:" $TESTFOLDER
+	result_file=$TESTFOLDER/$TESTFOLDER.our-result
+	rm -f $result_file
+	$COMMAND parse compile "$@" $TESTFOLDER/$TESTFOLDER.java $TESTFOLDER/$TESTFOLDER.ll 2> $result_file
+	check $result_file $TESTFOLDER/$TESTFOLDER.res
+}
+
+#tools:
+test_rename renameCdata var num_aux 11 result
+test_rename_batch renameInherited
+test_rename_batch renameHideLocal
+test_rename_batch renameHideField
+test_compile_report inlineRecursive --inline-size=100 --inline-report
+test_compile inlineArgumentOnce